@@ -0,0 +1,6 @@
+#!/bin/sh
+# Runs once, when the primary's data directory is initialised: allows the replica to stream WAL.
+set -e
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" \
+  -c "CREATE ROLE replicator WITH REPLICATION LOGIN PASSWORD '${REPLICATION_PASSWORD:-replicator_password}'"
+echo "host replication replicator all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,12 @@
+#!/bin/sh
+# Hot standby of the "db" service: cloned with pg_basebackup on first start, then streams WAL.
+set -e
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+  until PGPASSWORD="${REPLICATION_PASSWORD:-replicator_password}" \
+      pg_basebackup -h db -U replicator -D "$PGDATA" -R -X stream; do
+    echo "waiting for primary..."
+    sleep 2
+  done
+  chmod 700 "$PGDATA"
+fi
+exec postgres
@@ -0,0 +1,17 @@
+package com.universityofengineers.sms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits of {@code POST /api/batch}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.batch")
+public class BatchProperties {
+
+    // Operations per batch; larger batches are rejected with 400
+    private int maxOperations = 50;
+}
@@ -5,6 +5,7 @@ import com.universityofengineers.sms.repository.CourseRepository;
 import com.universityofengineers.sms.repository.DepartmentRepository;
 import com.universityofengineers.sms.repository.TeacherRepository;
 import com.universityofengineers.sms.repository.UserAccountRepository;
+import com.universityofengineers.sms.service.TermService;
 import com.universityofengineers.sms.util.CodeGenerator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -25,6 +26,7 @@ public class BootstrapDataConfig {
     private final TeacherRepository teacherRepository;
     private final CourseRepository courseRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TermService termService;
 
     @Value("${app.bootstrap.enabled:true}")
     private boolean bootstrapEnabled;
@@ -81,7 +83,7 @@ public class BootstrapDataConfig {
                         courseRepository.saveAll(List.of(
                                 Course.builder().code("CSE101").title("Introduction to Programming").credit(3.0).capacity(80).department(dept).teacher(teacher).build(),
                                 Course.builder().code("CSE220").title("Data Structures").credit(3.0).capacity(70).department(dept).teacher(teacher).build()
-                        ));
+                        )).forEach(termService::offerInCurrentTerm);
                     }
                 }
             }
@@ -0,0 +1,27 @@
+package com.universityofengineers.sms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cross-node invalidation of the in-memory course search / open-seats indexes and the revocation list.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.cache-invalidation")
+public class CacheInvalidationProperties {
+
+    // Listen for changes committed by other nodes (PostgreSQL only; triggers from changesets 018, 021)
+    private boolean enabled = true;
+
+    // Notifications are collected and applied together once per interval, one query per cache
+    private long coalesceMillis = 200;
+
+    // More distinct pending keys than this and the next round reloads everything instead
+    private int maxPendingKeys = 10_000;
+
+    // Reconnect delay after the listening connection fails: base * 2^(n-1), capped at maxReconnectBackoffMillis
+    private long reconnectBackoffMillis = 1000;
+    private long maxReconnectBackoffMillis = 30_000;
+}
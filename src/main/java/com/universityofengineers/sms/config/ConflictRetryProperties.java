@@ -0,0 +1,22 @@
+package com.universityofengineers.sms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Retry policy of {@code @RetryOnConflict} methods.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.concurrency.retry")
+public class ConflictRetryProperties {
+
+    // Total attempts including the first
+    private int maxAttempts = 4;
+
+    // Pause before retry n is uniformly random in [0, min(max, base * 2^(n-1))] ("full jitter"),
+    // so colliding requests spread out instead of colliding again
+    private long baseBackoffMillis = 10;
+    private long maxBackoffMillis = 200;
+}
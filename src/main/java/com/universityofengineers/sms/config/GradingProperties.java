@@ -0,0 +1,30 @@
+package com.universityofengineers.sms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Grade-point mapping used by the GPA engine.
+ * Override single grades in YAML with bracket keys, e.g. {@code app.grading.scale.[A+]: 4.3}.
+ * Grades that are not in the scale (e.g. "I", "W") count as completed credits but not towards GPA.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.grading")
+public class GradingProperties {
+
+    private Map<String, Double> scale = new LinkedHashMap<>(Map.ofEntries(
+            Map.entry("A+", 4.0), Map.entry("A", 4.0), Map.entry("A-", 3.7),
+            Map.entry("B+", 3.3), Map.entry("B", 3.0), Map.entry("B-", 2.7),
+            Map.entry("C+", 2.3), Map.entry("C", 2.0), Map.entry("C-", 1.7),
+            Map.entry("D+", 1.3), Map.entry("D", 1.0),
+            Map.entry("F", 0.0)
+    ));
+
+    // Cron for the full recompute/consistency job; "-" disables the schedule (it can still be triggered via API).
+    private String recomputeCron = "-";
+}
@@ -0,0 +1,23 @@
+package com.universityofengineers.sms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replay window of {@code Idempotency-Key} requests.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+
+    // How long a completed response is replayed for retries with the same key
+    private long ttlSeconds = 600;
+
+    // Upper bound on remembered keys; the oldest are forgotten first
+    private int maxEntries = 10_000;
+
+    // Separate bound for calls without an account (register), so anonymous clients cannot evict everyone's keys
+    private int maxAnonymousEntries = 1_000;
+}
@@ -0,0 +1,33 @@
+package com.universityofengineers.sms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivery settings of the domain-event outbox.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    // Events read and marked published per round trip
+    private int batchSize = 100;
+
+    // Safety-net poll; commits also wake the dispatcher immediately
+    private long pollIntervalMillis = 1000;
+
+    // After this many failed deliveries an event is marked FAILED and skipped
+    private int maxAttempts = 8;
+
+    // Backoff before retry n is base * 2^(n-1), capped at maxBackoffMillis
+    private long retryBackoffMillis = 500;
+    private long maxBackoffMillis = 60_000;
+
+    // How long the delivering node holds the cluster-wide lease without renewing it (renewed before every batch)
+    private long leaseMillis = 10_000;
+
+    // Published events are deleted after this many days
+    private int retentionDays = 7;
+}
@@ -0,0 +1,59 @@
+package com.universityofengineers.sms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Token-bucket limits per route group (see {@link com.universityofengineers.sms.service.RateLimiter}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // "memory" = per node; "jdbc" = buckets shared by all nodes in the rate_limit_buckets table
+    private String backend = "memory";
+
+    // In-memory backend: distinct keys tracked at most (full buckets are dropped first, then new keys share one bucket)
+    private int maxKeys = 100_000;
+
+    // Idle (full) buckets are removed this often
+    private long purgeIntervalMillis = 60_000;
+
+    // Login attempts per email address, whichever IP they come from; null = unlimited
+    private Limit perEmail;
+
+    // Group name -> routes and limits; the first group whose paths and methods match applies
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    @Data
+    public static class Group {
+        // Ant patterns relative to the context path, e.g. /api/auth/**
+        private List<String> paths = new ArrayList<>();
+        // Empty = every method
+        private List<String> methods = new ArrayList<>();
+        private Limit perIp;
+        // Only applied to authenticated requests
+        private Limit perAccount;
+    }
+
+    @Data
+    public static class Limit {
+        // Burst size: requests allowed back to back on a full bucket
+        private int capacity;
+        // Sustained rate once the burst is used up
+        private int refillPerMinute;
+
+        public long refillIntervalMillis() {
+            return Math.max(1, 60_000L / refillPerMinute);
+        }
+    }
+}
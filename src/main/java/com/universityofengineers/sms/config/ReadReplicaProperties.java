@@ -0,0 +1,34 @@
+package com.universityofengineers.sms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optional read replica for {@code @Transactional(readOnly = true)} work (see {@link ReadReplicaConfig}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReadReplicaProperties {
+
+    // Off by default: everything runs against spring.datasource
+    private boolean enabled = false;
+
+    // Connection settings of the replica; username/password default to the primary's
+    private String url;
+    private String username;
+    private String password;
+    private int maximumPoolSize = 20;
+
+    // Reads fall back to the primary while the replica is further behind than this (or unreachable)
+    private long maxLagMillis = 5000;
+
+    // How often the replica lag is measured; a measurement older than 3 intervals counts as unknown
+    private long lagCheckMillis = 1000;
+
+    // Must return the replay lag in milliseconds as a single number
+    private String lagQuery = """
+            SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                        ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END""";
+}
@@ -0,0 +1,48 @@
+package com.universityofengineers.sms.config;
+
+import com.universityofengineers.sms.security.UserPrincipal;
+import com.universityofengineers.sms.util.ReadConsistency;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static com.universityofengineers.sms.util.TransactionHooks.afterCommit;
+
+/**
+ * Picks primary or replica per physical connection. Must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the connection is then fetched
+ * on the first statement, when the transaction's read-only flag is already known.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReadReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        // No transaction (Liquibase, Hibernate bootstrap, login): primary.
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Target.PRIMARY;
+        }
+        Long accountId = currentAccountIdOrNull();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (accountId != null) afterCommit(() -> lagMonitor.recordWrite(accountId));
+            return Target.PRIMARY;
+        }
+        if (ReadConsistency.primaryRequired()) {
+            return Target.PRIMARY;
+        }
+        return lagMonitor.canServe(accountId) ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    private static Long currentAccountIdOrNull() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof UserPrincipal p ? p.getId() : null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.universityofengineers.sms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Refresh tokens issued next to the short-lived access JWT (see
+ * {@link com.universityofengineers.sms.service.RefreshTokenService}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.security.refresh")
+public class RefreshTokenProperties {
+
+    // A refresh token not used within this time expires (each use issues a new one)
+    private Duration idleTimeout = Duration.ofDays(14);
+
+    // Hard limit from the password login; after it the user has to log in again
+    private Duration maxLifetime = Duration.ofDays(30);
+
+    // A used token presented again within this time gets the same successor (tabs refreshing together, a retried
+    // request); after it, reuse means the token was copied and ends every session of the account
+    private Duration reuseGrace = Duration.ofSeconds(10);
+}
@@ -0,0 +1,105 @@
+package com.universityofengineers.sms.config;
+
+import com.universityofengineers.sms.dto.response.ReplicaStatusResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides whether a read-only transaction may run on the replica.
+ *
+ * The lag is measured on a schedule. A measurement taken at {@code t} showing lag {@code L} means the
+ * replica has applied every commit up to {@code t - L} ("caught up to"). The replica is used only while
+ * the last measurement is recent and within {@code max-lag-millis}.
+ *
+ * Read-your-writes: each account's last committed write is remembered, and that account's reads stay on
+ * the primary until the replica has caught up past it. Anonymous reads never pin.
+ *
+ * The last-write markers live in this instance only. With several app instances, a read that lands on an
+ * instance other than the one that took the write may still be served by a lagging replica: run them behind
+ * sticky sessions (per account) when read-your-writes matters, or keep the replica disabled.
+ */
+public class ReplicaLagMonitor {
+
+    private record Measurement(Instant checkedAt, Instant caughtUpTo, long lagMillis, boolean withinLimit, String error) {
+    }
+
+    private final DataSource replica;
+    private final ReadReplicaProperties properties;
+    private final Clock clock;
+
+    // Nothing is known until the first check: reads go to the primary.
+    private volatile Measurement last = new Measurement(Instant.EPOCH, Instant.EPOCH, -1, false, "not checked yet");
+    private final Map<Long, Instant> lastWriteByAccount = new ConcurrentHashMap<>();
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryReads = new LongAdder();
+
+    public ReplicaLagMonitor(DataSource replica, ReadReplicaProperties properties, Clock clock) {
+        this.replica = replica;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-millis:1000}")
+    public void check() {
+        Instant started = clock.instant();
+        Measurement m;
+        try (Connection c = replica.getConnection();
+             Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery(properties.getLagQuery())) {
+            rs.next();
+            long lag = Math.max(0, Math.round(rs.getDouble(1)));
+            m = new Measurement(started, started.minusMillis(lag), lag, lag <= properties.getMaxLagMillis(), null);
+        } catch (SQLException | RuntimeException e) {
+            m = new Measurement(started, last.caughtUpTo(), -1, false, e.getMessage());
+        }
+        last = m;
+        Instant caughtUpTo = m.caughtUpTo();
+        lastWriteByAccount.values().removeIf(w -> w.isBefore(caughtUpTo));
+    }
+
+    /**
+     * @param accountId current caller, or null when anonymous / in a background job
+     */
+    public boolean canServe(Long accountId) {
+        Measurement m = last;
+        boolean fresh = Duration.between(m.checkedAt(), clock.instant()).toMillis() <= 3 * properties.getLagCheckMillis();
+        boolean ok = m.withinLimit() && fresh;
+        if (ok && accountId != null) {
+            Instant write = lastWriteByAccount.get(accountId);
+            ok = write == null || write.isBefore(m.caughtUpTo());
+        }
+        (ok ? replicaReads : primaryReads).increment();
+        return ok;
+    }
+
+    /** Called when a read-write transaction of the account commits. */
+    public void recordWrite(Long accountId) {
+        lastWriteByAccount.merge(accountId, clock.instant(), (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    public ReplicaStatusResponse status() {
+        Measurement m = last;
+        return ReplicaStatusResponse.builder()
+                .enabled(true)
+                .usable(m.withinLimit())
+                .lagMillis(m.lagMillis())
+                .checkedAt(m.checkedAt())
+                .error(m.error())
+                .replicaReads(replicaReads.sum())
+                .primaryReads(primaryReads.sum())
+                .pinnedAccounts(lastWriteByAccount.size())
+                .build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.universityofengineers.sms.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background jobs (e.g. GPA consistency recompute). Individual schedules are property-driven and
+ * default to disabled ("-") where running them is optional.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,32 @@
+package com.universityofengineers.sms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Server-sent seat availability stream (GET /api/courses/seats/stream).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.courses.seat-stream")
+public class SeatStreamProperties {
+
+    // Changes are collected and pushed once per interval, at most one update per course
+    private long intervalMillis = 1000;
+
+    // Comment line sent to idle streams so proxies keep them open and dead clients are detected
+    private long heartbeatMillis = 20_000;
+
+    // Stream lifetime; EventSource reconnects on its own afterwards
+    private long timeoutMillis = 30 * 60_000;
+
+    private int maxCoursesPerStream = 100;
+
+    // Open streams per node, and per client IP (the endpoint is public)
+    private int maxStreams = 2000;
+    private int maxStreamsPerClient = 10;
+
+    // Threads writing to the streams, so a slow client never holds up the scheduler
+    private int sendThreads = 4;
+}
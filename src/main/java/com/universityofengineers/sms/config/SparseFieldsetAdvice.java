@@ -0,0 +1,107 @@
+package com.universityofengineers.sms.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.universityofengineers.sms.dto.response.PagedResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldsets for GET responses: {@code ?fields=id,code,teacher.fullName} writes only the listed
+ * properties (a nested object is kept as a whole when only its name is listed). Applies to every element
+ * of a list and to the {@code content} of a {@link PagedResponse}; unknown names are ignored.
+ *
+ * This only trims the payload. Endpoints that should not load an association at all have summary views
+ * (e.g. /api/courses/summary) backed by projection queries.
+ */
+@RestControllerAdvice
+public class SparseFieldsetAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String PARAM = "fields";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                  Class<? extends HttpMessageConverter<?>> converterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || request.getMethod() != HttpMethod.GET
+                || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        String fields = servletRequest.getServletRequest().getParameter(PARAM);
+        if (fields == null || fields.isBlank()) return body;
+
+        MappingJacksonValue container = body instanceof MappingJacksonValue v ? v : new MappingJacksonValue(body);
+        // The paging envelope is always written; the fields apply to its items.
+        String prefix = container.getValue() instanceof PagedResponse<?> ? "content." : "";
+        Set<String> paths = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(f -> !f.isEmpty())
+                .map(f -> prefix + f)
+                .collect(Collectors.toSet());
+        container.setFilters(new SimpleFilterProvider().addFilter(SparseFieldsetConfig.FILTER_ID, new FieldsetFilter(paths)));
+        return container;
+    }
+
+    /**
+     * Keeps a property if its dotted path (array levels skipped) is requested, lies under a requested
+     * object, or leads to a requested nested property.
+     */
+    static class FieldsetFilter extends SimpleBeanPropertyFilter {
+
+        private final Set<String> paths;
+
+        FieldsetFilter(Set<String> paths) {
+            this.paths = paths;
+        }
+
+        @Override
+        public void serializeAsField(Object pojo, JsonGenerator gen, SerializerProvider provider, PropertyWriter writer) throws Exception {
+            if (included(path(gen.getOutputContext(), writer.getName()))) {
+                writer.serializeAsField(pojo, gen, provider);
+            } else if (!gen.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, gen, provider);
+            }
+        }
+
+        private boolean included(String path) {
+            for (String p : paths) {
+                if (p.equals(path) || p.startsWith(path + ".") || path.startsWith(p + ".")) return true;
+            }
+            return false;
+        }
+
+        private static String path(JsonStreamContext context, String name) {
+            Deque<String> parts = new ArrayDeque<>();
+            parts.push(name);
+            // The current context is the object being written; its ancestors name the enclosing properties.
+            for (JsonStreamContext c = context.getParent(); c != null; c = c.getParent()) {
+                if (c.inObject() && c.getCurrentName() != null) parts.push(c.getCurrentName());
+            }
+            return String.join(".", parts);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.universityofengineers.sms.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.universityofengineers.sms.dto.response.PagedResponse;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lets {@link SparseFieldsetAdvice} prune response DTOs: every class in the dto.response package (except the
+ * {@link PagedResponse} envelope) is serialized through the property filter {@link #FILTER_ID}. Unless a
+ * request asks for {@code ?fields=}, that filter writes every property, so output is unchanged.
+ */
+@Configuration
+public class SparseFieldsetConfig {
+
+    public static final String FILTER_ID = "fields";
+
+    private static final String RESPONSE_PACKAGE = PagedResponse.class.getPackageName();
+
+    // Inserted in front of the existing introspectors (Jackson annotations, parameter names), not replacing them
+    @Bean
+    public Module sparseFieldsetModule() {
+        return new SimpleModule("sparse-fieldsets") {
+            @Override
+            public void setupModule(SetupContext context) {
+                super.setupModule(context);
+                context.insertAnnotationIntrospector(new NopAnnotationIntrospector() {
+                    @Override
+                    public Object findFilterId(Annotated a) {
+                        return a instanceof AnnotatedClass ac && isFiltered(ac.getRawType()) ? FILTER_ID : null;
+                    }
+                });
+            }
+        };
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsetFilters() {
+        return builder -> builder.filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    private static boolean isFiltered(Class<?> type) {
+        return type.getPackageName().equals(RESPONSE_PACKAGE) && type != PagedResponse.class;
+    }
+}
@@ -0,0 +1,32 @@
+package com.universityofengineers.sms.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.time.Duration;
+
+/**
+ * Cache headers for the output of the static asset pipeline (maven-antrun-plugin in pom.xml).
+ *
+ * - /assets/** holds content-hashed files: a new build means a new URL, so they are cached for a year
+ *   and marked immutable (no revalidation on reload).
+ * - Everything else (the HTML pages that link to them) is revalidated on every use; see
+ *   spring.web.resources in application.yml.
+ *
+ * Both serve a precompressed .br / .gz variant when one exists and the client accepts it.
+ */
+@Configuration
+public class StaticResourcesConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/assets/**")
+                .addResourceLocations("classpath:/static/assets/")
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+}
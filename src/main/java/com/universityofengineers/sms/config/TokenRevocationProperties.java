@@ -0,0 +1,25 @@
+package com.universityofengineers.sms.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory revocation list checked on every authenticated request
+ * (see {@link com.universityofengineers.sms.security.TokenRevocationList}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.security.revocation")
+public class TokenRevocationProperties {
+
+    // How often revocations written by other nodes are picked up
+    private long refreshIntervalMillis = 1000;
+
+    // Each refresh re-reads this far behind the previous one, for transactions that committed late
+    private long refreshOverlapMillis = 10_000;
+
+    // Bloom filter sizing for revoked token ids; beyond this the false-positive rate (never correctness) degrades
+    private int expectedTokens = 100_000;
+    private double falsePositiveRate = 0.01;
+}
@@ -1,11 +1,15 @@
 package com.universityofengineers.sms.controller;
 
 import com.universityofengineers.sms.dto.request.LoginRequest;
+import com.universityofengineers.sms.dto.request.RefreshTokenRequest;
 import com.universityofengineers.sms.dto.request.StudentRegistrationRequest;
 import com.universityofengineers.sms.dto.response.AuthResponse;
 import com.universityofengineers.sms.service.AuthService;
+import com.universityofengineers.sms.service.IdempotencyStore;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,15 +19,33 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping("/register")
     @ResponseStatus(HttpStatus.CREATED)
-    public AuthResponse registerStudent(@Valid @RequestBody StudentRegistrationRequest request) {
-        return authService.registerStudent(request);
+    public AuthResponse registerStudent(@Valid @RequestBody StudentRegistrationRequest request,
+                                        @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                        HttpServletRequest http) {
+        // Anonymous: scoped by client address, and only replayed for an identical body (same email and password).
+        return idempotencyStore.executeAnonymous("register", http.getRemoteAddr(), idempotencyKey, request,
+                () -> authService.registerStudent(request));
     }
 
     @PostMapping("/login")
     public AuthResponse login(@Valid @RequestBody LoginRequest request) {
         return authService.login(request);
     }
+
+    @PostMapping("/refresh")
+    public AuthResponse refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return authService.refresh(request);
+    }
+
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                       @RequestBody(required = false) RefreshTokenRequest request) {
+        String token = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authService.logout(token, request == null ? null : request.getRefreshToken());
+    }
 }
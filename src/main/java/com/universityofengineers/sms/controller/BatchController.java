@@ -0,0 +1,26 @@
+package com.universityofengineers.sms.controller;
+
+import com.universityofengineers.sms.dto.request.BatchRequest;
+import com.universityofengineers.sms.dto.response.BatchResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Several API calls in one HTTP request (one JWT check, one round trip). Each operation gets the status and
+ * body it would have got on its own; the batch itself answers 200 unless it is malformed.
+ */
+@RestController
+@RequestMapping("/api/batch")
+@RequiredArgsConstructor
+public class BatchController {
+
+    private final BatchDispatcher batchDispatcher;
+
+    @PostMapping
+    public BatchResponse execute(@Valid @RequestBody BatchRequest req, HttpServletRequest request, HttpServletResponse response) {
+        return batchDispatcher.execute(req, request, response);
+    }
+}
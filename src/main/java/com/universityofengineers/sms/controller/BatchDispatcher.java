@@ -0,0 +1,260 @@
+package com.universityofengineers.sms.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.universityofengineers.sms.config.BatchProperties;
+import com.universityofengineers.sms.dto.request.BatchOperation;
+import com.universityofengineers.sms.dto.request.BatchRequest;
+import com.universityofengineers.sms.dto.response.BatchResponse;
+import com.universityofengineers.sms.dto.response.BatchResult;
+import com.universityofengineers.sms.exception.BadRequestException;
+import com.universityofengineers.sms.exception.ForbiddenException;
+import com.universityofengineers.sms.exception.ResourceNotFoundException;
+import com.universityofengineers.sms.service.RateLimiter;
+import com.universityofengineers.sms.util.SecurityUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ResolvableType;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Runs the operations of {@code POST /api/batch} in-process, one after another, through the same handler
+ * mapping, controllers, validation and exception handling as standalone requests. The batch request is
+ * authenticated and rate-limited once; per operation only the cheap checks are repeated: URL authorization
+ * (method security runs anyway, it is on the controllers) and the route-group rate limits, so batching does
+ * not lift the enrollment limits.
+ *
+ * Atomic batches run inside one transaction: the services' transactions join it, after-commit work (indexes,
+ * cache updates) waits for it, and the first operation that fails (status 400 or above) rolls everything back
+ * and ends the batch. @RetryOnConflict does not retry inside it: a conflict raised by an operation is its 409
+ * result, and one raised at commit rolls the batch back with the results collected so far.
+ */
+@Component
+public class BatchDispatcher {
+
+    private static final List<Class<?>> ASYNC_RETURN_TYPES = List.of(StreamingResponseBody.class,
+            ResponseBodyEmitter.class, DeferredResult.class, Callable.class, CompletionStage.class);
+
+    private final RequestMappingHandlerMapping handlerMapping;
+    private final RequestMappingHandlerAdapter handlerAdapter;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final WebInvocationPrivilegeEvaluator privilegeEvaluator;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final BatchProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public BatchDispatcher(@Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+                           RequestMappingHandlerAdapter handlerAdapter,
+                           @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+                           WebInvocationPrivilegeEvaluator privilegeEvaluator,
+                           RateLimiter rateLimiter,
+                           ObjectMapper objectMapper,
+                           BatchProperties properties,
+                           PlatformTransactionManager transactionManager) {
+        this.handlerMapping = handlerMapping;
+        this.handlerAdapter = handlerAdapter;
+        this.exceptionResolver = exceptionResolver;
+        this.privilegeEvaluator = privilegeEvaluator;
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BatchResponse execute(BatchRequest req, HttpServletRequest request, HttpServletResponse response) {
+        validate(req);
+        List<BatchOperation> ops = req.getOperations();
+        List<BatchResult> results = new ArrayList<>(ops.size());
+
+        if (!req.isAtomic()) {
+            for (int i = 0; i < ops.size(); i++) {
+                results.add(dispatch(i, ops.get(i), request, response));
+            }
+            return BatchResponse.builder().atomic(false).committed(true).results(results).build();
+        }
+
+        boolean committed;
+        try {
+            committed = Boolean.TRUE.equals(transactionTemplate.execute(tx -> {
+                for (int i = 0; i < ops.size(); i++) {
+                    BatchResult result = dispatch(i, ops.get(i), request, response);
+                    results.add(result);
+                    if (result.getStatus() >= 400) {
+                        tx.setRollbackOnly();
+                        return false;
+                    }
+                }
+                return true;
+            }));
+        } catch (UnexpectedRollbackException ex) {
+            // An operation succeeded but left the transaction rollback-only (e.g. it swallowed a nested failure).
+            committed = false;
+        } catch (OptimisticLockingFailureException ex) {
+            // Every operation succeeded, but a version check failed when the changes were flushed at commit.
+            committed = false;
+        }
+        return BatchResponse.builder().atomic(true).committed(committed).results(results).build();
+    }
+
+    private void validate(BatchRequest req) {
+        if (req.getOperations().size() > properties.getMaxOperations()) {
+            throw new BadRequestException("A batch can contain at most " + properties.getMaxOperations() + " operations.");
+        }
+        for (BatchOperation op : req.getOperations()) {
+            String path = op.getPath();
+            // No nesting; and no login / register, which have their own per-request limits and no caller.
+            if (!path.startsWith("/api/") || path.contains("..") || path.contains("//")
+                    || path.startsWith("/api/batch") || path.startsWith("/api/auth/")) {
+                throw new BadRequestException("Operation path not allowed in a batch: " + path);
+            }
+            // A replayed idempotent response could claim a write that the batch rolled back.
+            if (req.isAtomic() && op.getHeaders() != null
+                    && op.getHeaders().keySet().stream().anyMatch("Idempotency-Key"::equalsIgnoreCase)) {
+                throw new BadRequestException("Idempotency-Key is not supported in atomic batches.");
+            }
+        }
+    }
+
+    private BatchResult dispatch(int index, BatchOperation op, HttpServletRequest request, HttpServletResponse response) {
+        BatchSubRequest subRequest;
+        try {
+            byte[] body = op.getBody() == null ? new byte[0] : objectMapper.writeValueAsBytes(op.getBody());
+            subRequest = new BatchSubRequest(request, op.getMethod(), op.getPath(), op.getHeaders(), body);
+        } catch (IOException | IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid operation " + index + ": " + ex.getMessage());
+        }
+        BatchSubResponse subResponse = new BatchSubResponse(response);
+        ServletRequestPathUtils.parseAndCache(subRequest);
+
+        Object handler = null;
+        HandlerExecutionChain chain = null;
+        int preHandled = 0;
+        Exception failure = null;
+        try {
+            chain = handlerMapping.getHandler(subRequest);
+            if (chain == null) {
+                throw new ResourceNotFoundException("No endpoint for " + op.getMethod() + " " + subRequest.getServletPath() + ".");
+            }
+            handler = chain.getHandler();
+            checkAllowed(subRequest, handler);
+
+            List<HandlerInterceptor> interceptors = chain.getInterceptorList();
+            for (HandlerInterceptor interceptor : interceptors) {
+                if (!interceptor.preHandle(subRequest, subResponse, handler)) break;
+                preHandled++;
+            }
+            if (preHandled == interceptors.size()) {
+                ModelAndView mv = handlerAdapter.handle(subRequest, subResponse, handler);
+                for (int i = interceptors.size() - 1; i >= 0; i--) {
+                    interceptors.get(i).postHandle(subRequest, subResponse, handler, mv);
+                }
+            }
+        } catch (Exception ex) {
+            failure = ex;
+            resolve(ex, subRequest, subResponse, handler);
+        } finally {
+            if (chain != null) {
+                for (int i = preHandled - 1; i >= 0; i--) {
+                    try {
+                        chain.getInterceptorList().get(i).afterCompletion(subRequest, subResponse, handler, failure);
+                    } catch (Exception ignored) {
+                        // Same as DispatcherServlet: an afterCompletion failure does not change the outcome.
+                    }
+                }
+            }
+        }
+        return toResult(index, subResponse);
+    }
+
+    private void checkAllowed(BatchSubRequest subRequest, Object handler) {
+        if (!privilegeEvaluator.isAllowed(subRequest.getContextPath(), subRequest.getServletPath(), subRequest.getMethod(),
+                SecurityContextHolder.getContext().getAuthentication())) {
+            throw new ForbiddenException("Access denied.");
+        }
+        if (handler instanceof HandlerMethod hm && isAsync(hm)) {
+            throw new BadRequestException("Streamed responses cannot be part of a batch.");
+        }
+        String group = rateLimiter.groupFor(subRequest.getMethod(), subRequest.getServletPath());
+        if (group != null) {
+            rateLimiter.checkRequest(group, subRequest.getRemoteAddr(), SecurityUtils.currentAccountId());
+        }
+    }
+
+    private void resolve(Exception ex, BatchSubRequest subRequest, BatchSubResponse subResponse, Object handler) {
+        subResponse.reset();
+        ModelAndView mv = exceptionResolver.resolveException(subRequest, subResponse, handler, ex);
+        if (mv == null) {
+            // Not resolved by GlobalExceptionHandler (it maps everything, so this is a last resort).
+            subResponse.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+    }
+
+    private BatchResult toResult(int index, BatchSubResponse subResponse) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        subResponse.headers().forEach((name, values) -> {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) headers.put(name, String.join(", ", values));
+        });
+        return BatchResult.builder()
+                .index(index)
+                .status(subResponse.getStatus())
+                .headers(headers)
+                .body(readBody(subResponse))
+                .build();
+    }
+
+    private JsonNode readBody(BatchSubResponse subResponse) {
+        byte[] bytes = subResponse.body();
+        if (bytes.length == 0) return null;
+        String contentType = subResponse.getContentType();
+        if (contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            try {
+                return objectMapper.readTree(bytes);
+            } catch (IOException ex) {
+                // Fall through: returned as text
+            }
+        }
+        return TextNode.valueOf(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private static boolean isAsync(HandlerMethod hm) {
+        ResolvableType type = ResolvableType.forMethodReturnType(hm.getMethod());
+        if (HttpEntity.class.isAssignableFrom(type.toClass())) {
+            type = type.as(HttpEntity.class).getGeneric(0);
+        }
+        Class<?> returned = type.toClass();
+        return ASYNC_RETURN_TYPES.stream().anyMatch(t -> t.isAssignableFrom(returned));
+    }
+}
@@ -0,0 +1,256 @@
+package com.universityofengineers.sms.controller;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * One operation of a batch, seen by Spring MVC as a request of its own: method, path, query, body and the
+ * forwarded headers are the operation's, everything else (remote address, locale, context path) is the batch
+ * request's. Attributes are private to the operation, so handler-mapping state never leaks between operations.
+ */
+class BatchSubRequest extends HttpServletRequestWrapper {
+
+    // Headers taken from the operation; everything else comes from the batch request (Authorization included)
+    static final Set<String> FORWARDED_HEADERS = Set.of(
+            HttpHeaders.ACCEPT, HttpHeaders.IF_MATCH, HttpHeaders.IF_NONE_MATCH, "Idempotency-Key");
+
+    private final String method;
+    private final String path;
+    private final String query;
+    private final Map<String, String[]> parameters;
+    private final Map<String, String> headers = new LinkedCaseInsensitiveMap<>();
+    private final byte[] body;
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    BatchSubRequest(HttpServletRequest batch, String method, String pathAndQuery, Map<String, String> headers, byte[] body) {
+        super(batch);
+        UriComponents uri = UriComponentsBuilder.fromUriString(pathAndQuery).build();
+        this.method = method;
+        this.path = uri.getPath();
+        this.query = uri.getQuery();
+        this.parameters = decode(uri.getQueryParams());
+        this.body = body;
+        if (headers != null) {
+            headers.forEach((name, value) -> {
+                if (FORWARDED_HEADERS.stream().anyMatch(name::equalsIgnoreCase)) this.headers.put(name, value);
+            });
+        }
+        if (body.length > 0) {
+            this.headers.put(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        }
+        this.headers.put(HttpHeaders.CONTENT_LENGTH, String.valueOf(body.length));
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return getContextPath() + path;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer url = new StringBuffer();
+        url.append(getScheme()).append("://").append(getServerName()).append(':').append(getServerPort()).append(getRequestURI());
+        return url;
+    }
+
+    @Override
+    public String getServletPath() {
+        return path;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getQueryString() {
+        return query;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values == null ? null : values[0];
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters.get(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        if (headers.containsKey(name)) return headers.get(name);
+        return isOperationHeader(name) ? null : super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        String value = getHeader(name);
+        return Collections.enumeration(value == null ? List.of() : List.of(value));
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        Set<String> names = new LinkedHashSet<>(headers.keySet());
+        for (Enumeration<String> e = super.getHeaderNames(); e.hasMoreElements(); ) {
+            String name = e.nextElement();
+            if (!isOperationHeader(name)) names.add(name);
+        }
+        return Collections.enumeration(names);
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        String value = getHeader(name);
+        if (value == null) return -1;
+        HttpHeaders parsed = new HttpHeaders();
+        parsed.set(name, value);
+        return parsed.getFirstDate(name);
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return value == null ? -1 : Integer.parseInt(value);
+    }
+
+    @Override
+    public String getContentType() {
+        return headers.get(HttpHeaders.CONTENT_TYPE);
+    }
+
+    @Override
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return body.length;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return StandardCharsets.UTF_8.name();
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener listener) {
+                throw new IllegalStateException("Batch sub-requests are not asynchronous; the body is read in memory.");
+            }
+
+            @Override
+            public int read() {
+                return in.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return in.read(b, off, len);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) attributes.remove(name);
+        else attributes.put(name, value);
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    // Streamed and async endpoints are refused before they run (BatchDispatcher); this is the backstop.
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+        throw new IllegalStateException("Async requests cannot be part of a batch.");
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return false;
+    }
+
+    // Headers that describe the batch request's own body or conditions, never the operation's
+    private static boolean isOperationHeader(String name) {
+        return HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)
+                || FORWARDED_HEADERS.stream().anyMatch(name::equalsIgnoreCase);
+    }
+
+    private static Map<String, String[]> decode(MultiValueMap<String, String> raw) {
+        Map<String, String[]> out = new LinkedHashMap<>();
+        raw.forEach((name, values) -> out.put(UriUtils.decode(name, StandardCharsets.UTF_8), values.stream()
+                .map(v -> v == null ? "" : UriUtils.decode(v, StandardCharsets.UTF_8))
+                .toArray(String[]::new)));
+        return out;
+    }
+}
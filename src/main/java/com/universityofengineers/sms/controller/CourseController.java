@@ -3,11 +3,21 @@ package com.universityofengineers.sms.controller;
 import com.universityofengineers.sms.dto.request.CourseUpsertRequest;
 import com.universityofengineers.sms.dto.response.ApiMessageResponse;
 import com.universityofengineers.sms.dto.response.CourseResponse;
+import com.universityofengineers.sms.dto.response.CourseSearchHit;
+import com.universityofengineers.sms.dto.response.CourseSummaryResponse;
+import com.universityofengineers.sms.dto.response.OpenSeatsReconcileResponse;
 import com.universityofengineers.sms.service.CourseService;
+import com.universityofengineers.sms.service.OpenSeatsReconciler;
+import com.universityofengineers.sms.service.SeatAvailabilityBroadcaster;
+import com.universityofengineers.sms.util.ETags;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
 import java.util.List;
@@ -18,14 +28,69 @@ import java.util.List;
 public class CourseController {
 
     private final CourseService courseService;
+    private final OpenSeatsReconciler openSeatsReconciler;
+    private final SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
 
+    /**
+     * Own department's catalog; with {@code available=true}, only courses with free seats (most free first),
+     * optionally for another {@code department} id.
+     */
     @GetMapping
-    public List<CourseResponse> list() {
-        return courseService.list();
+    public List<CourseResponse> list(@RequestParam(defaultValue = "false") boolean available,
+                                     @RequestParam(name = "department", required = false) Long departmentId,
+                                     WebRequest request) {
+        // Only the full catalog is validated; the available view changes with every seat taken
+        // ETag first, then the body: a change in between only costs the client one extra full response
+        if (!available && ETags.notModified(request, courseService.listETag())) return null;
+        return available ? courseService.listAvailable(departmentId) : courseService.list();
+    }
+
+    /**
+     * Own department's catalog as compact rows (code, title, seats, department code) for list views.
+     */
+    @GetMapping("/summary")
+    public List<CourseSummaryResponse> summary(WebRequest request) {
+        if (ETags.notModified(request, courseService.listETag())) return null;
+        return courseService.listSummaries();
+    }
+
+    /**
+     * Repairs the open-seats index against the database and reports how many entries had drifted.
+     */
+    @PreAuthorize("hasRole('TEACHER')")
+    @PostMapping("/open-seats/reconcile")
+    public OpenSeatsReconcileResponse reconcileOpenSeats() {
+        return openSeatsReconciler.reconcile();
+    }
+
+    /**
+     * Server-sent "seats" events for the given courses: current counts first, then coalesced changes.
+     */
+    @GetMapping(value = "/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter seatStream(@RequestParam List<Long> courseIds, HttpServletRequest request) {
+        return seatAvailabilityBroadcaster.subscribe(courseIds, request.getRemoteAddr());
+    }
+
+    /**
+     * Ranked search over code, title, teacher name and department (served from the in-memory index).
+     */
+    @GetMapping("/search")
+    public List<CourseSearchHit> search(@RequestParam String q,
+                                        @RequestParam(required = false) Long departmentId,
+                                        @RequestParam(defaultValue = "20") int limit) {
+        return courseService.search(q, departmentId, limit);
+    }
+
+    @GetMapping("/autocomplete")
+    public List<CourseSearchHit> autocomplete(@RequestParam String prefix,
+                                              @RequestParam(defaultValue = "10") int limit) {
+        return courseService.autocomplete(prefix, limit);
     }
 
     @GetMapping("/{id}")
-    public CourseResponse get(@PathVariable Long id) {
+    public CourseResponse get(@PathVariable Long id, WebRequest request) {
+        String etag = courseService.etag(id);
+        if (ETags.notModified(request, etag)) return null;
         return courseService.get(id);
     }
 
@@ -4,10 +4,12 @@ import com.universityofengineers.sms.dto.request.DepartmentUpsertRequest;
 import com.universityofengineers.sms.dto.response.ApiMessageResponse;
 import com.universityofengineers.sms.dto.response.DepartmentResponse;
 import com.universityofengineers.sms.service.DepartmentService;
+import com.universityofengineers.sms.util.ETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.Instant;
 import java.util.List;
@@ -20,12 +22,15 @@ public class DepartmentController {
     private final DepartmentService departmentService;
 
     @GetMapping
-    public List<DepartmentResponse> list() {
+    public List<DepartmentResponse> list(WebRequest request) {
+        if (ETags.notModified(request, departmentService.listETag())) return null;
         return departmentService.list();
     }
 
     @GetMapping("/{id}")
-    public DepartmentResponse get(@PathVariable Long id) {
+    public DepartmentResponse get(@PathVariable Long id, WebRequest request) {
+        String etag = departmentService.etag(id);
+        if (ETags.notModified(request, etag)) return null;
         return departmentService.get(id);
     }
 
@@ -0,0 +1,55 @@
+package com.universityofengineers.sms.controller;
+
+import com.universityofengineers.sms.config.ReplicaLagMonitor;
+import com.universityofengineers.sms.dto.response.CacheInvalidationStatusResponse;
+import com.universityofengineers.sms.dto.response.ConflictMetricsResponse;
+import com.universityofengineers.sms.dto.response.ReplicaStatusResponse;
+import com.universityofengineers.sms.service.CacheInvalidationBus;
+import com.universityofengineers.sms.service.ConflictMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/diagnostics")
+@RequiredArgsConstructor
+public class DiagnosticsController {
+
+    private final ConflictMetrics conflictMetrics;
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
+    private final ObjectProvider<CacheInvalidationBus> cacheInvalidationBus;
+
+    /**
+     * Optimistic-lock conflicts per service method since startup, most contended first.
+     */
+    @PreAuthorize("hasRole('TEACHER')")
+    @GetMapping("/conflicts")
+    public List<ConflictMetricsResponse> conflicts() {
+        return conflictMetrics.snapshot();
+    }
+
+    /**
+     * Read-replica lag and how read-only transactions were routed (only present with app.datasource.replica.enabled).
+     */
+    @PreAuthorize("hasRole('TEACHER')")
+    @GetMapping("/replica")
+    public ReplicaStatusResponse replica() {
+        ReplicaLagMonitor monitor = replicaLagMonitor.getIfAvailable();
+        return monitor == null ? ReplicaStatusResponse.builder().enabled(false).lagMillis(-1).build() : monitor.status();
+    }
+
+    /**
+     * Cross-node cache invalidation: LISTEN connection state and applied rounds (only present with app.cache-invalidation.enabled).
+     */
+    @PreAuthorize("hasRole('TEACHER')")
+    @GetMapping("/cache-invalidation")
+    public CacheInvalidationStatusResponse cacheInvalidation() {
+        CacheInvalidationBus bus = cacheInvalidationBus.getIfAvailable();
+        return bus == null ? CacheInvalidationStatusResponse.builder().enabled(false).build() : bus.status();
+    }
+}
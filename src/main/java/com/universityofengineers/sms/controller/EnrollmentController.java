@@ -5,10 +5,14 @@ import com.universityofengineers.sms.dto.request.GradeUpdateRequest;
 import com.universityofengineers.sms.dto.response.ApiMessageResponse;
 import com.universityofengineers.sms.dto.response.EnrollmentResponse;
 import com.universityofengineers.sms.service.EnrollmentService;
+import com.universityofengineers.sms.service.IdempotencyStore;
+import com.universityofengineers.sms.util.ETags;
+import com.universityofengineers.sms.util.SecurityUtils;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.Instant;
 import java.util.List;
@@ -19,18 +23,22 @@ import java.util.List;
 public class EnrollmentController {
 
     private final EnrollmentService enrollmentService;
+    private final IdempotencyStore idempotencyStore;
 
     // Student self-service enrollment endpoints
     @PreAuthorize("hasRole('STUDENT')")
     @GetMapping("/enrollments/me")
-    public List<EnrollmentResponse> myEnrollments() {
+    public List<EnrollmentResponse> myEnrollments(WebRequest request) {
+        if (ETags.notModified(request, enrollmentService.myEnrollmentsETag())) return null;
         return enrollmentService.myEnrollments();
     }
 
     @PreAuthorize("hasRole('STUDENT')")
     @PostMapping("/enrollments/me")
-    public EnrollmentResponse enrollMe(@Valid @RequestBody EnrollmentCreateRequest req) {
-        return enrollmentService.enrollMe(req);
+    public EnrollmentResponse enrollMe(@Valid @RequestBody EnrollmentCreateRequest req,
+                                       @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute("enroll:" + SecurityUtils.currentAccountId(), idempotencyKey, req,
+                () -> enrollmentService.enrollMe(req));
     }
 
     @PreAuthorize("hasRole('STUDENT')")
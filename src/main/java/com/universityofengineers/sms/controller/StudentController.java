@@ -2,12 +2,24 @@ package com.universityofengineers.sms.controller;
 
 import com.universityofengineers.sms.dto.request.*;
 import com.universityofengineers.sms.dto.response.ApiMessageResponse;
+import com.universityofengineers.sms.dto.response.GpaRecomputeResponse;
+import com.universityofengineers.sms.dto.response.GpaResponse;
+import com.universityofengineers.sms.dto.response.PagedResponse;
+import com.universityofengineers.sms.dto.response.StudentBulkStatusResponse;
+import com.universityofengineers.sms.dto.response.StudentDashboardResponse;
 import com.universityofengineers.sms.dto.response.StudentResponse;
+import com.universityofengineers.sms.dto.response.StudentSummaryResponse;
+import com.universityofengineers.sms.service.GpaService;
+import com.universityofengineers.sms.service.IdempotencyStore;
+import com.universityofengineers.sms.service.StudentDashboardService;
 import com.universityofengineers.sms.service.StudentService;
+import com.universityofengineers.sms.util.ETags;
+import com.universityofengineers.sms.util.SecurityUtils;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.Instant;
 import java.util.List;
@@ -18,11 +30,16 @@ import java.util.List;
 public class StudentController {
 
     private final StudentService studentService;
+    private final StudentDashboardService studentDashboardService;
+    private final GpaService gpaService;
+    private final IdempotencyStore idempotencyStore;
 
     @PreAuthorize("hasRole('TEACHER')")
     @PostMapping
-    public StudentResponse create(@Valid @RequestBody StudentRegistrationRequest req) {
-        return studentService.createByTeacher(req);
+    public StudentResponse create(@Valid @RequestBody StudentRegistrationRequest req,
+                                  @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute("create-student:" + SecurityUtils.currentAccountId(), idempotencyKey, req,
+                () -> studentService.createByTeacher(req));
     }
 
     // Teacher operations
@@ -32,6 +49,23 @@ public class StudentController {
         return studentService.list();
     }
 
+    @PreAuthorize("hasRole('TEACHER')")
+    @GetMapping("/summary")
+    public List<StudentSummaryResponse> summary() {
+        return studentService.listSummaries();
+    }
+
+    /**
+     * Fuzzy directory lookup by name, student number or email (e.g. "jhon smi", "UE-24", "alice@").
+     */
+    @PreAuthorize("hasRole('TEACHER')")
+    @GetMapping("/search")
+    public PagedResponse<StudentResponse> search(@RequestParam String q,
+                                                 @RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        return studentService.search(q, page, size);
+    }
+
     @PreAuthorize("hasRole('TEACHER')")
     @GetMapping("/{id}")
     public StudentResponse get(@PathVariable Long id) {
@@ -50,6 +84,31 @@ public class StudentController {
         return studentService.updateStatus(id, req);
     }
 
+    /**
+     * Cohort transition (e.g. graduate all ACTIVE students of a department) as one set-based update.
+     */
+    @PreAuthorize("hasRole('TEACHER')")
+    @PostMapping("/status/bulk")
+    public StudentBulkStatusResponse bulkUpdateStatus(@Valid @RequestBody StudentBulkStatusRequest req) {
+        return studentService.bulkUpdateStatus(req);
+    }
+
+    @PreAuthorize("hasRole('TEACHER')")
+    @GetMapping("/{id}/gpa")
+    public GpaResponse gpa(@PathVariable Long id) {
+        studentService.get(id); // 404 for unknown students instead of an empty summary
+        return gpaService.summary(id);
+    }
+
+    /**
+     * Rebuilds all GPA aggregates from enrollments and reports how many had drifted.
+     */
+    @PreAuthorize("hasRole('TEACHER')")
+    @PostMapping("/gpa/recompute")
+    public GpaRecomputeResponse recomputeGpa() {
+        return gpaService.recomputeAll();
+    }
+
     /**
      * Rule: student cannot delete own account; only teacher can do it.
      * We provide this endpoint ONLY for TEACHER.
@@ -64,6 +123,19 @@ public class StudentController {
                 .build();
     }
 
+    /**
+     * Permanent removal (student, enrollments, GPA record, login). Prefer DELETE /{id} unless data must go.
+     */
+    @PreAuthorize("hasRole('TEACHER')")
+    @DeleteMapping("/{id}/purge")
+    public ApiMessageResponse purge(@PathVariable Long id) {
+        studentService.purge(id);
+        return ApiMessageResponse.builder()
+                .timestamp(Instant.now())
+                .message("Student permanently deleted.")
+                .build();
+    }
+
     @PreAuthorize("hasRole('TEACHER')")
     @PostMapping("/{id}/reset-password")
     public ApiMessageResponse resetPassword(@PathVariable Long id, @Valid @RequestBody PasswordResetRequest req) {
@@ -77,10 +149,21 @@ public class StudentController {
     // Student self-service operations
     @PreAuthorize("hasRole('STUDENT')")
     @GetMapping("/me")
-    public StudentResponse me() {
+    public StudentResponse me(WebRequest request) {
+        String etag = studentService.meETag();
+        if (ETags.notModified(request, etag)) return null;
         return studentService.me();
     }
 
+    /**
+     * Profile, enrollments, department catalog and GPA in a single call (used by student.html on load).
+     */
+    @PreAuthorize("hasRole('STUDENT')")
+    @GetMapping("/me/dashboard")
+    public StudentDashboardResponse myDashboard() {
+        return studentDashboardService.myDashboard();
+    }
+
     @PreAuthorize("hasRole('STUDENT')")
     @PutMapping("/me")
     public StudentResponse updateMe(@Valid @RequestBody StudentUpdateMeRequest req) {
@@ -8,10 +8,12 @@ import com.universityofengineers.sms.dto.response.ApiMessageResponse;
 import com.universityofengineers.sms.dto.response.TeacherResponse;
 import com.universityofengineers.sms.exception.BadRequestException;
 import com.universityofengineers.sms.service.TeacherService;
+import com.universityofengineers.sms.util.ETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.Instant;
 import java.util.List;
@@ -62,7 +64,7 @@ public class TeacherController {
     @DeleteMapping("/{id}")
     public ApiMessageResponse disable(@PathVariable Long id) {
         // Practical: prevent a teacher from disabling themselves and locking the system
-        Long myId = teacherService.getCurrentTeacherEntity().getId();
+        Long myId = teacherService.getCurrentTeacherId();
         if (myId.equals(id)) {
             throw new BadRequestException("You cannot disable your own teacher account.");
         }
@@ -86,7 +88,9 @@ public class TeacherController {
     // self
     @PreAuthorize("hasRole('TEACHER')")
     @GetMapping("/me")
-    public TeacherResponse me() {
+    public TeacherResponse me(WebRequest request) {
+        String etag = teacherService.meETag();
+        if (ETags.notModified(request, etag)) return null;
         return teacherService.me();
     }
 
@@ -0,0 +1,82 @@
+package com.universityofengineers.sms.controller;
+
+import com.universityofengineers.sms.dto.request.CourseOfferingRequest;
+import com.universityofengineers.sms.dto.request.TermCreateRequest;
+import com.universityofengineers.sms.dto.response.ApiMessageResponse;
+import com.universityofengineers.sms.dto.response.CourseOfferingResponse;
+import com.universityofengineers.sms.dto.response.TermResponse;
+import com.universityofengineers.sms.service.OpenSeatsReconciler;
+import com.universityofengineers.sms.service.TermService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/terms")
+@RequiredArgsConstructor
+public class TermController {
+
+    private final TermService termService;
+    private final OpenSeatsReconciler openSeatsReconciler;
+
+    @GetMapping
+    public List<TermResponse> list() {
+        return termService.list();
+    }
+
+    @GetMapping("/current")
+    public TermResponse current() {
+        return termService.current();
+    }
+
+    @PreAuthorize("hasRole('TEACHER')")
+    @PostMapping
+    public TermResponse create(@Valid @RequestBody TermCreateRequest req) {
+        return termService.create(req);
+    }
+
+    /**
+     * Opens the term for enrollment and closes the previously active one.
+     */
+    @PreAuthorize("hasRole('TEACHER')")
+    @PostMapping("/{id}/activate")
+    public TermResponse activate(@PathVariable Long id) {
+        TermResponse activated = termService.activate(id);
+        // Seat counts are per term: reload them for the new term right away instead of on the next scheduled run.
+        openSeatsReconciler.reconcile();
+        return activated;
+    }
+
+    @PreAuthorize("hasRole('TEACHER')")
+    @PostMapping("/{id}/close")
+    public TermResponse close(@PathVariable Long id) {
+        TermResponse closed = termService.close(id);
+        openSeatsReconciler.reconcile();
+        return closed;
+    }
+
+    @GetMapping("/{id}/offerings")
+    public List<CourseOfferingResponse> offerings(@PathVariable Long id) {
+        return termService.offerings(id);
+    }
+
+    @PreAuthorize("hasRole('TEACHER')")
+    @PostMapping("/{id}/offerings")
+    public CourseOfferingResponse offer(@PathVariable Long id, @Valid @RequestBody CourseOfferingRequest req) {
+        return termService.offer(id, req);
+    }
+
+    @PreAuthorize("hasRole('TEACHER')")
+    @DeleteMapping("/{id}/offerings/{courseId}")
+    public ApiMessageResponse withdraw(@PathVariable Long id, @PathVariable Long courseId) {
+        termService.withdraw(id, courseId);
+        return ApiMessageResponse.builder()
+                .timestamp(Instant.now())
+                .message("Course withdrawn from term.")
+                .build();
+    }
+}
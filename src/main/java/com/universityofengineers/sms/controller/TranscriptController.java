@@ -0,0 +1,49 @@
+package com.universityofengineers.sms.controller;
+
+import com.universityofengineers.sms.dto.response.TranscriptResponse;
+import com.universityofengineers.sms.entity.StudentStatus;
+import com.universityofengineers.sms.service.TranscriptService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/transcripts")
+@RequiredArgsConstructor
+public class TranscriptController {
+
+    private final TranscriptService transcriptService;
+
+    @PreAuthorize("hasRole('STUDENT')")
+    @GetMapping("/me")
+    public TranscriptResponse mine() {
+        return transcriptService.mine();
+    }
+
+    @PreAuthorize("hasRole('TEACHER')")
+    @GetMapping("/students/{studentId}")
+    public TranscriptResponse forStudent(@PathVariable Long studentId) {
+        return transcriptService.forStudent(studentId);
+    }
+
+    /**
+     * Bulk transcripts for a cohort (e.g. graduating students of a department) as a streamed ZIP.
+     */
+    @PreAuthorize("hasRole('TEACHER')")
+    @GetMapping(value = "/cohort", produces = "application/zip")
+    public ResponseEntity<StreamingResponseBody> cohort(@RequestParam(required = false) Long departmentId,
+                                                        @RequestParam(required = false) StudentStatus status) {
+        List<Long> ids = transcriptService.cohort(departmentId, status);
+        StreamingResponseBody body = out -> transcriptService.writeCohortZip(ids, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transcripts.zip\"")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(body);
+    }
+}
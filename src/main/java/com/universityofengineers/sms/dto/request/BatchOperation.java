@@ -0,0 +1,26 @@
+package com.universityofengineers.sms.dto.request;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class BatchOperation {
+
+    @NotBlank
+    @Pattern(regexp = "GET|POST|PUT|PATCH|DELETE", message = "must be GET, POST, PUT, PATCH or DELETE")
+    private String method;
+
+    // e.g. /api/courses/12 or /api/enrollments?courseId=3
+    @NotBlank
+    private String path;
+
+    // Only If-Match, If-None-Match, Idempotency-Key and Accept are passed on; the caller is always the batch's caller
+    private Map<String, String> headers;
+
+    // Sent as the JSON request body
+    private JsonNode body;
+}
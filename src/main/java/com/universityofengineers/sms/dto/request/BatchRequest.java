@@ -0,0 +1,18 @@
+package com.universityofengineers.sms.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchRequest {
+
+    // true: all operations commit together, or (on the first failure) none of them does
+    private boolean atomic;
+
+    @NotEmpty
+    @Valid
+    private List<BatchOperation> operations;
+}
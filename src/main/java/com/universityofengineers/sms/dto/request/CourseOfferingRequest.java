@@ -0,0 +1,10 @@
+package com.universityofengineers.sms.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class CourseOfferingRequest {
+    @NotNull
+    private Long courseId;
+}
@@ -27,4 +27,9 @@ public class CourseUpsertRequest {
      * Optional: if not provided, teacherId will default to the currently authenticated teacher.
      */
     private Long teacherId;
+
+    /**
+     * Required on update: the version of the course the change was made from. Ignored on create.
+     */
+    private Long version;
 }
@@ -0,0 +1,13 @@
+package com.universityofengineers.sms.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequest {
+
+    @NotBlank
+    @Size(max = 100)
+    private String refreshToken;
+}
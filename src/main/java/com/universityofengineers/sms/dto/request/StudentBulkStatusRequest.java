@@ -0,0 +1,29 @@
+package com.universityofengineers.sms.dto.request;
+
+import com.universityofengineers.sms.entity.StudentStatus;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Target status plus a filter; filters are ANDed and at least one is required.
+ */
+@Data
+public class StudentBulkStatusRequest {
+    @NotNull
+    private StudentStatus status;
+
+    private Long departmentId;
+
+    // Only students currently in this status (e.g. ACTIVE -> GRADUATED)
+    private StudentStatus currentStatus;
+
+    // Inclusive student-number range, e.g. UE-2021-000000 .. UE-2021-999999
+    private String studentNoFrom;
+    private String studentNoTo;
+
+    @Size(max = 10000)
+    private List<Long> ids;
+}
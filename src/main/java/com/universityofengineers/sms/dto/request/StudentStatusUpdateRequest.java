@@ -8,4 +8,8 @@ import lombok.Data;
 public class StudentStatusUpdateRequest {
     @NotNull
     private StudentStatus status;
+
+    // Version of the student the change was made from (the response's version)
+    @NotNull
+    private Long version;
 }
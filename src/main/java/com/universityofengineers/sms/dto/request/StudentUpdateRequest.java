@@ -24,4 +24,8 @@ public class StudentUpdateRequest {
     private String address;
 
     private LocalDate dateOfBirth;
+
+    // Version of the student the change was made from (the response's version)
+    @NotNull
+    private Long version;
 }
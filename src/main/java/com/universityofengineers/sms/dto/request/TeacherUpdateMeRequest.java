@@ -1,6 +1,7 @@
 package com.universityofengineers.sms.dto.request;
 
 import com.universityofengineers.sms.entity.TeacherTitle;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 import java.time.LocalDate;
@@ -11,4 +12,8 @@ public class TeacherUpdateMeRequest {
     private TeacherTitle title;
     private Long departmentId;
     private LocalDate hireDate;
+
+    // Version of the profile the change was made from (the response's version)
+    @NotNull
+    private Long version;
 }
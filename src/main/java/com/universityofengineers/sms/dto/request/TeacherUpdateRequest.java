@@ -22,4 +22,8 @@ public class TeacherUpdateRequest {
     private Long departmentId;
 
     private LocalDate hireDate;
+
+    // Version of the teacher the change was made from (the response's version)
+    @NotNull
+    private Long version;
 }
@@ -0,0 +1,25 @@
+package com.universityofengineers.sms.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class TermCreateRequest {
+    @NotBlank
+    @Size(max = 20)
+    private String code;
+
+    @NotBlank
+    @Size(max = 80)
+    private String name;
+
+    @NotNull
+    private LocalDate startsOn;
+
+    @NotNull
+    private LocalDate endsOn;
+}
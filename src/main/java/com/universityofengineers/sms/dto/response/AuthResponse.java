@@ -4,6 +4,8 @@ import com.universityofengineers.sms.entity.Role;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.Instant;
+
 @Data
 @Builder
 public class AuthResponse {
@@ -11,6 +13,10 @@ public class AuthResponse {
     private String tokenType;
     private long expiresInMillis;
 
+    // Exchange at POST /api/auth/refresh for a new pair; single use
+    private String refreshToken;
+    private Instant refreshExpiresAt;
+
     private Role role;
     private Long accountId;
     private String email;
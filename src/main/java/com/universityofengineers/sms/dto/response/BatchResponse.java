@@ -0,0 +1,16 @@
+package com.universityofengineers.sms.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BatchResponse {
+    private boolean atomic;
+    // false only for an atomic batch that was rolled back; results before the failure are then not persisted
+    private boolean committed;
+    // In request order; an atomic batch stops at the first failure
+    private List<BatchResult> results;
+}
@@ -0,0 +1,18 @@
+package com.universityofengineers.sms.dto.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class BatchResult {
+    private int index;
+    private int status;
+    // ETag, Location, Retry-After, ... as the endpoint would have sent them
+    private Map<String, String> headers;
+    // The endpoint's JSON response (an ApiError for failures); null for empty responses
+    private JsonNode body;
+}
@@ -0,0 +1,22 @@
+package com.universityofengineers.sms.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class CacheInvalidationStatusResponse {
+    // false: single-node mode, nothing is listened for
+    private boolean enabled;
+    // the LISTEN connection is currently open
+    private boolean listening;
+    private long notificationsReceived;
+    // coalesced rounds applied, and how many of them reloaded everything (reconnects, overflow)
+    private long batchesApplied;
+    private long fullFlushes;
+    private long reconnects;
+    private Instant lastAppliedAt;
+    private String lastError;
+}
@@ -0,0 +1,17 @@
+package com.universityofengineers.sms.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ConflictMetricsResponse {
+    // e.g. "EnrollmentService.enrollMe"
+    private String method;
+    private long calls;
+    // failed attempts (each one was retried unless counted in exhausted)
+    private long conflicts;
+    // calls that still conflicted after the last attempt and returned 409
+    private long exhausted;
+    private double conflictsPerCall;
+}
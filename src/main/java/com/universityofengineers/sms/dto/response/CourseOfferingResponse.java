@@ -0,0 +1,15 @@
+package com.universityofengineers.sms.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CourseOfferingResponse {
+    private Long id;
+    private Long termId;
+    private String termCode;
+    private Long courseId;
+    private String courseCode;
+    private String courseTitle;
+}
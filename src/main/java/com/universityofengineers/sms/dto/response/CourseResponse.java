@@ -7,6 +7,7 @@ import lombok.Data;
 @Builder
 public class CourseResponse {
     private Long id;
+    private Long version;
     private String code;
     private String title;
     private double credit;
@@ -0,0 +1,16 @@
+package com.universityofengineers.sms.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CourseSearchHit {
+    private Long id;
+    private String code;
+    private String title;
+    private Long departmentId;
+    private String departmentCode;
+    private String teacherName;
+    private double score;
+}
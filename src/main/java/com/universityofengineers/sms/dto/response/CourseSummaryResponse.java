@@ -0,0 +1,21 @@
+package com.universityofengineers.sms.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Catalog row: what list views show, read by one projection query (no teacher / account / department entities).
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class CourseSummaryResponse {
+    private Long id;
+    private String code;
+    private String title;
+    private double credit;
+    private int capacity;
+    private String departmentCode;
+    private long currentlyEnrolled;
+}
@@ -17,6 +17,9 @@ public class EnrollmentResponse {
     private Long courseId;
     private String courseCode;
     private String courseTitle;
+    private double courseCredit;
+
+    private Long termId;
 
     private EnrollmentStatus status;
     private String grade;
@@ -0,0 +1,15 @@
+package com.universityofengineers.sms.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class GpaRecomputeResponse {
+    private Instant timestamp;
+    private int studentsChecked;
+    // records whose stored aggregates differed from the enrollments and were repaired
+    private int recordsRepaired;
+}
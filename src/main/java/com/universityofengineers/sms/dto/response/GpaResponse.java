@@ -0,0 +1,15 @@
+package com.universityofengineers.sms.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class GpaResponse {
+    private Long studentId;
+
+    // null until at least one graded enrollment exists
+    private Double gpa;
+    private double gradedCredits;
+    private double completedCredits;
+}
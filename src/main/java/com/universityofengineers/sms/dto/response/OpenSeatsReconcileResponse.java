@@ -0,0 +1,15 @@
+package com.universityofengineers.sms.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class OpenSeatsReconcileResponse {
+    private Instant timestamp;
+    private int coursesChecked;
+    // index entries that were missing, stale or had drifted from the database and were repaired
+    private int entriesRepaired;
+}
@@ -0,0 +1,18 @@
+package com.universityofengineers.sms.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Page of results without a total count (counting fuzzy matches over large tables is the expensive part).
+ */
+@Data
+@Builder
+public class PagedResponse<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
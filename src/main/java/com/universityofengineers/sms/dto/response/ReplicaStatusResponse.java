@@ -0,0 +1,24 @@
+package com.universityofengineers.sms.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class ReplicaStatusResponse {
+    // false: no replica configured, every query runs on the primary
+    private boolean enabled;
+    // last lag measurement succeeded and was within app.datasource.replica.max-lag-millis
+    private boolean usable;
+    // -1 when unknown (not checked yet or the check failed)
+    private long lagMillis;
+    private Instant checkedAt;
+    private String error;
+    // read-only transactions routed to the replica / kept on the primary since startup
+    private long replicaReads;
+    private long primaryReads;
+    // accounts whose recent writes the replica has not caught up with yet
+    private int pinnedAccounts;
+}
@@ -0,0 +1,13 @@
+package com.universityofengineers.sms.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SeatAvailabilityResponse {
+    private Long courseId;
+    private int capacity;
+    private long currentlyEnrolled;
+    private long freeSeats;
+}
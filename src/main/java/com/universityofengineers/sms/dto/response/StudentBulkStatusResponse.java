@@ -0,0 +1,20 @@
+package com.universityofengineers.sms.dto.response;
+
+import com.universityofengineers.sms.entity.StudentStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@Builder
+public class StudentBulkStatusResponse {
+    private Instant timestamp;
+    // Shared by the audit rows written for this request
+    private String batchId;
+    private StudentStatus status;
+    private int updated;
+    // previous status -> number of students moved from it
+    private Map<StudentStatus, Long> updatedByPreviousStatus;
+}
@@ -0,0 +1,18 @@
+package com.universityofengineers.sms.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class StudentDashboardResponse {
+    private StudentResponse profile;
+    private List<EnrollmentResponse> enrollments;
+    private List<CourseResponse> courses;
+
+    // null until at least one graded enrollment exists
+    private Double gpa;
+    private double completedCredits;
+}
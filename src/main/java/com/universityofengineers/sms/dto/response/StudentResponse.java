@@ -8,6 +8,7 @@ import lombok.Data;
 @Builder
 public class StudentResponse {
     private Long id;
+    private Long version;
     private String studentNo;
     private String fullName;
     private String email;
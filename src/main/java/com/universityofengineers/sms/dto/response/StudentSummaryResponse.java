@@ -0,0 +1,21 @@
+package com.universityofengineers.sms.dto.response;
+
+import com.universityofengineers.sms.entity.StudentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Directory row, read by one projection query instead of loading each student's account and department.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class StudentSummaryResponse {
+    private Long id;
+    private String studentNo;
+    private String fullName;
+    private String email;
+    private String departmentCode;
+    private StudentStatus status;
+}
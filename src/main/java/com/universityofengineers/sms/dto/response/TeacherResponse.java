@@ -8,6 +8,7 @@ import lombok.Data;
 @Builder
 public class TeacherResponse {
     private Long id;
+    private Long version;
     private String employeeNo;
     private String fullName;
     private String email;
@@ -0,0 +1,18 @@
+package com.universityofengineers.sms.dto.response;
+
+import com.universityofengineers.sms.entity.TermStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class TermResponse {
+    private Long id;
+    private String code;
+    private String name;
+    private LocalDate startsOn;
+    private LocalDate endsOn;
+    private TermStatus status;
+}
@@ -0,0 +1,16 @@
+package com.universityofengineers.sms.dto.response;
+
+import com.universityofengineers.sms.entity.EnrollmentStatus;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class TranscriptLineResponse {
+    private String courseCode;
+    private String courseTitle;
+    private String departmentCode;
+    private double credit;
+    private String grade;
+    private EnrollmentStatus status;
+}
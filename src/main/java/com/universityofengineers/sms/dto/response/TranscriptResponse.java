@@ -0,0 +1,21 @@
+package com.universityofengineers.sms.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+public class TranscriptResponse {
+    private Long studentId;
+    private String studentNo;
+    private String fullName;
+    private DepartmentResponse department;
+    private Instant generatedAt;
+
+    private List<TranscriptTermResponse> terms;
+    private double completedCredits;
+    private Double cumulativeGpa;
+}
@@ -0,0 +1,17 @@
+package com.universityofengineers.sms.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class TranscriptTermResponse {
+    private String term;
+    private List<TranscriptLineResponse> courses;
+    private double termCredits;
+    // null when nothing in the term has been graded yet
+    private Double termGpa;
+    private Double cumulativeGpa;
+}
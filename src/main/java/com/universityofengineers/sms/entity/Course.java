@@ -25,6 +25,11 @@ public class Course {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Optimistic lock: concurrent updates fail with ObjectOptimisticLockingFailureException instead of overwriting
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @Column(nullable = false, length = 30)
     private String code;
 
@@ -49,7 +54,8 @@ public class Course {
 
     // Cardinality: Course M..M Student through Enrollment
     @JsonIgnore
-    @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Read-only side: no cascade, removal goes through set-based deletes (see CourseService.delete)
+    @OneToMany(mappedBy = "course")
     @ToString.Exclude
     @Builder.Default
     private List<Enrollment> enrollments = new ArrayList<>();
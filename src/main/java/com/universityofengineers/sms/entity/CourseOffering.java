@@ -0,0 +1,43 @@
+package com.universityofengineers.sms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * A course being run in a term. Students can only enroll in courses offered in the active term.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "course_offerings", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_offering_course_term", columnNames = {"course_id", "term_id"})
+})
+public class CourseOffering {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    private Course course;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "term_id", nullable = false)
+    private Term term;
+
+    // ENROLLED enrollments of the course in this term; only changed by conditional updates in CourseOfferingRepository
+    @Builder.Default
+    @Column(name = "enrolled_count", nullable = false)
+    private int enrolledCount = 0;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+}
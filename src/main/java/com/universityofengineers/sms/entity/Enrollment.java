@@ -13,7 +13,8 @@ import java.time.Instant;
 @Builder
 @Entity
 @Table(name = "enrollments", uniqueConstraints = {
-        @UniqueConstraint(name = "uk_student_course", columnNames = {"student_id", "course_id"})
+        // A course can be retaken in a later term, so uniqueness is per term
+        @UniqueConstraint(name = "uk_student_course_term", columnNames = {"student_id", "course_id", "term_id"})
 })
 public class Enrollment {
 
@@ -21,6 +22,10 @@ public class Enrollment {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Student M..M Course bridge
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
@@ -30,6 +35,11 @@ public class Enrollment {
     @JoinColumn(name = "course_id", nullable = false)
     private Course course;
 
+    // Partition key on PostgreSQL. Null only for rows written before terms existed.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "term_id", foreignKey = @ForeignKey(name = "fk_enrollments_term"))
+    private Term term;
+
     @CreationTimestamp
     @Column(name = "enrolled_at", nullable = false, updatable = false)
     private Instant enrolledAt;
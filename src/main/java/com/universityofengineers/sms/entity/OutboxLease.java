@@ -0,0 +1,31 @@
+package com.universityofengineers.sms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * The single row naming the node that currently delivers outbox events, and until when. Taken and renewed
+ * with a conditional UPDATE; another node can take it over once it has expired.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "outbox_lease")
+public class OutboxLease {
+
+    public static final Long ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String owner;
+
+    @Column(name = "lease_until", nullable = false)
+    private Instant leaseUntil;
+}
@@ -0,0 +1,8 @@
+package com.universityofengineers.sms.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    PUBLISHED,
+    // Gave up after the configured number of attempts; kept for inspection and manual replay
+    FAILED
+}
@@ -0,0 +1,55 @@
+package com.universityofengineers.sms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * One refresh token, stored as the SHA-256 of its value. Every use replaces it with a new token of the same
+ * family; presenting a used (or revoked) token again means it was copied, and the family is revoked.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "ux_refresh_tokens_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "ix_refresh_tokens_family_id", columnList = "family_id")
+})
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    // Hex SHA-256 of the token value; the value itself is only ever sent to the client
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    // Shared by all rotations that descend from one login
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    // Password login that started the family; revocation cut-offs and maxLifetime are measured from it
+    @Column(name = "authenticated_at", nullable = false)
+    private Instant authenticatedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Set when rotated
+    @Column(name = "used_at")
+    private Instant usedAt;
+
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+}
@@ -27,6 +27,10 @@ public class Student {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Auth details are kept in a separate table for clean RBAC and safer sign-up rules.
     @OneToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "user_account_id", nullable = false)
@@ -66,7 +70,8 @@ public class Student {
 
     // Cardinality: Student M..M Course through Enrollment
     @JsonIgnore
-    @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Read-only side: no cascade, removal goes through set-based deletes (see StudentService.purge)
+    @OneToMany(mappedBy = "student")
     @ToString.Exclude
     @Builder.Default
     private List<Enrollment> enrollments = new ArrayList<>();
@@ -0,0 +1,41 @@
+package com.universityofengineers.sms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Per-student running GPA aggregates, maintained incrementally whenever a grade or enrollment status changes.
+ * GPA = qualityPoints / gradedCredits. Rebuilt from enrollments by the recompute job if it ever drifts.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "student_academic_records")
+public class StudentAcademicRecord {
+
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    // Credits of COMPLETED enrollments whose grade maps to grade points
+    @Column(name = "graded_credits", nullable = false)
+    private double gradedCredits;
+
+    // Sum of (grade points * credit) over graded credits
+    @Column(name = "quality_points", nullable = false)
+    private double qualityPoints;
+
+    // Credits of all COMPLETED enrollments, including grades that do not count towards GPA
+    @Column(name = "completed_credits", nullable = false)
+    private double completedCredits;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
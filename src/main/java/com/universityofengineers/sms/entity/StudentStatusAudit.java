@@ -0,0 +1,48 @@
+package com.universityofengineers.sms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * One row per student status change made by a bulk transition. Rows of one request share a batchId.
+ * No FK to students on purpose: the trail outlives a purged student.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "student_status_audit", indexes = {
+        @Index(name = "ix_student_status_audit_student", columnList = "student_id"),
+        @Index(name = "ix_student_status_audit_batch", columnList = "batch_id")
+})
+public class StudentStatusAudit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "batch_id", nullable = false, length = 36)
+    private String batchId;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "old_status", nullable = false, length = 30)
+    private StudentStatus oldStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "new_status", nullable = false, length = 30)
+    private StudentStatus newStatus;
+
+    // Account of the teacher who ran the transition
+    @Column(name = "changed_by", nullable = false)
+    private Long changedBy;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
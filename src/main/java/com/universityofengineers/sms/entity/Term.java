@@ -0,0 +1,50 @@
+package com.universityofengineers.sms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Academic term (semester). Enrollments belong to a term, and on PostgreSQL each term's
+ * enrollments live in their own partition of the enrollments table.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "terms", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_term_code", columnNames = "code")
+})
+public class Term {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // e.g. 2026-FALL
+    @Column(nullable = false, length = 20)
+    private String code;
+
+    @Column(nullable = false, length = 80)
+    private String name;
+
+    @Column(name = "starts_on", nullable = false)
+    private LocalDate startsOn;
+
+    @Column(name = "ends_on", nullable = false)
+    private LocalDate endsOn;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private TermStatus status = TermStatus.PLANNED;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,8 @@
+package com.universityofengineers.sms.entity;
+
+public enum TermStatus {
+    PLANNED,
+    // At most one term is ACTIVE; new enrollments and seat counts belong to it
+    ACTIVE,
+    CLOSED
+}
@@ -0,0 +1,45 @@
+package com.universityofengineers.sms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Either one revoked token (jti) or an account-wide cut-off: tokens of the account issued at or before
+ * notBefore are rejected. An accessOnly cut-off leaves refresh tokens alone, so the client just renews.
+ * Kept until every token it can match has expired anyway.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "token_revocations", indexes = {
+        @Index(name = "ix_token_revocations_created_at", columnList = "created_at")
+})
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 64)
+    private String jti;
+
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "not_before")
+    private Instant notBefore;
+
+    @Column(name = "access_only", nullable = false)
+    private boolean accessOnly;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,15 @@
+package com.universityofengineers.sms.event;
+
+/**
+ * A change to domain state, written to the outbox in the transaction that made it and delivered later,
+ * in order per aggregate, to in-process {@code @EventListener} methods by {@link com.universityofengineers.sms.service.OutboxDispatcher}.
+ *
+ * Implementations are records so they serialize to and from the outbox payload as plain JSON.
+ */
+public sealed interface DomainEvent
+        permits EnrollmentStatusChanged, GradeAssigned, StudentStatusChanged, StudentStatusBatchChanged {
+
+    String aggregateType();
+
+    Long aggregateId();
+}
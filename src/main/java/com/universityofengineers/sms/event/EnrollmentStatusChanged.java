@@ -0,0 +1,20 @@
+package com.universityofengineers.sms.event;
+
+import com.universityofengineers.sms.entity.EnrollmentStatus;
+
+/**
+ * Enroll ({@code from} null or DROPPED), drop, or completion on grading.
+ */
+public record EnrollmentStatusChanged(Long enrollmentId, Long studentId, Long courseId, Long termId,
+                                      EnrollmentStatus from, EnrollmentStatus to) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "Enrollment";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return enrollmentId;
+    }
+}
@@ -0,0 +1,15 @@
+package com.universityofengineers.sms.event;
+
+public record GradeAssigned(Long enrollmentId, Long studentId, Long courseId,
+                            String oldGrade, String newGrade) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "Enrollment";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return enrollmentId;
+    }
+}
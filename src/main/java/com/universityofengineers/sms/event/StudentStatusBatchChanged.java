@@ -0,0 +1,19 @@
+package com.universityofengineers.sms.event;
+
+import com.universityofengineers.sms.entity.StudentStatus;
+
+/**
+ * A bulk transition; per-student detail is in student_status_audit under the same batchId.
+ */
+public record StudentStatusBatchChanged(String batchId, StudentStatus to, int updated) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "StudentBatch";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return null;
+    }
+}
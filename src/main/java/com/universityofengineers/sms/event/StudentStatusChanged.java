@@ -0,0 +1,16 @@
+package com.universityofengineers.sms.event;
+
+import com.universityofengineers.sms.entity.StudentStatus;
+
+public record StudentStatusChanged(Long studentId, StudentStatus from, StudentStatus to) implements DomainEvent {
+
+    @Override
+    public String aggregateType() {
+        return "Student";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return studentId;
+    }
+}
@@ -0,0 +1,10 @@
+package com.universityofengineers.sms.exception;
+
+/**
+ * The request was based on an outdated copy of the record (409): the client has to reload it first.
+ */
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,44 @@
+package com.universityofengineers.sms.repository;
+
+import com.universityofengineers.sms.entity.CourseOffering;
+import com.universityofengineers.sms.entity.EnrollmentStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CourseOfferingRepository extends JpaRepository<CourseOffering, Long> {
+    boolean existsByCourseIdAndTermId(Long courseId, Long termId);
+    Optional<CourseOffering> findByCourseIdAndTermId(Long courseId, Long termId);
+
+    @Query("select o from CourseOffering o join fetch o.course c join fetch o.term where o.term.id = :termId order by c.code")
+    List<CourseOffering> findAllWithCourseByTermId(@Param("termId") Long termId);
+
+    // Takes a seat only while one is free: 0 rows = full. The capacity is the committed one (the caller holds the
+    // course row with findForEnrollmentById). Concurrent enrollments queue on the offering row for the length of
+    // one UPDATE and each re-checks the committed count: no version conflict, no retry.
+    @Modifying
+    @Query("update CourseOffering o set o.enrolledCount = o.enrolledCount + 1 " +
+            "where o.course.id = :courseId and o.term.id = :termId " +
+            "and o.enrolledCount < (select c.capacity from Course c where c.id = :courseId)")
+    int takeSeat(@Param("courseId") Long courseId, @Param("termId") Long termId);
+
+    @Modifying
+    @Query("update CourseOffering o set o.enrolledCount = o.enrolledCount - 1 " +
+            "where o.course.id = :courseId and o.term.id = :termId and o.enrolledCount > 0")
+    int releaseSeat(@Param("courseId") Long courseId, @Param("termId") Long termId);
+
+    // Gives back every seat the student holds, before their enrollments are deleted
+    @Modifying
+    @Query("update CourseOffering o set o.enrolledCount = o.enrolledCount - 1 where o.enrolledCount > 0 and exists (" +
+            "select e.id from Enrollment e where e.student.id = :studentId and e.status = :status " +
+            "and e.course.id = o.course.id and e.term.id = o.term.id)")
+    int releaseSeatsOfStudent(@Param("studentId") Long studentId, @Param("status") EnrollmentStatus status);
+
+    @Modifying
+    @Query("delete from CourseOffering o where o.course.id = :courseId")
+    int bulkDeleteByCourseId(@Param("courseId") Long courseId);
+}
@@ -1,8 +1,15 @@
 package com.universityofengineers.sms.repository;
 
+import com.universityofengineers.sms.dto.response.CourseSummaryResponse;
 import com.universityofengineers.sms.entity.Course;
+import com.universityofengineers.sms.entity.EnrollmentStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,4 +17,67 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     Optional<Course> findByCode(String code);
     boolean existsByCode(String code);
     List<Course> findAllByDepartmentId(Long departmentId);
+
+    // Enrolling: keeps the capacity from changing until the enrollment commits. The lock is shared (FOR SHARE),
+    // so concurrent enrollments do not wait on each other, only on a capacity change in progress.
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select c from Course c where c.id = :id")
+    Optional<Course> findForEnrollmentById(@Param("id") Long id);
+
+    // Updating: waits for the enrollments in flight and holds off new ones, so seats taken can be checked
+    // against the new capacity before it commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Course c where c.id = :id")
+    Optional<Course> findForUpdateById(@Param("id") Long id);
+
+    // Validator inputs of course responses: every version / timestamp the rendered course depends on, as one row
+    String RESPONSE_VERSION = "select count(c), coalesce(sum(c.version), 0), max(c.updatedAt), max(d.updatedAt), " +
+            "max(t.updatedAt), coalesce(sum(a.version), 0), max(td.updatedAt) " +
+            "from Course c join c.department d join c.teacher t join t.account a join t.department td ";
+
+    @Query(RESPONSE_VERSION + "where d.id = :departmentId")
+    List<Object[]> findResponseVersionByDepartmentId(@Param("departmentId") Long departmentId);
+
+    @Query(RESPONSE_VERSION + "where c.id = :id")
+    List<Object[]> findResponseVersionById(@Param("id") Long id);
+
+    // Everything the search index needs in one query
+    @Query("select c from Course c join fetch c.department join fetch c.teacher")
+    List<Course> findAllForIndex();
+
+    @Query("select c from Course c join fetch c.department join fetch c.teacher where c.id in :ids")
+    List<Course> findAllForIndexByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select c from Course c join fetch c.department join fetch c.teacher t where t.id in :teacherIds")
+    List<Course> findAllForIndexByTeacherIdIn(@Param("teacherIds") Collection<Long> teacherIds);
+
+    @Query("select c from Course c join fetch c.department d join fetch c.teacher where d.id in :departmentIds")
+    List<Course> findAllForIndexByDepartmentIdIn(@Param("departmentIds") Collection<Long> departmentIds);
+
+    // (courseId, departmentId, capacity, enrolled count in the term) for every course; source of truth for the open-seats index
+    @Query("select c.id, c.department.id, c.capacity, count(e.id) from Course c " +
+            "left join c.enrollments e on e.status = :status and e.term.id = :termId " +
+            "group by c.id, c.department.id, c.capacity")
+    List<Object[]> findSeatRows(@Param("status") EnrollmentStatus status, @Param("termId") Long termId);
+
+    @Query("select c.id, c.department.id, c.capacity, count(e.id) from Course c " +
+            "left join c.enrollments e on e.status = :status and e.term.id = :termId " +
+            "where c.id in :ids group by c.id, c.department.id, c.capacity")
+    List<Object[]> findSeatRowsByIdIn(@Param("status") EnrollmentStatus status, @Param("termId") Long termId,
+                                      @Param("ids") Collection<Long> ids);
+
+    // Catalog rows with the seats taken in the term, in one query; a null term matches no enrollment
+    @Query("select new com.universityofengineers.sms.dto.response.CourseSummaryResponse(" +
+            "c.id, c.code, c.title, c.credit, c.capacity, d.code, count(e.id)) " +
+            "from Course c join c.department d " +
+            "left join c.enrollments e on e.status = :status and e.term.id = :termId " +
+            "where d.id = :departmentId " +
+            "group by c.id, c.code, c.title, c.credit, c.capacity, d.code order by c.code")
+    List<CourseSummaryResponse> findSummariesByDepartmentId(@Param("departmentId") Long departmentId,
+                                                            @Param("status") EnrollmentStatus status,
+                                                            @Param("termId") Long termId);
+
+    @Query("select c from Course c join fetch c.department join fetch c.teacher t " +
+            "join fetch t.account join fetch t.department where c.id in :ids")
+    List<Course> findAllForResponseByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -2,10 +2,20 @@ package com.universityofengineers.sms.repository;
 
 import com.universityofengineers.sms.entity.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
     Optional<Department> findByCode(String code);
     boolean existsByCode(String code);
+
+    // Every insert / update stamps updatedAt, so (count, latest updatedAt) changes whenever the list does
+    @Query("select count(d), max(d.updatedAt) from Department d")
+    List<Object[]> findListVersion();
+
+    @Query("select count(d), max(d.updatedAt) from Department d where d.id = :id")
+    List<Object[]> findVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,18 @@
+package com.universityofengineers.sms.repository;
+
+/**
+ * Physical storage of enrollments per term. Selected with {@code app.enrollments.partitioning}.
+ */
+public interface EnrollmentPartitions {
+
+    /**
+     * Called when a term is created, before any enrollment can reference it.
+     */
+    void createForTerm(Long termId);
+
+    /**
+     * Called when a term closes: its enrollments become (almost) read-only history.
+     * Runs on a background thread after the close has committed, outside any transaction.
+     */
+    void optimizeClosedTerm(Long termId);
+}
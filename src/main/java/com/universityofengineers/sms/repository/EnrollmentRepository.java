@@ -3,16 +3,67 @@ package com.universityofengineers.sms.repository;
 import com.universityofengineers.sms.entity.Enrollment;
 import com.universityofengineers.sms.entity.EnrollmentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+
     List<Enrollment> findByStudentId(Long studentId);
 
-    Optional<Enrollment> findByStudentIdAndCourseId(Long studentId, Long courseId);
+    Optional<Enrollment> findByStudentIdAndCourseIdAndTermId(Long studentId, Long courseId, Long termId);
+
+    boolean existsByStudentIdAndCourseIdAndStatus(Long studentId, Long courseId, EnrollmentStatus status);
 
-    long countByCourseIdAndStatus(Long courseId, EnrollmentStatus status);
+    // Always scoped to one term so PostgreSQL prunes the scan to that term's partition.
+    long countByCourseIdAndStatusAndTermId(Long courseId, EnrollmentStatus status, Long termId);
 
     List<Enrollment> findByCourseId(Long courseId);
-}
\ No newline at end of file
+
+    // (studentId, credit, grade) for every completed enrollment; input of the GPA recompute job
+    @Query("select e.student.id, c.credit, e.grade from Enrollment e join e.course c where e.status = :status")
+    List<Object[]> findGradeRowsByStatus(@Param("status") EnrollmentStatus status);
+
+    @Query("select e.student.id, c.credit, e.grade from Enrollment e join e.course c " +
+            "where e.student.id = :studentId and e.status = :status")
+    List<Object[]> findGradeRowsByStudentIdAndStatus(@Param("studentId") Long studentId,
+                                                     @Param("status") EnrollmentStatus status);
+
+    @Query("select distinct e.student.id from Enrollment e where e.course.id = :courseId and e.status = :status")
+    List<Long> findStudentIdsByCourseIdAndStatus(@Param("courseId") Long courseId,
+                                                 @Param("status") EnrollmentStatus status);
+
+    // Transcript source rows for a batch of students; course and department fetched in the same query.
+    @Query("select e from Enrollment e join fetch e.course c join fetch c.department left join fetch e.term " +
+            "where e.student.id in :studentIds and e.status <> :excluded order by e.student.id, e.enrolledAt, c.code")
+    List<Enrollment> findTranscriptRows(@Param("studentIds") Collection<Long> studentIds,
+                                        @Param("excluded") EnrollmentStatus excluded);
+
+    @Query("select e.course.id from Enrollment e where e.student.id = :studentId and e.status = :status")
+    List<Long> findCourseIdsByStudentIdAndStatus(@Param("studentId") Long studentId,
+                                                 @Param("status") EnrollmentStatus status);
+
+    // Set-based removal: one DELETE regardless of how many enrollments, nothing loaded into the persistence context.
+    @Modifying
+    @Query("delete from Enrollment e where e.course.id = :courseId")
+    int bulkDeleteByCourseId(@Param("courseId") Long courseId);
+
+    @Modifying
+    @Query("delete from Enrollment e where e.student.id = :studentId")
+    int bulkDeleteByStudentId(@Param("studentId") Long studentId);
+
+    // (count, version sum, max id): a delete lowers the count, an update raises the sum, and an insert always
+    // raises the max id (ids are never reused), so a delete followed by an insert elsewhere in scope changes it too
+    @Query("select count(e), coalesce(sum(e.version), 0), max(e.id) from Enrollment e where e.course.department.id = :departmentId and e.term.id = :termId")
+    List<Object[]> findVersionByDepartmentIdAndTermId(@Param("departmentId") Long departmentId, @Param("termId") Long termId);
+
+    @Query("select count(e), coalesce(sum(e.version), 0), max(e.id) from Enrollment e where e.course.id = :courseId and e.term.id = :termId")
+    List<Object[]> findVersionByCourseIdAndTermId(@Param("courseId") Long courseId, @Param("termId") Long termId);
+
+    @Query("select count(e), coalesce(sum(e.version), 0), max(e.id), max(c.updatedAt) from Enrollment e join e.course c where e.student.id = :studentId")
+    List<Object[]> findVersionByStudentId(@Param("studentId") Long studentId);
+}
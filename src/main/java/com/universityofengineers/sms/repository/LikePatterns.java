@@ -0,0 +1,10 @@
+package com.universityofengineers.sms.repository;
+
+final class LikePatterns {
+    private LikePatterns() {}
+
+    // Backslash is the default LIKE escape character in both PostgreSQL and H2.
+    static String escape(String raw) {
+        return raw.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,29 @@
+package com.universityofengineers.sms.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Portable fallback (H2 in tests): case-insensitive substring on name, prefix on student number and email.
+ * No typo tolerance and no index support; fine for small datasets only.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.students.mode", havingValue = "like")
+@RequiredArgsConstructor
+public class LikeStudentDirectorySearch implements StudentDirectorySearch {
+
+    private final StudentRepository studentRepository;
+
+    @Override
+    public List<Long> searchIds(String query, int offset, int limit) {
+        String escaped = LikePatterns.escape(query.toLowerCase());
+        // Callers over-fetch by one row, so offset is not a multiple of limit; read through and skip instead.
+        List<Long> ids = studentRepository.searchIdsLike("%" + escaped + "%", escaped + "%",
+                PageRequest.of(0, offset + limit));
+        return ids.size() <= offset ? List.of() : ids.subList(offset, ids.size());
+    }
+}
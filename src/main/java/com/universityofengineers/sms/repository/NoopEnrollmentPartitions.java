@@ -0,0 +1,20 @@
+package com.universityofengineers.sms.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Plain, unpartitioned enrollments table (H2 in tests).
+ */
+@Component
+@ConditionalOnProperty(name = "app.enrollments.partitioning", havingValue = "none")
+public class NoopEnrollmentPartitions implements EnrollmentPartitions {
+
+    @Override
+    public void createForTerm(Long termId) {
+    }
+
+    @Override
+    public void optimizeClosedTerm(Long termId) {
+    }
+}
@@ -0,0 +1,34 @@
+package com.universityofengineers.sms.repository;
+
+import com.universityofengineers.sms.entity.OutboxEvent;
+import com.universityofengineers.sms.entity.OutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("select e from OutboxEvent e where e.status = :status order by e.id")
+    List<OutboxEvent> findBatch(@Param("status") OutboxStatus status, Pageable pageable);
+
+    // One UPDATE per delivered batch instead of one per event; only rows still pending, so a dispatcher that lost
+    // its lease mid-batch cannot overwrite what the new lease holder recorded
+    @Modifying
+    @Query("update OutboxEvent e set e.status = :status, e.publishedAt = :publishedAt where e.id in :ids and e.status = :pending")
+    int markPublished(@Param("ids") Collection<Long> ids,
+                      @Param("status") OutboxStatus status,
+                      @Param("pending") OutboxStatus pending,
+                      @Param("publishedAt") Instant publishedAt);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.status = :status and e.publishedAt < :before")
+    int deletePublishedBefore(@Param("status") OutboxStatus status, @Param("before") Instant before);
+
+    long countByStatus(OutboxStatus status);
+}
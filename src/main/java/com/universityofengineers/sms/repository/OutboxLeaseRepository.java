@@ -0,0 +1,22 @@
+package com.universityofengineers.sms.repository;
+
+import com.universityofengineers.sms.entity.OutboxLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface OutboxLeaseRepository extends JpaRepository<OutboxLease, Long> {
+
+    // Renews our own lease or takes over an expired one; 0 rows = another node is delivering.
+    @Modifying
+    @Query("update OutboxLease l set l.owner = :owner, l.leaseUntil = :until " +
+            "where l.id = 1 and (l.owner = :owner or l.leaseUntil < :now)")
+    int acquire(@Param("owner") String owner, @Param("now") Instant now, @Param("until") Instant until);
+
+    @Modifying
+    @Query("update OutboxLease l set l.leaseUntil = :now where l.id = 1 and l.owner = :owner")
+    int release(@Param("owner") String owner, @Param("now") Instant now);
+}
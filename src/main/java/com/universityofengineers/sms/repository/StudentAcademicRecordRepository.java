@@ -0,0 +1,30 @@
+package com.universityofengineers.sms.repository;
+
+import com.universityofengineers.sms.entity.StudentAcademicRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface StudentAcademicRecordRepository extends JpaRepository<StudentAcademicRecord, Long> {
+
+    // Atomic in-place delta so concurrent grade changes for one student never lose an update.
+    @Modifying
+    @Query("update StudentAcademicRecord r set " +
+            "r.gradedCredits = r.gradedCredits + :gradedCredits, " +
+            "r.qualityPoints = r.qualityPoints + :qualityPoints, " +
+            "r.completedCredits = r.completedCredits + :completedCredits " +
+            "where r.studentId = :studentId")
+    int applyDelta(@Param("studentId") Long studentId,
+                   @Param("gradedCredits") double gradedCredits,
+                   @Param("qualityPoints") double qualityPoints,
+                   @Param("completedCredits") double completedCredits);
+
+    // Serializes the seeding of a student's record (the record row does not exist yet, so there is nothing else to lock).
+    @Query(value = "select id from students where id = :studentId for update", nativeQuery = true)
+    Long lockStudent(@Param("studentId") Long studentId);
+
+    @Modifying
+    @Query("delete from StudentAcademicRecord r where r.studentId = :studentId")
+    int bulkDeleteByStudentId(@Param("studentId") Long studentId);
+}
@@ -0,0 +1,15 @@
+package com.universityofengineers.sms.repository;
+
+import java.util.List;
+
+/**
+ * Finds student ids matching a free-text directory query on full name, student number and account email,
+ * best matches first. Implementations are selected with {@code app.search.students.mode}.
+ */
+public interface StudentDirectorySearch {
+
+    /**
+     * @return up to {@code limit} ids starting at {@code offset}, in rank order
+     */
+    List<Long> searchIds(String query, int offset, int limit);
+}
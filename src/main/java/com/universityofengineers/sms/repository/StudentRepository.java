@@ -1,11 +1,83 @@
 package com.universityofengineers.sms.repository;
 
+import com.universityofengineers.sms.dto.response.StudentSummaryResponse;
 import com.universityofengineers.sms.entity.Student;
+import com.universityofengineers.sms.entity.StudentStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
+
+    // Shared by the cohort lock and the audit INSERT ... SELECT of a bulk status change.
+    // Students already in the target status are skipped; anyId = true disables the id list.
+    String COHORT_FILTER = "(:departmentId is null or s.department.id = :departmentId) " +
+            "and (:currentStatus is null or s.status = :currentStatus) " +
+            "and (:studentNoFrom is null or s.studentNo >= :studentNoFrom) " +
+            "and (:studentNoTo is null or s.studentNo <= :studentNoTo) " +
+            "and (:anyId = true or s.id in :ids) " +
+            "and s.status <> :newStatus";
+
     Optional<Student> findByAccountId(Long accountId);
+
+    // Validator inputs of the student's own profile response
+    @Query("select s.id, s.version, a.version, d.updatedAt from Student s join s.account a join s.department d where a.id = :accountId")
+    List<Object[]> findProfileVersionByAccountId(@Param("accountId") Long accountId);
+
     boolean existsByStudentNo(String studentNo);
+
+    // Ids only, so a cohort of thousands costs a few KB before it is processed in chunks.
+    @Query("select s.id from Student s where (:departmentId is null or s.department.id = :departmentId) " +
+            "and (:status is null or s.status = :status) order by s.studentNo")
+    List<Long> findCohortIds(@Param("departmentId") Long departmentId, @Param("status") StudentStatus status);
+
+    @Query("select new com.universityofengineers.sms.dto.response.StudentSummaryResponse(" +
+            "s.id, s.studentNo, s.fullName, a.email, d.code, s.status) " +
+            "from Student s join s.account a join s.department d order by s.studentNo")
+    List<StudentSummaryResponse> findAllSummaries();
+
+    @Query("select s from Student s join fetch s.department where s.id in :ids")
+    List<Student> findAllWithDepartmentByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select s from Student s join fetch s.department join fetch s.account where s.id in :ids")
+    List<Student> findAllWithDepartmentAndAccountByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select s.id from Student s join s.account a " +
+            "where lower(s.fullName) like :contains or lower(s.studentNo) like :prefix or lower(a.email) like :prefix " +
+            "order by s.fullName, s.id")
+    List<Long> searchIdsLike(@Param("contains") String contains, @Param("prefix") String prefix, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Student s where s.id = :id")
+    int bulkDeleteById(@Param("id") Long id);
+
+    // Row-locks the cohort of a bulk status change until commit, so no single-row edit lands between its audit
+    // INSERT and its UPDATE.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s.id from Student s where " + COHORT_FILTER)
+    List<Long> lockCohort(@Param("newStatus") StudentStatus newStatus,
+                          @Param("departmentId") Long departmentId,
+                          @Param("currentStatus") StudentStatus currentStatus,
+                          @Param("studentNoFrom") String studentNoFrom,
+                          @Param("studentNoTo") String studentNoTo,
+                          @Param("anyId") boolean anyId,
+                          @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    // Driven by the batch's audit rows, so exactly the audited students change.
+    // Bumps the version so a concurrent single-row edit of a student in the cohort fails instead of reverting it
+    @Query("update Student s set s.status = :newStatus, s.updatedAt = :changedAt, s.version = s.version + 1 " +
+            "where s.id in (select a.studentId from StudentStatusAudit a where a.batchId = :batchId)")
+    int bulkUpdateStatus(@Param("batchId") String batchId,
+                         @Param("newStatus") StudentStatus newStatus,
+                         @Param("changedAt") Instant changedAt);
 }
@@ -0,0 +1,36 @@
+package com.universityofengineers.sms.repository;
+
+import com.universityofengineers.sms.entity.StudentStatus;
+import com.universityofengineers.sms.entity.StudentStatusAudit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface StudentStatusAuditRepository extends JpaRepository<StudentStatusAudit, Long> {
+
+    // INSERT ... SELECT: the whole audit batch in one statement, capturing each student's status before the update.
+    @Modifying
+    @Query("insert into StudentStatusAudit (batchId, studentId, oldStatus, newStatus, changedBy, changedAt) " +
+            "select :batchId, s.id, s.status, :newStatus, :changedBy, :changedAt from Student s where " +
+            StudentRepository.COHORT_FILTER)
+    int insertBatchForCohort(@Param("batchId") String batchId,
+                             @Param("newStatus") StudentStatus newStatus,
+                             @Param("changedBy") Long changedBy,
+                             @Param("changedAt") Instant changedAt,
+                             @Param("departmentId") Long departmentId,
+                             @Param("currentStatus") StudentStatus currentStatus,
+                             @Param("studentNoFrom") String studentNoFrom,
+                             @Param("studentNoTo") String studentNoTo,
+                             @Param("anyId") boolean anyId,
+                             @Param("ids") Collection<Long> ids);
+
+    @Query("select a.oldStatus, count(a) from StudentStatusAudit a where a.batchId = :batchId group by a.oldStatus")
+    List<Object[]> countByOldStatus(@Param("batchId") String batchId);
+
+    List<StudentStatusAudit> findByStudentIdOrderByChangedAtDesc(Long studentId);
+}
@@ -2,10 +2,17 @@ package com.universityofengineers.sms.repository;
 
 import com.universityofengineers.sms.entity.Teacher;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     Optional<Teacher> findByAccountId(Long accountId);
     boolean existsByEmployeeNo(String employeeNo);
+
+    // Validator inputs of the teacher's own profile response
+    @Query("select t.id, t.updatedAt, a.version, d.updatedAt from Teacher t join t.account a join t.department d where a.id = :accountId")
+    List<Object[]> findProfileVersionByAccountId(@Param("accountId") Long accountId);
 }
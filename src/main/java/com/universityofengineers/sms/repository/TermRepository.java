@@ -0,0 +1,14 @@
+package com.universityofengineers.sms.repository;
+
+import com.universityofengineers.sms.entity.Term;
+import com.universityofengineers.sms.entity.TermStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface TermRepository extends JpaRepository<Term, Long> {
+    Optional<Term> findFirstByStatus(TermStatus status);
+    boolean existsByCode(String code);
+    List<Term> findAllByOrderByStartsOnDesc();
+}
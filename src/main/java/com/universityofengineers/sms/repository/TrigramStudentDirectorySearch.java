@@ -0,0 +1,56 @@
+package com.universityofengineers.sms.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * PostgreSQL implementation backed by pg_trgm GIN indexes (see changelog 008).
+ *
+ * Each branch of the UNION is a predicate one trigram index can answer on its own (fuzzy name similarity,
+ * name substring, student-number prefix, email prefix), so the planner never falls back to a sequential scan
+ * because of an OR spanning two tables. Plain JDBC is used because the {@code %} similarity operator is not
+ * expressible in JPQL.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.students.mode", havingValue = "trigram", matchIfMissing = true)
+@RequiredArgsConstructor
+public class TrigramStudentDirectorySearch implements StudentDirectorySearch {
+
+    private static final String SQL = """
+            WITH hits AS (
+                SELECT s.id, similarity(s.full_name, :q) AS score
+                  FROM students s WHERE s.full_name % :q
+                UNION ALL
+                SELECT s.id, 0.8 FROM students s WHERE s.full_name ILIKE :contains
+                UNION ALL
+                SELECT s.id, 1.0 FROM students s WHERE s.student_no ILIKE :prefix
+                UNION ALL
+                SELECT s.id, 0.9 FROM students s
+                  JOIN user_accounts a ON a.id = s.user_account_id
+                 WHERE a.email ILIKE :prefix
+            )
+            SELECT id FROM hits
+             GROUP BY id
+             ORDER BY MAX(score) DESC, id
+             LIMIT :limit OFFSET :offset
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    @Override
+    public List<Long> searchIds(String query, int offset, int limit) {
+        String escaped = LikePatterns.escape(query);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("q", query)
+                .addValue("contains", "%" + escaped + "%")
+                .addValue("prefix", escaped + "%")
+                .addValue("limit", limit)
+                .addValue("offset", offset);
+        return jdbc.queryForList(SQL, params, Long.class);
+    }
+}
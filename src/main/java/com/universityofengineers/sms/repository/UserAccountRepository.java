@@ -2,10 +2,17 @@ package com.universityofengineers.sms.repository;
 
 import com.universityofengineers.sms.entity.UserAccount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface UserAccountRepository extends JpaRepository<UserAccount, Long> {
     Optional<UserAccount> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Modifying
+    @Query("delete from UserAccount a where a.id = :id")
+    int bulkDeleteById(@Param("id") Long id);
 }
@@ -1,6 +1,5 @@
 package com.universityofengineers.sms.security;
 
-import com.universityofengineers.sms.entity.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -12,7 +11,9 @@ import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class JwtService {
@@ -35,18 +36,29 @@ public class JwtService {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
     }
 
-    public String generateToken(Long accountId, String email, Role role) {
-        Instant now = Instant.now();
-        Instant exp = now.plusMillis(expirationMillis);
+    /**
+     * The principal's profile ids go into the token as well, so requests know "which student / teacher /
+     * department am I" without a lookup. Null ids are left out.
+     *
+     * @param issuedAt usually now; see {@link TokenRevocationList#issueTime}
+     */
+    public String generateToken(UserPrincipal principal, Instant issuedAt) {
+        Instant exp = issuedAt.plusMillis(expirationMillis);
+
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("accountId", principal.getId());
+        claims.put("role", principal.getRole().name());
+        if (principal.getStudentId() != null) claims.put("studentId", principal.getStudentId());
+        if (principal.getTeacherId() != null) claims.put("teacherId", principal.getTeacherId());
+        if (principal.getDepartmentId() != null) claims.put("departmentId", principal.getDepartmentId());
 
         return Jwts.builder()
-                .setSubject(email)
-                .setIssuedAt(Date.from(now))
+                // Token id: lets a single token be revoked (TokenRevocationList)
+                .setId(UUID.randomUUID().toString())
+                .setSubject(principal.getEmail())
+                .setIssuedAt(Date.from(issuedAt))
                 .setExpiration(Date.from(exp))
-                .addClaims(Map.of(
-                        "accountId", accountId,
-                        "role", role.name()
-                ))
+                .addClaims(claims)
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
@@ -0,0 +1,74 @@
+package com.universityofengineers.sms.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universityofengineers.sms.exception.ApiError;
+import com.universityofengineers.sms.exception.TooManyRequestsException;
+import com.universityofengineers.sms.service.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Applies the route-group limits of {@link RateLimiter}. Runs right after {@link JwtAuthenticationFilter}
+ * so the account is known, and before anything expensive (password hashing, database work).
+ *
+ * The client IP is the remote address; behind a reverse proxy set server.forward-headers-strategy so it
+ * is taken from X-Forwarded-For.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String group = rateLimiter.groupFor(request.getMethod(), path);
+        if (group != null) {
+            try {
+                rateLimiter.checkRequest(group, request.getRemoteAddr(), currentAccountIdOrNull());
+            } catch (TooManyRequestsException ex) {
+                reject(request, response, ex);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, TooManyRequestsException ex) throws IOException {
+        ApiError body = ApiError.builder()
+                .timestamp(Instant.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                .message(ex.getMessage())
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static Long currentAccountIdOrNull() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof UserPrincipal p ? p.getId() : null;
+    }
+}
@@ -0,0 +1,191 @@
+package com.universityofengineers.sms.security;
+
+import com.universityofengineers.sms.config.RefreshTokenProperties;
+import com.universityofengineers.sms.config.TokenRevocationProperties;
+import com.universityofengineers.sms.entity.TokenRevocation;
+import com.universityofengineers.sms.repository.TokenRevocationRepository;
+import com.universityofengineers.sms.util.BloomFilter;
+import com.universityofengineers.sms.util.ReadConsistency;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.universityofengineers.sms.util.TransactionHooks.afterCommit;
+
+/**
+ * Revoked JWTs, checked by {@link JwtAuthenticationFilter} without a database round trip.
+ *
+ * Two kinds of entries, both persisted in token_revocations so every node converges:
+ * - account cut-offs (account disabled, password reset): tokens issued at or before the instant are rejected;
+ *   one map lookup per request. Access-only cut-offs (profile claims changed) reject access tokens but
+ *   not refresh tokens, so the client renews and gets current claims without logging in again.
+ * - single token ids (logout): a Bloom filter answers the common "not revoked" case from a few cached
+ *   words; only a hit is confirmed against the exact set.
+ *
+ * Local revocations apply on commit. Those of other nodes arrive with the next incremental refresh
+ * (rows created since the previous poll). Entries are dropped once the tokens they match have expired.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationList {
+
+    private final TokenRevocationRepository repository;
+    private final TokenRevocationProperties properties;
+    private final JwtService jwtService;
+    private final RefreshTokenProperties refreshTokenProperties;
+
+    private final Map<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<Long, Instant> notBeforeByAccount = new ConcurrentHashMap<>();
+    private final Map<Long, Instant> accessNotBeforeByAccount = new ConcurrentHashMap<>();
+    private volatile BloomFilter revokedTokenFilter;
+    private volatile Instant refreshedUpTo = Instant.EPOCH;
+    // Guards filter updates and rebuilds; readers never lock
+    private final Object writeLock = new Object();
+
+    @PostConstruct
+    void init() {
+        revokedTokenFilter = new BloomFilter(properties.getExpectedTokens(), properties.getFalsePositiveRate());
+    }
+
+    /**
+     * @param jti      null for tokens issued without one
+     * @param issuedAt the token's iat (whole seconds)
+     */
+    public boolean isRevoked(String jti, Long accountId, Instant issuedAt) {
+        if (cutOff(notBeforeByAccount, accountId, issuedAt) || cutOff(accessNotBeforeByAccount, accountId, issuedAt)) {
+            return true;
+        }
+        return jti != null && revokedTokenFilter.mightContain(jti) && revokedTokens.containsKey(jti);
+    }
+
+    /**
+     * For refresh tokens: only full account cut-offs apply, not {@link #expireAccessTokens}. The login time is
+     * stored to the millisecond, so a login right after the cut-off is not caught by it.
+     */
+    public boolean isSessionRevoked(Long accountId, Instant authenticatedAt) {
+        Instant notBefore = notBeforeByAccount.get(accountId);
+        return notBefore != null && !authenticatedAt.isAfter(notBefore);
+    }
+
+    /**
+     * iat for a new access token of the account. A token from the same second as a cut-off counts as issued
+     * before it, so a token issued right after one (the refresh that follows a department change, a login after
+     * a password reset) is dated to the next second instead of being rejected at once.
+     */
+    public Instant issueTime(Long accountId, Instant now) {
+        Instant issuedAt = now;
+        for (Map<Long, Instant> notBefores : List.of(notBeforeByAccount, accessNotBeforeByAccount)) {
+            Instant notBefore = notBefores.get(accountId);
+            if (notBefore != null && now.isAfter(notBefore)
+                    && cutOff(notBefores, accountId, issuedAt.truncatedTo(ChronoUnit.SECONDS))) {
+                issuedAt = notBefore.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+            }
+        }
+        return issuedAt;
+    }
+
+    @Transactional
+    public void revokeToken(String jti, Instant expiresAt) {
+        save(TokenRevocation.builder().jti(jti).expiresAt(expiresAt));
+    }
+
+    /**
+     * Invalidates every access and refresh token issued to the account so far; logging in again issues valid ones.
+     */
+    @Transactional
+    public void revokeAccount(Long accountId) {
+        Instant now = Instant.now();
+        save(TokenRevocation.builder()
+                .accountId(accountId)
+                .notBefore(now)
+                .expiresAt(now.plus(cutOffLifetime())));
+    }
+
+    /**
+     * Invalidates the account's current access tokens only, e.g. because the profile ids they carry changed.
+     * Refresh tokens stay valid, and the next refresh issues a token with current claims.
+     */
+    @Transactional
+    public void expireAccessTokens(Long accountId) {
+        Instant now = Instant.now();
+        save(TokenRevocation.builder()
+                .accountId(accountId)
+                .notBefore(now)
+                .accessOnly(true)
+                .expiresAt(now.plusMillis(jwtService.getExpirationMillis())));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.security.revocation.refresh-interval-millis:1000}")
+    @Transactional(readOnly = true)
+    public void refresh() {
+        Instant now = Instant.now();
+        Instant since = refreshedUpTo.minusMillis(properties.getRefreshOverlapMillis());
+        List<TokenRevocation> rows = ReadConsistency.fromPrimary(() -> refreshedUpTo == Instant.EPOCH
+                ? repository.findByExpiresAtAfter(now)
+                : repository.findByCreatedAtAfterAndExpiresAtAfter(since, now));
+        rows.forEach(this::apply);
+        refreshedUpTo = now;
+    }
+
+    @Scheduled(cron = "${app.security.revocation.purge-cron:0 45 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        repository.deleteExpired(now);
+        synchronized (writeLock) {
+            notBeforeByAccount.values().removeIf(nb -> nb.plus(cutOffLifetime()).isBefore(now));
+            accessNotBeforeByAccount.values().removeIf(nb -> nb.plusMillis(jwtService.getExpirationMillis()).isBefore(now));
+            revokedTokens.values().removeIf(exp -> !exp.isAfter(now));
+            BloomFilter rebuilt = new BloomFilter(Math.max(properties.getExpectedTokens(), 2 * revokedTokens.size()),
+                    properties.getFalsePositiveRate());
+            revokedTokens.keySet().forEach(rebuilt::add);
+            revokedTokenFilter = rebuilt;
+        }
+    }
+
+    public int size() {
+        return revokedTokens.size() + notBeforeByAccount.size() + accessNotBeforeByAccount.size();
+    }
+
+    private static boolean cutOff(Map<Long, Instant> notBefores, Long accountId, Instant issuedAt) {
+        Instant notBefore = notBefores.get(accountId);
+        // iat has second precision, so a token from the same second as the cut-off counts as before it.
+        return notBefore != null && !issuedAt.isAfter(notBefore.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    // A cut-off matters as long as an access token or a refresh-token family from before it can still be used.
+    private Duration cutOffLifetime() {
+        Duration access = Duration.ofMillis(jwtService.getExpirationMillis());
+        return access.compareTo(refreshTokenProperties.getMaxLifetime()) > 0 ? access : refreshTokenProperties.getMaxLifetime();
+    }
+
+    private void save(TokenRevocation.TokenRevocationBuilder row) {
+        TokenRevocation saved = repository.save(row.createdAt(Instant.now()).build());
+        afterCommit(() -> apply(saved));
+    }
+
+    private void apply(TokenRevocation r) {
+        if (r.getJti() != null) {
+            synchronized (writeLock) {
+                // Filter first: a reader that sees the exact entry must also pass the filter.
+                revokedTokenFilter.add(r.getJti());
+                revokedTokens.put(r.getJti(), r.getExpiresAt());
+            }
+        }
+        if (r.getAccountId() != null && r.getNotBefore() != null) {
+            (r.isAccessOnly() ? accessNotBeforeByAccount : notBeforeByAccount).merge(r.getAccountId(), r.getNotBefore(), (a, b) -> a.isAfter(b) ? a : b);
+        }
+    }
+}
@@ -18,6 +18,10 @@ public class UserPrincipal implements UserDetails {
     private final String passwordHash;
     private final Role role;
     private final boolean enabled;
+    // Profile ids carried in the JWT; null for the other role, and on the password-login path
+    private final Long studentId;
+    private final Long teacherId;
+    private final Long departmentId;
 
     public UserPrincipal(UserAccount account) {
         this.id = account.getId();
@@ -25,6 +29,23 @@ public class UserPrincipal implements UserDetails {
         this.passwordHash = account.getPasswordHash();
         this.role = account.getRole();
         this.enabled = account.isEnabled();
+        this.studentId = null;
+        this.teacherId = null;
+        this.departmentId = null;
+    }
+
+    /**
+     * From the claims of a verified, unrevoked JWT; no password (it is never checked on this path).
+     */
+    public UserPrincipal(Long id, String email, Role role, Long studentId, Long teacherId, Long departmentId) {
+        this.id = id;
+        this.email = email;
+        this.passwordHash = null;
+        this.role = role;
+        this.enabled = true;
+        this.studentId = studentId;
+        this.teacherId = teacherId;
+        this.departmentId = departmentId;
     }
 
     @Override
@@ -1,11 +1,14 @@
 package com.universityofengineers.sms.service;
 
 import com.universityofengineers.sms.dto.request.LoginRequest;
+import com.universityofengineers.sms.dto.request.RefreshTokenRequest;
 import com.universityofengineers.sms.dto.request.StudentRegistrationRequest;
 import com.universityofengineers.sms.dto.response.AuthResponse;
+import com.universityofengineers.sms.entity.RefreshToken;
 import com.universityofengineers.sms.entity.Role;
 import com.universityofengineers.sms.entity.Student;
 import com.universityofengineers.sms.entity.StudentStatus;
+import com.universityofengineers.sms.entity.Teacher;
 import com.universityofengineers.sms.entity.UserAccount;
 import com.universityofengineers.sms.exception.BadRequestException;
 import com.universityofengineers.sms.exception.ResourceNotFoundException;
@@ -14,14 +17,21 @@ import com.universityofengineers.sms.repository.StudentRepository;
 import com.universityofengineers.sms.repository.TeacherRepository;
 import com.universityofengineers.sms.repository.UserAccountRepository;
 import com.universityofengineers.sms.security.JwtService;
+import com.universityofengineers.sms.security.TokenRevocationList;
+import com.universityofengineers.sms.security.UserPrincipal;
 import com.universityofengineers.sms.util.CodeGenerator;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+
 @Service
 @RequiredArgsConstructor
 public class AuthService {
@@ -34,6 +44,9 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final RateLimiter rateLimiter;
+    private final TokenRevocationList tokenRevocationList;
+    private final RefreshTokenService refreshTokenService;
 
     /**
      * Mature sign-up rule:
@@ -77,20 +90,13 @@ public class AuthService {
 
         student = studentRepository.save(student);
 
-        String token = jwtService.generateToken(account.getId(), account.getEmail(), account.getRole());
-
-        return AuthResponse.builder()
-                .token(token)
-                .tokenType("Bearer")
-                .expiresInMillis(jwtService.getExpirationMillis())
-                .role(account.getRole())
-                .accountId(account.getId())
-                .email(account.getEmail())
-                .studentId(student.getId())
-                .build();
+        return toResponse(account, refreshTokenService.startFamily(account.getId()),
+                new UserPrincipal(account.getId(), account.getEmail(), account.getRole(), student.getId(), null, dept.getId()));
     }
 
     public AuthResponse login(LoginRequest req) {
+        // Before the (deliberately slow) password check: one address cannot be guessed at from many IPs.
+        rateLimiter.checkLoginEmail(req.getEmail());
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(req.getEmail().toLowerCase(), req.getPassword())
         );
@@ -102,20 +108,80 @@ public class AuthService {
             throw new BadRequestException("Account is disabled.");
         }
 
-        String token = jwtService.generateToken(account.getId(), account.getEmail(), account.getRole());
+        return toResponse(account, refreshTokenService.startFamily(account.getId()));
+    }
+
+    /**
+     * New access token and refresh token for a valid refresh token: no password check, so no BCrypt.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public AuthResponse refresh(RefreshTokenRequest req) {
+        RefreshToken used = refreshTokenService.consume(req.getRefreshToken());
+        UserAccount account = userAccountRepository.findById(used.getAccountId())
+                .filter(UserAccount::isEnabled)
+                .orElseThrow(() -> new BadCredentialsException("Account is disabled."));
+        return toResponse(account, refreshTokenService.rotate(used, req.getRefreshToken()));
+    }
+
+    /**
+     * Revokes the presented access token on every node and ends the refresh-token family, if one is given.
+     * Invalid or already expired tokens are ignored.
+     */
+    public void logout(String token, String refreshToken) {
+        if (refreshToken != null) {
+            refreshTokenService.revokeFamily(refreshToken);
+        }
+        if (token == null) return;
+        Claims claims;
+        try {
+            claims = jwtService.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return;
+        }
+        if (claims.getId() != null) {
+            tokenRevocationList.revokeToken(claims.getId(), claims.getExpiration().toInstant());
+        }
+    }
+
+    /**
+     * Resolves the profile ids that go into the token: one lookup here (login / refresh) instead of one
+     * per request later.
+     */
+    private AuthResponse toResponse(UserAccount account, RefreshTokenService.Issued refresh) {
+        Long studentId = null;
+        Long teacherId = null;
+        Long departmentId = null;
+        if (account.getRole() == Role.STUDENT) {
+            Student s = studentRepository.findByAccountId(account.getId()).orElse(null);
+            if (s != null) {
+                studentId = s.getId();
+                departmentId = s.getDepartment().getId();
+            }
+        } else if (account.getRole() == Role.TEACHER) {
+            Teacher t = teacherRepository.findByAccountId(account.getId()).orElse(null);
+            if (t != null) {
+                teacherId = t.getId();
+                departmentId = t.getDepartment().getId();
+            }
+        }
+        return toResponse(account, refresh,
+                new UserPrincipal(account.getId(), account.getEmail(), account.getRole(), studentId, teacherId, departmentId));
+    }
 
-        Long studentId = studentRepository.findByAccountId(account.getId()).map(Student::getId).orElse(null);
-        Long teacherId = teacherRepository.findByAccountId(account.getId()).map(t -> t.getId()).orElse(null);
+    private AuthResponse toResponse(UserAccount account, RefreshTokenService.Issued refresh, UserPrincipal principal) {
+        String token = jwtService.generateToken(principal, tokenRevocationList.issueTime(account.getId(), Instant.now()));
 
         return AuthResponse.builder()
                 .token(token)
                 .tokenType("Bearer")
                 .expiresInMillis(jwtService.getExpirationMillis())
+                .refreshToken(refresh.value())
+                .refreshExpiresAt(refresh.expiresAt())
                 .role(account.getRole())
                 .accountId(account.getId())
                 .email(account.getEmail())
-                .studentId(studentId)
-                .teacherId(teacherId)
+                .studentId(principal.getStudentId())
+                .teacherId(principal.getTeacherId())
                 .build();
     }
 }
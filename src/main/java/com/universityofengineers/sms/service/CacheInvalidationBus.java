@@ -0,0 +1,195 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.config.CacheInvalidationProperties;
+import com.universityofengineers.sms.dto.response.CacheInvalidationStatusResponse;
+import com.universityofengineers.sms.security.TokenRevocationList;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps this node's in-memory copies in line with changes committed by the other nodes. Database triggers
+ * (changesets 018, 021) announce committed changes to cached data on {@link #CHANNEL} as {@code kind:id};
+ * {@link PostgresInvalidationListener} hands the payloads in here.
+ *
+ * - Coalescing: payloads are collected and applied once per {@code app.cache-invalidation.coalesce-millis},
+ *   with one query per cache for all keys of the round, however many notifications arrived.
+ * - Full flush: after the listening connection was re-established (notifications sent meanwhile are lost),
+ *   on an unknown payload, after a failed round, or with more than {@code max-pending-keys} keys, the next
+ *   round reloads everything instead.
+ *
+ * The node's own commits come back too. Its indexes already have them, so re-reading is redundant but
+ * harmless, and it keeps one code path for every change.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cache-invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class CacheInvalidationBus {
+
+    public static final String CHANNEL = "sms_cache_invalidation";
+
+    private final CacheInvalidationProperties properties;
+    private final CourseSearchIndexLoader courseSearchIndexLoader;
+    private final OpenSeatsReconciler openSeatsReconciler;
+    private final SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
+    private final TokenRevocationList tokenRevocationList;
+
+    private final Object lock = new Object();
+    private Pending pending = new Pending();
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong fullFlushes = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+    private volatile boolean listening;
+    private volatile Instant lastAppliedAt;
+    private volatile String lastError;
+
+    /**
+     * One notification payload; applied with the next round.
+     */
+    public void received(String payload) {
+        received.incrementAndGet();
+        synchronized (lock) {
+            if (!pending.add(payload) || pending.size() > properties.getMaxPendingKeys()) {
+                pending.everything = true;
+            }
+        }
+    }
+
+    /**
+     * The LISTEN connection is open.
+     *
+     * @param resync true when changes may have been missed since the last connection (reconnect)
+     */
+    public void connected(boolean resync) {
+        listening = true;
+        if (resync) {
+            reconnects.incrementAndGet();
+            synchronized (lock) {
+                pending.everything = true;
+            }
+        }
+    }
+
+    public void disconnected(Exception cause) {
+        listening = false;
+        lastError = cause.toString();
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache-invalidation.coalesce-millis:200}")
+    public void drain() {
+        Pending round;
+        synchronized (lock) {
+            if (pending.isEmpty()) return;
+            round = pending;
+            pending = new Pending();
+        }
+        try {
+            apply(round);
+            batches.incrementAndGet();
+            lastAppliedAt = Instant.now();
+        } catch (RuntimeException ex) {
+            // Most likely the database is unreachable; what this round covered is unknown now.
+            lastError = ex.toString();
+            synchronized (lock) {
+                pending.everything = true;
+            }
+        }
+    }
+
+    public CacheInvalidationStatusResponse status() {
+        return CacheInvalidationStatusResponse.builder()
+                .enabled(true)
+                .listening(listening)
+                .notificationsReceived(received.get())
+                .batchesApplied(batches.get())
+                .fullFlushes(fullFlushes.get())
+                .reconnects(reconnects.get())
+                .lastAppliedAt(lastAppliedAt)
+                .lastError(lastError)
+                .build();
+    }
+
+    private void apply(Pending round) {
+        if (round.everything) {
+            fullFlushes.incrementAndGet();
+            courseSearchIndexLoader.reload();
+            openSeatsReconciler.reconcile();
+            seatAvailabilityBroadcaster.allSeatsChanged();
+            tokenRevocationList.refresh();
+            return;
+        }
+        if (!round.courses.isEmpty() || !round.teachers.isEmpty() || !round.departments.isEmpty()) {
+            courseSearchIndexLoader.refresh(round.courses, round.teachers, round.departments);
+        }
+        // A course change may be a new course or a capacity / department change: its seats are re-read too.
+        Set<Long> seats = new HashSet<>(round.seats);
+        seats.addAll(round.courses);
+        if (round.term) {
+            // Another term became active: every count changed.
+            openSeatsReconciler.reconcile();
+            seatAvailabilityBroadcaster.allSeatsChanged();
+        } else if (!seats.isEmpty()) {
+            openSeatsReconciler.refresh(seats);
+            seatAvailabilityBroadcaster.seatsChanged(seats);
+        }
+        if (round.revocations) {
+            tokenRevocationList.refresh();
+        }
+    }
+
+    /**
+     * Keys collected for one round; guarded by {@link #lock}.
+     */
+    private static final class Pending {
+        final Set<Long> courses = new HashSet<>();
+        final Set<Long> seats = new HashSet<>();
+        final Set<Long> teachers = new HashSet<>();
+        final Set<Long> departments = new HashSet<>();
+        boolean term;
+        boolean revocations;
+        boolean everything;
+
+        /**
+         * @return false if the payload is not understood
+         */
+        boolean add(String payload) {
+            int sep = payload == null ? -1 : payload.indexOf(':');
+            if (sep < 0) return false;
+            String kind = payload.substring(0, sep);
+            // Term and revocation changes are applied as a whole; their id does not matter
+            if (kind.equals("term")) return term = true;
+            if (kind.equals("revocation")) return revocations = true;
+
+            Set<Long> target = switch (kind) {
+                case "course" -> courses;
+                case "seats" -> seats;
+                case "teacher" -> teachers;
+                case "department" -> departments;
+                default -> null;
+            };
+            if (target == null) return false;
+            try {
+                target.add(Long.valueOf(payload.substring(sep + 1)));
+                return true;
+            } catch (NumberFormatException ex) {
+                return false;
+            }
+        }
+
+        int size() {
+            return courses.size() + seats.size() + teachers.size() + departments.size();
+        }
+
+        boolean isEmpty() {
+            return size() == 0 && !term && !revocations && !everything;
+        }
+    }
+}
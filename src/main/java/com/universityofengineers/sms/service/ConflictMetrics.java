@@ -0,0 +1,62 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.dto.response.ConflictMetricsResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-method counters of optimistic-lock conflicts, since startup.
+ */
+@Component
+public class ConflictMetrics {
+
+    private static final class Counters {
+        final LongAdder calls = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+        final LongAdder exhausted = new LongAdder();
+    }
+
+    private final Map<String, Counters> byMethod = new ConcurrentHashMap<>();
+
+    /** One invocation of the method, however many attempts it took. */
+    public void call(String method) {
+        counters(method).calls.increment();
+    }
+
+    /** One failed attempt. */
+    public void conflict(String method) {
+        counters(method).conflicts.increment();
+    }
+
+    /** The invocation gave up and the conflict reached the caller (HTTP 409). */
+    public void exhausted(String method) {
+        counters(method).exhausted.increment();
+    }
+
+    public List<ConflictMetricsResponse> snapshot() {
+        return byMethod.entrySet().stream()
+                .map(e -> {
+                    long calls = e.getValue().calls.sum();
+                    long conflicts = e.getValue().conflicts.sum();
+                    return ConflictMetricsResponse.builder()
+                            .method(e.getKey())
+                            .calls(calls)
+                            .conflicts(conflicts)
+                            .exhausted(e.getValue().exhausted.sum())
+                            .conflictsPerCall(calls == 0 ? 0 : (double) conflicts / calls)
+                            .build();
+                })
+                .sorted(Comparator.comparing(ConflictMetricsResponse::getConflicts).reversed()
+                        .thenComparing(ConflictMetricsResponse::getMethod))
+                .toList();
+    }
+
+    private Counters counters(String method) {
+        return byMethod.computeIfAbsent(method, m -> new Counters());
+    }
+}
@@ -0,0 +1,62 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.config.ConflictRetryProperties;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Implements {@link RetryOnConflict}. Ordered before the transaction interceptor, so every attempt is wrapped
+ * in its own transaction.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ConflictRetryAspect {
+
+    private final ConflictRetryProperties properties;
+    private final ConflictMetrics metrics;
+
+    @Around("@annotation(com.universityofengineers.sms.service.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint pjp) throws Throwable {
+        RetryOnConflict retry = ((MethodSignature) pjp.getSignature()).getMethod().getAnnotation(RetryOnConflict.class);
+        String method = pjp.getSignature().getDeclaringType().getSimpleName() + "." + pjp.getSignature().getName();
+        int maxAttempts = retry.maxAttempts() > 0 ? retry.maxAttempts() : properties.getMaxAttempts();
+        boolean retryable = !TransactionSynchronizationManager.isActualTransactionActive();
+        metrics.call(method);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return pjp.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                metrics.conflict(method);
+                if (!retryable || attempt >= maxAttempts || !pause(attempt)) {
+                    metrics.exhausted(method);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private boolean pause(int attempt) {
+        long cap = Math.min(properties.getMaxBackoffMillis(),
+                properties.getBaseBackoffMillis() << Math.min(attempt - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
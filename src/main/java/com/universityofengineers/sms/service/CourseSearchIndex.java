@@ -0,0 +1,304 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.dto.response.CourseSearchHit;
+import com.universityofengineers.sms.entity.Course;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.universityofengineers.sms.util.TransactionHooks.afterCommit;
+
+/**
+ * In-memory course search: an inverted index (token -> course ids) for ranked full-text matching and a
+ * prefix trie over the same tokens for autocomplete. Both cover code, title, teacher name and department.
+ *
+ * Built once at startup by {@link CourseSearchIndexLoader} and then kept current incrementally by
+ * CourseService / TeacherService / DepartmentService writes. Changes made inside a transaction are applied
+ * only after commit, so a rolled-back write never becomes searchable. Writes of other nodes arrive through
+ * {@link CacheInvalidationBus}.
+ */
+@Component
+public class CourseSearchIndex {
+
+    // Field weights: a hit on the course code matters more than one on the department name.
+    private static final double W_CODE = 8, W_TITLE = 4, W_TEACHER = 2, W_DEPT = 1;
+    private static final double EXACT_BONUS = 2;
+
+    record Doc(Long id, String code, String title, Long departmentId, String departmentCode,
+               String departmentName, Long teacherId, String teacherName) {
+    }
+
+    private static final class TrieNode {
+        final Map<Character, TrieNode> children = new HashMap<>(4);
+        // Courses with at least one token under this prefix -> best weight among those tokens
+        final Map<Long, Double> weights = new HashMap<>(2);
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    // token -> (course id -> accumulated field weight)
+    private final Map<String, Map<Long, Double>> postings = new HashMap<>();
+    private final TrieNode trie = new TrieNode();
+
+    public static Doc docOf(Course c) {
+        return new Doc(c.getId(), c.getCode(), c.getTitle(),
+                c.getDepartment().getId(), c.getDepartment().getCode(), c.getDepartment().getName(),
+                c.getTeacher().getId(), c.getTeacher().getFullName());
+    }
+
+    public void rebuild(Collection<Doc> all) {
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            postings.clear();
+            trie.children.clear();
+            trie.weights.clear();
+            for (Doc d : all) add(d);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsert(Course c) {
+        Doc d = docOf(c);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove0(d.id());
+                add(d);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long courseId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove0(courseId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Applies changes that are already committed (by another node): drops {@code courseIds} and indexes
+     * {@code current}, the database state of every affected course. Unlike {@link #upsert} and {@link #remove}
+     * this takes effect immediately.
+     */
+    public void replace(Collection<Long> courseIds, Collection<Doc> current) {
+        lock.writeLock().lock();
+        try {
+            courseIds.forEach(this::remove0);
+            for (Doc d : current) {
+                remove0(d.id());
+                add(d);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void teacherRenamed(Long teacherId, String fullName) {
+        reindexWhere(d -> Objects.equals(d.teacherId(), teacherId),
+                d -> new Doc(d.id(), d.code(), d.title(), d.departmentId(), d.departmentCode(), d.departmentName(), d.teacherId(), fullName));
+    }
+
+    public void departmentRenamed(Long departmentId, String code, String name) {
+        reindexWhere(d -> Objects.equals(d.departmentId(), departmentId),
+                d -> new Doc(d.id(), d.code(), d.title(), d.departmentId(), code, name, d.teacherId(), d.teacherName()));
+    }
+
+    /**
+     * Ranked search. Every query token must match some field; the last token also matches as a prefix
+     * so results keep up with the user typing.
+     */
+    public List<CourseSearchHit> search(String query, Long departmentId, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (int i = 0; i < terms.size(); i++) {
+                boolean last = i == terms.size() - 1;
+                Map<Long, Double> termScores = scoreTerm(terms.get(i), last);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    Map<Long, Double> next = new HashMap<>();
+                    for (var e : scores.entrySet()) {
+                        Double s = termScores.get(e.getKey());
+                        if (s != null) next.put(e.getKey(), e.getValue() + s);
+                    }
+                    scores = next;
+                }
+                if (scores.isEmpty()) return List.of();
+            }
+            return top(scores, departmentId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Prefix autocomplete over all indexed tokens, ranked like {@link #search}.
+     */
+    public List<CourseSearchHit> autocomplete(String prefix, int limit) {
+        return search(prefix, null, limit);
+    }
+
+    // Courses the ranking step has to look at for a single search term (tests check it stays prefix-bounded).
+    int candidates(String term) {
+        lock.readLock().lock();
+        try {
+            return scoreTerm(term, true).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Double> scoreTerm(String term, boolean allowPrefix) {
+        Map<Long, Double> out = new HashMap<>();
+        Map<Long, Double> exact = postings.get(term);
+        if (exact != null) {
+            exact.forEach((id, w) -> out.put(id, w * EXACT_BONUS));
+        }
+        if (allowPrefix) {
+            TrieNode node = find(term);
+            if (node != null) {
+                node.weights.forEach(out::putIfAbsent);
+            }
+        }
+        return out;
+    }
+
+    private List<CourseSearchHit> top(Map<Long, Double> scores, Long departmentId, int limit) {
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(
+                Map.Entry.<Long, Double>comparingByValue().thenComparing(e -> docs.get(e.getKey()).code(), Comparator.reverseOrder()));
+        for (var e : scores.entrySet()) {
+            if (departmentId != null && !departmentId.equals(docs.get(e.getKey()).departmentId())) continue;
+            heap.offer(e);
+            if (heap.size() > limit) heap.poll();
+        }
+        List<CourseSearchHit> hits = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            var e = heap.poll();
+            Doc d = docs.get(e.getKey());
+            hits.add(CourseSearchHit.builder()
+                    .id(d.id())
+                    .code(d.code())
+                    .title(d.title())
+                    .departmentId(d.departmentId())
+                    .departmentCode(d.departmentCode())
+                    .teacherName(d.teacherName())
+                    .score(e.getValue())
+                    .build());
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    private void reindexWhere(java.util.function.Predicate<Doc> match, java.util.function.UnaryOperator<Doc> change) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                List<Doc> affected = docs.values().stream().filter(match).toList();
+                for (Doc d : affected) {
+                    remove0(d.id());
+                    add(change.apply(d));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // --- unsynchronized helpers, callers hold the write lock ---
+
+    private void add(Doc d) {
+        docs.put(d.id(), d);
+        Map<String, Double> weights = new HashMap<>();
+        for (String t : tokenize(d.code())) weights.merge(t, W_CODE, Double::sum);
+        for (String t : tokenize(d.title())) weights.merge(t, W_TITLE, Double::sum);
+        for (String t : tokenize(d.teacherName())) weights.merge(t, W_TEACHER, Double::sum);
+        for (String t : tokenize(d.departmentCode())) weights.merge(t, W_DEPT, Double::sum);
+        for (String t : tokenize(d.departmentName())) weights.merge(t, W_DEPT, Double::sum);
+
+        for (var e : weights.entrySet()) {
+            postings.computeIfAbsent(e.getKey(), k -> new HashMap<>()).put(d.id(), e.getValue());
+            TrieNode node = trie;
+            for (char ch : e.getKey().toCharArray()) {
+                node = node.children.computeIfAbsent(ch, k -> new TrieNode());
+                node.weights.merge(d.id(), e.getValue(), Math::max);
+            }
+        }
+    }
+
+    private void remove0(Long id) {
+        Doc d = docs.remove(id);
+        if (d == null) return;
+        Set<String> tokens = new HashSet<>();
+        tokens.addAll(tokenize(d.code()));
+        tokens.addAll(tokenize(d.title()));
+        tokens.addAll(tokenize(d.teacherName()));
+        tokens.addAll(tokenize(d.departmentCode()));
+        tokens.addAll(tokenize(d.departmentName()));
+        for (String t : tokens) {
+            Map<Long, Double> p = postings.get(t);
+            if (p != null) {
+                p.remove(id);
+                if (p.isEmpty()) postings.remove(t);
+            }
+            TrieNode node = trie;
+            for (char ch : t.toCharArray()) {
+                TrieNode child = node.children.get(ch);
+                if (child == null) break;
+                child.weights.remove(id);
+                if (child.weights.isEmpty()) {
+                    node.children.remove(ch);
+                    break;
+                }
+                node = child;
+            }
+        }
+    }
+
+    private TrieNode find(String prefix) {
+        TrieNode node = trie;
+        for (char ch : prefix.toCharArray()) {
+            node = node.children.get(ch);
+            if (node == null) return null;
+        }
+        return node;
+    }
+
+    /**
+     * Lowercase alphanumeric tokens; codes like "CSE-220" or "CSE220" also yield "cse" and "220".
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        List<String> out = new ArrayList<>();
+        for (String raw : text.toLowerCase(Locale.ROOT).split("[^\\p{Alnum}]+")) {
+            if (raw.isEmpty()) continue;
+            out.add(raw);
+            // split letter/digit boundaries: "cse220" -> "cse", "220"
+            String[] parts = raw.split("(?<=\\p{Alpha})(?=\\p{Digit})|(?<=\\p{Digit})(?=\\p{Alpha})");
+            if (parts.length > 1) out.addAll(Arrays.asList(parts));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,48 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.entity.Course;
+import com.universityofengineers.sms.repository.CourseRepository;
+import com.universityofengineers.sms.util.ReadConsistency;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Fills {@link CourseSearchIndex} from the database once the application (and bootstrap data) is ready, and
+ * re-reads the courses that other nodes changed.
+ */
+@Component
+@RequiredArgsConstructor
+public class CourseSearchIndexLoader {
+
+    private final CourseRepository courseRepository;
+    private final CourseSearchIndex courseSearchIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reload() {
+        courseSearchIndex.rebuild(ReadConsistency.fromPrimary(courseRepository::findAllForIndex).stream()
+                .map(CourseSearchIndex::docOf).toList());
+    }
+
+    /**
+     * Re-reads changed courses and every course of a renamed teacher or department.
+     */
+    @Transactional(readOnly = true)
+    public void refresh(Collection<Long> courseIds, Collection<Long> teacherIds, Collection<Long> departmentIds) {
+        List<Course> current = ReadConsistency.fromPrimary(() -> {
+            List<Course> found = new ArrayList<>();
+            if (!courseIds.isEmpty()) found.addAll(courseRepository.findAllForIndexByIdIn(courseIds));
+            if (!teacherIds.isEmpty()) found.addAll(courseRepository.findAllForIndexByTeacherIdIn(teacherIds));
+            if (!departmentIds.isEmpty()) found.addAll(courseRepository.findAllForIndexByDepartmentIdIn(departmentIds));
+            return found;
+        });
+        courseSearchIndex.replace(courseIds, current.stream().map(CourseSearchIndex::docOf).toList());
+    }
+}
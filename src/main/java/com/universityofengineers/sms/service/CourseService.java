@@ -2,22 +2,29 @@ package com.universityofengineers.sms.service;
 
 import com.universityofengineers.sms.dto.request.CourseUpsertRequest;
 import com.universityofengineers.sms.dto.response.CourseResponse;
+import com.universityofengineers.sms.dto.response.CourseSearchHit;
+import com.universityofengineers.sms.dto.response.CourseSummaryResponse;
 import com.universityofengineers.sms.dto.response.DepartmentResponse;
 import com.universityofengineers.sms.dto.response.TeacherResponse;
 import com.universityofengineers.sms.entity.Course;
+import com.universityofengineers.sms.entity.CourseOffering;
 import com.universityofengineers.sms.entity.EnrollmentStatus;
-import com.universityofengineers.sms.entity.Student;
 import com.universityofengineers.sms.entity.Teacher;
 import com.universityofengineers.sms.exception.BadRequestException;
 import com.universityofengineers.sms.exception.ForbiddenException;
 import com.universityofengineers.sms.exception.ResourceNotFoundException;
 import com.universityofengineers.sms.repository.*;
-import com.universityofengineers.sms.util.SecurityUtils;
+import com.universityofengineers.sms.util.ETags;
+import com.universityofengineers.sms.util.Versions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,41 +34,88 @@ public class CourseService {
     private final DepartmentRepository departmentRepository;
     private final TeacherRepository teacherRepository;
     private final EnrollmentRepository enrollmentRepository;
-    private final StudentRepository studentRepository;
+    private final CourseOfferingRepository courseOfferingRepository;
+    private final GpaService gpaService;
+    private final CourseSearchIndex courseSearchIndex;
+    private final OpenSeatsIndex openSeatsIndex;
+    private final TermService termService;
+    private final CurrentProfile currentProfile;
 
     @Transactional(readOnly = true)
     public List<CourseResponse> list() {
+        return listByDepartment(currentDepartmentId());
+    }
 
-        Long accountId = SecurityUtils.currentAccountId();
+    /**
+     * {@link #list()} as summary rows, from one projection query: no teacher, account or per-course count lookups.
+     */
+    @Transactional(readOnly = true)
+    public List<CourseSummaryResponse> listSummaries() {
+        return courseRepository.findSummariesByDepartmentId(currentDepartmentId(), EnrollmentStatus.ENROLLED,
+                termService.currentTermId());
+    }
 
-        // STUDENT → only own department
-        if (SecurityUtils.isStudent()) {
-            Student student = studentRepository.findByAccountId(accountId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Student profile not found."));
+    /**
+     * ETag of {@link #list()} (and of {@link #listSummaries()}, which depends on a subset of the same rows), computed from version / updatedAt aggregates without loading the catalog.
+     */
+    @Transactional(readOnly = true)
+    public String listETag() {
+        Long departmentId = currentDepartmentId();
+        Long termId = termService.currentTermId();
+        return ETags.of(departmentId, termId,
+                courseRepository.findResponseVersionByDepartmentId(departmentId).get(0),
+                enrollmentRepository.findVersionByDepartmentIdAndTermId(departmentId, termId).get(0));
+    }
 
-            Long deptId = student.getDepartment().getId();
+    /**
+     * ETag of {@link #get(Long)}; null if the course does not exist.
+     */
+    @Transactional(readOnly = true)
+    public String etag(Long id) {
+        Object[] course = courseRepository.findResponseVersionById(id).get(0);
+        if (((Number) course[0]).longValue() == 0) return null;
+        Long termId = termService.currentTermId();
+        return ETags.of(id, termId, course, enrollmentRepository.findVersionByCourseIdAndTermId(id, termId).get(0));
+    }
 
-            return courseRepository.findAllByDepartmentId(deptId)
-                    .stream()
-                    .map(this::toResponse)
-                    .toList();
+    /**
+     * Courses with at least one free seat, most free seats first. Seat counts come from {@link OpenSeatsIndex};
+     * the database is only hit to load the matching courses. Defaults to the caller's own department.
+     */
+    @Transactional(readOnly = true)
+    public List<CourseResponse> listAvailable(Long departmentId) {
+        Long deptId = departmentId != null ? departmentId : currentDepartmentId();
+        List<OpenSeatsIndex.Seats> seats = openSeatsIndex.available(deptId);
+        if (seats.isEmpty()) return List.of();
+
+        Map<Long, Course> byId = courseRepository.findAllForResponseByIdIn(
+                        seats.stream().map(OpenSeatsIndex.Seats::courseId).toList())
+                .stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        List<CourseResponse> out = new ArrayList<>(seats.size());
+        for (OpenSeatsIndex.Seats s : seats) {
+            Course c = byId.get(s.courseId());
+            if (c != null) out.add(toResponse(c, s.enrolled()));
         }
+        return out;
+    }
 
-        // TEACHER → only own department
-        if (SecurityUtils.isTeacher()) {
-            Teacher teacher = teacherRepository.findByAccountId(accountId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Teacher profile not found."));
-
-            Long deptId = teacher.getDepartment().getId();
-
-            return courseRepository.findAllByDepartmentId(deptId)
-                    .stream()
-                    .map(this::toResponse)
-                    .toList();
-        }
+    // Students and teachers both see only their own department; taken from the token, no lookup.
+    private Long currentDepartmentId() {
+        return currentProfile.departmentId();
+    }
 
-        // fallback (should never happen)
-        throw new ForbiddenException("Unauthorized access to courses.");
+    /**
+     * Catalog of one department. Does not touch the security context, so it is safe to call
+     * from worker threads once the caller has resolved the department.
+     */
+    @Transactional(readOnly = true)
+    public List<CourseResponse> listByDepartment(Long departmentId) {
+        Long termId = termService.currentTermId();
+        return courseRepository.findAllByDepartmentId(departmentId)
+                .stream()
+                .map(c -> toResponse(c, enrolledIn(c.getId(), termId)))
+                .toList();
     }
 
     @Transactional(readOnly = true)
@@ -80,15 +134,14 @@ public class CourseService {
         var dept = departmentRepository.findById(req.getDepartmentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found."));
 
-        Teacher currentTeacher = currentTeacher();
         // Practical authorization: teachers manage courses only in their own department.
-        if (!currentTeacher.getDepartment().getId().equals(dept.getId())) {
+        if (!currentProfile.departmentId().equals(dept.getId())) {
             throw new ForbiddenException("You can only create courses within your own department.");
         }
 
         Teacher assignedTeacher = (req.getTeacherId() != null)
                 ? teacherRepository.findById(req.getTeacherId()).orElseThrow(() -> new ResourceNotFoundException("Teacher not found."))
-                : currentTeacher;
+                : currentProfile.teacher();
 
         // Practical constraint: assigned teacher must match the course department.
         if (!assignedTeacher.getDepartment().getId().equals(dept.getId())) {
@@ -104,20 +157,25 @@ public class CourseService {
                 .teacher(assignedTeacher)
                 .build();
 
-        return toResponse(courseRepository.save(c));
+        Course saved = courseRepository.save(c);
+        termService.offerInCurrentTerm(saved);
+        courseSearchIndex.upsert(saved);
+        openSeatsIndex.courseChanged(saved.getId(), dept.getId(), saved.getCapacity());
+        return toResponse(saved);
     }
 
     @Transactional
     public CourseResponse update(Long id, CourseUpsertRequest req) {
-        Course c = courseRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Course not found."));
+        Course c = courseRepository.findForUpdateById(id).orElseThrow(() -> new ResourceNotFoundException("Course not found."));
 
-        Teacher currentTeacher = currentTeacher();
+        Long myDepartmentId = currentProfile.departmentId();
 
         // Practical authorization: teachers manage courses only in their own department.
         // (So they can't update other departments' courses.)
-        if (!currentTeacher.getDepartment().getId().equals(c.getDepartment().getId())) {
+        if (!myDepartmentId.equals(c.getDepartment().getId())) {
             throw new ForbiddenException("You can only update courses in your own department.");
         }
+        Versions.requireCurrent(req.getVersion(), c.getVersion(), "course");
 
         String code = req.getCode().trim().toUpperCase();
         if (!c.getCode().equals(code) && courseRepository.existsByCode(code)) {
@@ -127,7 +185,7 @@ public class CourseService {
         var dept = departmentRepository.findById(req.getDepartmentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found."));
 
-        if (!currentTeacher.getDepartment().getId().equals(dept.getId())) {
+        if (!myDepartmentId.equals(dept.getId())) {
             throw new ForbiddenException("You can only move/update courses within your own department.");
         }
 
@@ -139,11 +197,16 @@ public class CourseService {
             throw new BadRequestException("Assigned teacher must belong to the same department as the course.");
         }
 
-        long currentlyEnrolled = enrollmentRepository.countByCourseIdAndStatus(c.getId(), EnrollmentStatus.ENROLLED);
+        // The seat counter enrollments take from, read while they are held off by the course lock
+        Long termId = termService.currentTermId();
+        int currentlyEnrolled = termId == null ? 0 : courseOfferingRepository.findByCourseIdAndTermId(c.getId(), termId)
+                .map(CourseOffering::getEnrolledCount).orElse(0);
         if (req.getCapacity() < currentlyEnrolled) {
             throw new BadRequestException("Capacity cannot be less than current enrolled count (" + currentlyEnrolled + ").");
         }
 
+        boolean creditChanged = Double.compare(c.getCredit(), req.getCredit()) != 0;
+
         c.setCode(code);
         c.setTitle(req.getTitle().trim());
         c.setCredit(req.getCredit());
@@ -151,27 +214,56 @@ public class CourseService {
         c.setDepartment(dept);
         c.setTeacher(assignedTeacher);
 
-        return toResponse(courseRepository.save(c));
+        // Flushed, so the response carries the new version
+        Course saved = courseRepository.saveAndFlush(c);
+        courseSearchIndex.upsert(saved);
+        openSeatsIndex.courseChanged(saved.getId(), dept.getId(), saved.getCapacity());
+        if (creditChanged) {
+            gpaService.onCourseCreditChanged(saved.getId());
+        }
+        return toResponse(saved);
     }
 
     @Transactional
     public void delete(Long id) {
         Course c = courseRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Course not found."));
 
-        Teacher currentTeacher = currentTeacher();
-        if (!currentTeacher.getDepartment().getId().equals(c.getDepartment().getId())) {
+        if (!currentProfile.departmentId().equals(c.getDepartment().getId())) {
             throw new ForbiddenException("You can only delete courses in your own department.");
         }
 
+        // Set-based: enrollments go in one DELETE instead of being loaded and removed one by one.
+        List<Long> gradedStudentIds = enrollmentRepository.findStudentIdsByCourseIdAndStatus(id, EnrollmentStatus.COMPLETED);
+        enrollmentRepository.bulkDeleteByCourseId(id);
+        courseOfferingRepository.bulkDeleteByCourseId(id);
         courseRepository.delete(c);
+        gpaService.rebuildAll(gradedStudentIds);
+        courseSearchIndex.remove(id);
+        openSeatsIndex.courseRemoved(id);
     }
 
-    private Teacher currentTeacher() {
-        Long accountId = SecurityUtils.currentAccountId();
-        return teacherRepository.findByAccountId(accountId).orElseThrow(() -> new ResourceNotFoundException("Teacher profile not found."));
+    public List<CourseSearchHit> search(String q, Long departmentId, int limit) {
+        return courseSearchIndex.search(q, departmentId, clampLimit(limit));
+    }
+
+    public List<CourseSearchHit> autocomplete(String prefix, int limit) {
+        return courseSearchIndex.autocomplete(prefix, clampLimit(limit));
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, 100));
     }
 
     private CourseResponse toResponse(Course c) {
+        return toResponse(c, enrolledIn(c.getId(), termService.currentTermId()));
+    }
+
+    // Seats taken in the active term (a null term means none is open, so nothing is taken)
+    private long enrolledIn(Long courseId, Long termId) {
+        return termId == null ? 0 : enrollmentRepository.countByCourseIdAndStatusAndTermId(courseId, EnrollmentStatus.ENROLLED, termId);
+    }
+
+    private CourseResponse toResponse(Course c, long currentlyEnrolled) {
         DepartmentResponse dept = DepartmentResponse.builder()
                 .id(c.getDepartment().getId())
                 .code(c.getDepartment().getCode())
@@ -191,10 +283,9 @@ public class CourseService {
                         .build())
                 .build();
 
-        long currentlyEnrolled = enrollmentRepository.countByCourseIdAndStatus(c.getId(), EnrollmentStatus.ENROLLED);
-
         return CourseResponse.builder()
                 .id(c.getId())
+                .version(c.getVersion())
                 .code(c.getCode())
                 .title(c.getTitle())
                 .credit(c.getCredit())
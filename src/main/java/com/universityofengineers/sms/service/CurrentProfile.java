@@ -0,0 +1,83 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.entity.Student;
+import com.universityofengineers.sms.entity.Teacher;
+import com.universityofengineers.sms.exception.ForbiddenException;
+import com.universityofengineers.sms.exception.ResourceNotFoundException;
+import com.universityofengineers.sms.repository.StudentRepository;
+import com.universityofengineers.sms.repository.TeacherRepository;
+import com.universityofengineers.sms.security.UserPrincipal;
+import com.universityofengineers.sms.util.SecurityUtils;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * The caller's student / teacher profile, for the current request.
+ *
+ * Ids come from the JWT principal, so authorization checks ("is this my course / my department?") need no
+ * query at all. The entity is loaded on first use and reused for the rest of the request; it is reloaded only
+ * if the persistence context it came from is gone (a retried or second transaction in the same request).
+ *
+ * Tokens issued without profile claims fall back to a lookup by account id.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class CurrentProfile {
+
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final EntityManager entityManager;
+
+    private Student student;
+    private Teacher teacher;
+
+    public Long studentId() {
+        Long id = principal().getStudentId();
+        return id != null ? id : student().getId();
+    }
+
+    public Long teacherId() {
+        Long id = principal().getTeacherId();
+        return id != null ? id : teacher().getId();
+    }
+
+    /**
+     * Department of the calling student or teacher.
+     */
+    public Long departmentId() {
+        Long id = principal().getDepartmentId();
+        if (id != null) return id;
+        if (SecurityUtils.isStudent()) return student().getDepartment().getId();
+        if (SecurityUtils.isTeacher()) return teacher().getDepartment().getId();
+        throw new ForbiddenException("Unauthorized access to courses.");
+    }
+
+    public Student student() {
+        if (student == null || !entityManager.contains(student)) {
+            UserPrincipal p = principal();
+            student = (p.getStudentId() != null
+                    ? studentRepository.findById(p.getStudentId())
+                    : studentRepository.findByAccountId(p.getId()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Student profile not found."));
+        }
+        return student;
+    }
+
+    public Teacher teacher() {
+        if (teacher == null || !entityManager.contains(teacher)) {
+            UserPrincipal p = principal();
+            teacher = (p.getTeacherId() != null
+                    ? teacherRepository.findById(p.getTeacherId())
+                    : teacherRepository.findByAccountId(p.getId()))
+                    .orElseThrow(() -> new ResourceNotFoundException("Teacher profile not found."));
+        }
+        return teacher;
+    }
+
+    private static UserPrincipal principal() {
+        return SecurityUtils.currentPrincipal();
+    }
+}
@@ -6,6 +6,7 @@ import com.universityofengineers.sms.entity.Department;
 import com.universityofengineers.sms.exception.BadRequestException;
 import com.universityofengineers.sms.exception.ResourceNotFoundException;
 import com.universityofengineers.sms.repository.DepartmentRepository;
+import com.universityofengineers.sms.util.ETags;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,11 +18,26 @@ import java.util.List;
 public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
+    private final CourseSearchIndex courseSearchIndex;
 
     public List<DepartmentResponse> list() {
         return departmentRepository.findAll().stream().map(this::toResponse).toList();
     }
 
+    @Transactional(readOnly = true)
+    public String listETag() {
+        return ETags.of(departmentRepository.findListVersion().get(0));
+    }
+
+    /**
+     * ETag of {@link #get(Long)}; null if the department does not exist.
+     */
+    @Transactional(readOnly = true)
+    public String etag(Long id) {
+        Object[] row = departmentRepository.findVersionById(id).get(0);
+        return ((Number) row[0]).longValue() == 0 ? null : ETags.of(id, row);
+    }
+
     public DepartmentResponse get(Long id) {
         Department d = departmentRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Department not found."));
         return toResponse(d);
@@ -51,7 +67,9 @@ public class DepartmentService {
 
         d.setCode(code);
         d.setName(req.getName().trim());
-        return toResponse(departmentRepository.save(d));
+        Department saved = departmentRepository.save(d);
+        courseSearchIndex.departmentRenamed(saved.getId(), saved.getCode(), saved.getName());
+        return toResponse(saved);
     }
 
     @Transactional
@@ -0,0 +1,53 @@
+package com.universityofengineers.sms.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universityofengineers.sms.entity.OutboxEvent;
+import com.universityofengineers.sms.entity.OutboxStatus;
+import com.universityofengineers.sms.event.DomainEvent;
+import com.universityofengineers.sms.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+import static com.universityofengineers.sms.util.TransactionHooks.afterCommit;
+
+/**
+ * Writes domain events to the outbox. Must run inside the transaction that makes the change, so the event
+ * exists if and only if the change commits; delivery happens later on the dispatcher thread.
+ */
+@Service
+@RequiredArgsConstructor
+public class DomainEventPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final OutboxDispatcher outboxDispatcher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEvent event) {
+        Instant now = Instant.now();
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(event.aggregateType())
+                .aggregateId(event.aggregateId())
+                .eventType(event.getClass().getSimpleName())
+                .payload(toJson(event))
+                .status(OutboxStatus.PENDING)
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+        // Deliver right after commit instead of waiting for the next poll
+        afterCommit(outboxDispatcher::wakeUp);
+    }
+
+    private String toJson(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -4,13 +4,16 @@ import com.universityofengineers.sms.dto.request.EnrollmentCreateRequest;
 import com.universityofengineers.sms.dto.request.GradeUpdateRequest;
 import com.universityofengineers.sms.dto.response.EnrollmentResponse;
 import com.universityofengineers.sms.entity.*;
+import com.universityofengineers.sms.event.EnrollmentStatusChanged;
+import com.universityofengineers.sms.event.GradeAssigned;
 import com.universityofengineers.sms.exception.BadRequestException;
 import com.universityofengineers.sms.exception.ForbiddenException;
 import com.universityofengineers.sms.exception.ResourceNotFoundException;
+import com.universityofengineers.sms.repository.CourseOfferingRepository;
 import com.universityofengineers.sms.repository.CourseRepository;
 import com.universityofengineers.sms.repository.EnrollmentRepository;
 import com.universityofengineers.sms.repository.StudentRepository;
-import com.universityofengineers.sms.repository.TeacherRepository;
+import com.universityofengineers.sms.util.ETags;
 import com.universityofengineers.sms.util.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -24,28 +27,44 @@ public class EnrollmentService {
 
     private final EnrollmentRepository enrollmentRepository;
     private final StudentRepository studentRepository;
-    private final TeacherRepository teacherRepository;
     private final CourseRepository courseRepository;
+    private final CourseOfferingRepository courseOfferingRepository;
+    private final GpaService gpaService;
+    private final OpenSeatsIndex openSeatsIndex;
+    private final TermService termService;
+    private final DomainEventPublisher domainEventPublisher;
+    private final CurrentProfile currentProfile;
 
     @Transactional(readOnly = true)
     public List<EnrollmentResponse> myEnrollments() {
-        Student me = getCurrentStudent();
-        return enrollmentRepository.findByStudentId(me.getId()).stream().map(this::toResponse).toList();
+        return enrollmentRepository.findByStudentId(currentStudentId()).stream().map(this::toResponse).toList();
     }
 
+    @Transactional(readOnly = true)
+    public String myEnrollmentsETag() {
+        Long studentId = currentStudentId();
+        return ETags.of(studentId, enrollmentRepository.findVersionByStudentId(studentId).get(0));
+    }
+
+    @Transactional(readOnly = true)
+    public List<EnrollmentResponse> enrollmentsOfStudent(Long studentId) {
+        return enrollmentRepository.findByStudentId(studentId).stream().map(this::toResponse).toList();
+    }
+
+    @RetryOnConflict
     @Transactional
     public EnrollmentResponse enrollMe(EnrollmentCreateRequest req) {
-        Student me = getCurrentStudent();
-        return enrollStudentToCourse(me.getId(), req.getCourseId(), true);
+        return enrollStudentToCourse(currentStudentId(), req.getCourseId(), true);
     }
 
+    @RetryOnConflict
     @Transactional
     public void dropMyEnrollment(Long enrollmentId) {
-        Student me = getCurrentStudent();
+        Long myId = currentStudentId();
         Enrollment e = enrollmentRepository.findById(enrollmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found."));
 
-        if (!e.getStudent().getId().equals(me.getId())) {
+        if (!e.getStudent().getId().equals(myId)) {
             throw new ForbiddenException("You can only drop your own enrollments.");
         }
         if (e.getStatus() != EnrollmentStatus.ENROLLED) {
@@ -54,6 +73,11 @@ public class EnrollmentService {
 
         e.setStatus(EnrollmentStatus.DROPPED);
         enrollmentRepository.save(e);
+        releaseSeat(e);
+        gpaService.applyTransition(myId, e.getCourse().getCredit(),
+                EnrollmentStatus.ENROLLED, e.getGrade(), EnrollmentStatus.DROPPED, e.getGrade());
+        openSeatsIndex.seatReleased(e.getCourse().getId());
+        publishStatusChange(e, EnrollmentStatus.ENROLLED);
     }
 
     @Transactional(readOnly = true)
@@ -61,39 +85,51 @@ public class EnrollmentService {
         return enrollmentRepository.findAll().stream().map(this::toResponse).toList();
     }
 
+    @RetryOnConflict
     @Transactional
     public EnrollmentResponse teacherEnrollStudent(Long studentId, EnrollmentCreateRequest req) {
         // Practical authorization: teacher can enroll students only into the courses they teach.
         Course course = courseRepository.findById(req.getCourseId())
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found."));
-        Teacher currentTeacher = teacherRepository.findByAccountId(SecurityUtils.currentAccountId())
-                .orElseThrow(() -> new ResourceNotFoundException("Teacher profile not found."));
-        if (!course.getTeacher().getId().equals(currentTeacher.getId())) {
+        if (!course.getTeacher().getId().equals(currentProfile.teacherId())) {
             throw new ForbiddenException("You can only enroll students into your own courses.");
         }
 
         return enrollStudentToCourse(studentId, req.getCourseId(), false);
     }
 
+    @RetryOnConflict
     @Transactional
     public EnrollmentResponse setGrade(Long enrollmentId, GradeUpdateRequest req) {
         Enrollment e = enrollmentRepository.findById(enrollmentId).orElseThrow(() -> new ResourceNotFoundException("Enrollment not found."));
         // Practical authorization: a teacher can grade ONLY the courses they teach.
-        Teacher currentTeacher = teacherRepository.findByAccountId(SecurityUtils.currentAccountId())
-                .orElseThrow(() -> new ResourceNotFoundException("Teacher profile not found."));
-        if (!e.getCourse().getTeacher().getId().equals(currentTeacher.getId())) {
+        if (!e.getCourse().getTeacher().getId().equals(currentProfile.teacherId())) {
             throw new ForbiddenException("You can only grade enrollments for your own courses.");
         }
 
         if (e.getStatus() == EnrollmentStatus.DROPPED) {
             throw new BadRequestException("Cannot grade a dropped enrollment.");
         }
+        EnrollmentStatus oldStatus = e.getStatus();
+        String oldGrade = e.getGrade();
         e.setGrade(req.getGrade().trim().toUpperCase());
         // Practical: if grade is set and enrollment is still ENROLLED, mark COMPLETED
         if (e.getStatus() == EnrollmentStatus.ENROLLED) {
             e.setStatus(EnrollmentStatus.COMPLETED);
         }
-        return toResponse(enrollmentRepository.save(e));
+        Enrollment saved = enrollmentRepository.save(e);
+        gpaService.applyTransition(e.getStudent().getId(), e.getCourse().getCredit(),
+                oldStatus, oldGrade, e.getStatus(), e.getGrade());
+        if (oldStatus == EnrollmentStatus.ENROLLED) {
+            releaseSeat(saved);
+            openSeatsIndex.seatReleased(e.getCourse().getId());
+            publishStatusChange(saved, oldStatus);
+        }
+        if (!saved.getGrade().equals(oldGrade)) {
+            domainEventPublisher.publish(new GradeAssigned(saved.getId(), e.getStudent().getId(), e.getCourse().getId(),
+                    oldGrade, saved.getGrade()));
+        }
+        return toResponse(saved);
     }
 
     private EnrollmentResponse enrollStudentToCourse(Long studentId, Long courseId, boolean initiatedByStudent) {
@@ -102,49 +138,75 @@ public class EnrollmentService {
             throw new ForbiddenException("Only ACTIVE students can enroll.");
         }
 
-        Course c = courseRepository.findById(courseId).orElseThrow(() -> new ResourceNotFoundException("Course not found."));
+        Course c = courseRepository.findForEnrollmentById(courseId).orElseThrow(() -> new ResourceNotFoundException("Course not found."));
+
+        Term term = termService.currentTermOrNull();
+        if (term == null) {
+            throw new BadRequestException("No term is open for enrollment.");
+        }
+        if (!termService.isOffered(courseId, term.getId())) {
+            throw new BadRequestException("Course is not offered in the current term.");
+        }
+        if (enrollmentRepository.existsByStudentIdAndCourseIdAndStatus(studentId, courseId, EnrollmentStatus.COMPLETED)) {
+            throw new BadRequestException("Course already completed; re-enrollment is not allowed.");
+        }
 
-        var existingOpt = enrollmentRepository.findByStudentIdAndCourseId(studentId, courseId);
+        var existingOpt = enrollmentRepository.findByStudentIdAndCourseIdAndTermId(studentId, courseId, term.getId());
         if (existingOpt.isPresent()) {
             Enrollment existing = existingOpt.get();
             if (existing.getStatus() == EnrollmentStatus.ENROLLED) {
                 throw new BadRequestException("Already enrolled in this course.");
             }
-            if (existing.getStatus() == EnrollmentStatus.COMPLETED) {
-                throw new BadRequestException("Course already completed; re-enrollment is not allowed.");
-            }
-            // If it was DROPPED, re-activate the same record (keeps unique constraint happy)
+            // If it was DROPPED this term, re-activate the same record (keeps unique constraint happy)
             if (existing.getStatus() == EnrollmentStatus.DROPPED) {
-                long enrolledCount = enrollmentRepository.countByCourseIdAndStatus(courseId, EnrollmentStatus.ENROLLED);
-                if (enrolledCount >= c.getCapacity()) {
-                    throw new BadRequestException("Course capacity reached.");
-                }
+                takeSeat(c, term);
                 existing.setStatus(EnrollmentStatus.ENROLLED);
                 existing.setGrade(null);
-                return toResponse(enrollmentRepository.save(existing));
+                Enrollment saved = enrollmentRepository.save(existing);
+                openSeatsIndex.seatTaken(courseId);
+                publishStatusChange(saved, EnrollmentStatus.DROPPED);
+                return toResponse(saved);
             }
         }
 
-        long enrolledCount = enrollmentRepository.countByCourseIdAndStatus(courseId, EnrollmentStatus.ENROLLED);
-        if (enrolledCount >= c.getCapacity()) {
-            throw new BadRequestException("Course capacity reached.");
-        }
+        takeSeat(c, term);
 
         Enrollment e = Enrollment.builder()
                 .student(s)
                 .course(c)
+                .term(term)
                 .status(EnrollmentStatus.ENROLLED)
                 .build();
 
-        return toResponse(enrollmentRepository.save(e));
+        Enrollment saved = enrollmentRepository.save(e);
+        openSeatsIndex.seatTaken(courseId);
+        publishStatusChange(saved, null);
+        return toResponse(saved);
+    }
+
+    private void takeSeat(Course c, Term term) {
+        if (courseOfferingRepository.takeSeat(c.getId(), term.getId()) == 0) {
+            throw new BadRequestException("Course capacity reached.");
+        }
+    }
+
+    private void releaseSeat(Enrollment e) {
+        // Enrollments from before terms existed hold no seat in any offering
+        if (e.getTerm() != null) {
+            courseOfferingRepository.releaseSeat(e.getCourse().getId(), e.getTerm().getId());
+        }
+    }
+
+    private void publishStatusChange(Enrollment e, EnrollmentStatus from) {
+        domainEventPublisher.publish(new EnrollmentStatusChanged(e.getId(), e.getStudent().getId(), e.getCourse().getId(),
+                e.getTerm() == null ? null : e.getTerm().getId(), from, e.getStatus()));
     }
 
-    private Student getCurrentStudent() {
+    private Long currentStudentId() {
         if (!SecurityUtils.isStudent()) {
             throw new ForbiddenException("Only students can access this operation.");
         }
-        return studentRepository.findByAccountId(SecurityUtils.currentAccountId())
-                .orElseThrow(() -> new ResourceNotFoundException("Student profile not found."));
+        return currentProfile.studentId();
     }
 
     private EnrollmentResponse toResponse(Enrollment e) {
@@ -155,6 +217,8 @@ public class EnrollmentService {
                 .courseId(e.getCourse().getId())
                 .courseCode(e.getCourse().getCode())
                 .courseTitle(e.getCourse().getTitle())
+                .courseCredit(e.getCourse().getCredit())
+                .termId(e.getTerm() == null ? null : e.getTerm().getId())
                 .status(e.getStatus())
                 .grade(e.getGrade())
                 .enrolledAt(e.getEnrolledAt())
@@ -0,0 +1,188 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.config.GradingProperties;
+import com.universityofengineers.sms.dto.response.GpaRecomputeResponse;
+import com.universityofengineers.sms.dto.response.GpaResponse;
+import com.universityofengineers.sms.entity.EnrollmentStatus;
+import com.universityofengineers.sms.entity.StudentAcademicRecord;
+import com.universityofengineers.sms.repository.EnrollmentRepository;
+import com.universityofengineers.sms.repository.StudentAcademicRecordRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental GPA / credit engine.
+ *
+ * Every enrollment mutation reports its (status, grade) before and after; the difference of the two
+ * contributions is applied to the student's {@link StudentAcademicRecord} with a single atomic UPDATE.
+ * Reading a GPA is therefore one primary-key lookup instead of a scan over all enrollments.
+ * {@link #recomputeAll()} rebuilds every record from the enrollments and reports how many had drifted.
+ */
+@Service
+@RequiredArgsConstructor
+public class GpaService {
+
+    private static final double EPSILON = 1e-6;
+
+    private final StudentAcademicRecordRepository recordRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final GradingProperties gradingProperties;
+
+    /**
+     * Must be called inside the transaction that changes the enrollment, so aggregates commit or roll back with it.
+     */
+    @Transactional
+    public void applyTransition(Long studentId, double credit,
+                                EnrollmentStatus oldStatus, String oldGrade,
+                                EnrollmentStatus newStatus, String newGrade) {
+        Contribution before = contribution(credit, oldStatus, oldGrade);
+        Contribution after = contribution(credit, newStatus, newGrade);
+        Contribution delta = after.minus(before);
+        if (delta.isZero()) return;
+
+        int updated = recordRepository.applyDelta(studentId, delta.gradedCredits, delta.qualityPoints, delta.completedCredits);
+        if (updated == 0) {
+            // First graded/completed enrollment of this student. Concurrent first transitions queue on the student
+            // row; whoever comes second finds the record the first one committed and applies its delta to it.
+            recordRepository.lockStudent(studentId);
+            if (recordRepository.applyDelta(studentId, delta.gradedCredits, delta.qualityPoints, delta.completedCredits) == 0) {
+                // Seed the record from the source of truth.
+                recordRepository.save(rebuild(studentId));
+            }
+        }
+    }
+
+    /**
+     * A course's credit changed: every student who completed it needs their aggregates rebuilt.
+     */
+    @Transactional
+    public void onCourseCreditChanged(Long courseId) {
+        for (Long studentId : enrollmentRepository.findStudentIdsByCourseIdAndStatus(courseId, EnrollmentStatus.COMPLETED)) {
+            recordRepository.save(rebuild(studentId));
+        }
+    }
+
+    /**
+     * Rebuilds the given students' aggregates, e.g. after their completed enrollments were bulk-deleted.
+     */
+    @Transactional
+    public void rebuildAll(Collection<Long> studentIds) {
+        for (Long studentId : studentIds) {
+            recordRepository.save(rebuild(studentId));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public GpaResponse summary(Long studentId) {
+        return recordRepository.findById(studentId)
+                .map(this::toResponse)
+                .orElseGet(() -> GpaResponse.builder().studentId(studentId).build());
+    }
+
+    /**
+     * Full recompute that doubles as a consistency check: stored aggregates are compared with values
+     * derived from enrollments, and any mismatch (or missing/orphaned record) is repaired.
+     */
+    @Scheduled(cron = "${app.grading.recompute-cron:-}")
+    @Transactional
+    public GpaRecomputeResponse recomputeAll() {
+        Map<Long, Contribution> expected = new HashMap<>();
+        for (Object[] row : enrollmentRepository.findGradeRowsByStatus(EnrollmentStatus.COMPLETED)) {
+            expected.merge((Long) row[0],
+                    contribution(((Number) row[1]).doubleValue(), EnrollmentStatus.COMPLETED, (String) row[2]),
+                    Contribution::plus);
+        }
+
+        int repaired = 0;
+        for (StudentAcademicRecord r : recordRepository.findAll()) {
+            Contribution want = expected.remove(r.getStudentId());
+            if (want == null) want = Contribution.ZERO;
+            if (!want.minus(Contribution.of(r)).isZero()) {
+                want.copyTo(r);
+                repaired++;
+            }
+        }
+        // Students with completed enrollments but no record at all
+        for (var entry : expected.entrySet()) {
+            StudentAcademicRecord r = StudentAcademicRecord.builder().studentId(entry.getKey()).build();
+            entry.getValue().copyTo(r);
+            recordRepository.save(r);
+            repaired++;
+        }
+
+        return GpaRecomputeResponse.builder()
+                .timestamp(Instant.now())
+                .studentsChecked((int) recordRepository.count())
+                .recordsRepaired(repaired)
+                .build();
+    }
+
+    public Double gradePoints(String grade) {
+        if (grade == null) return null;
+        return gradingProperties.getScale().get(grade.trim().toUpperCase());
+    }
+
+    private StudentAcademicRecord rebuild(Long studentId) {
+        Contribution total = Contribution.ZERO;
+        for (Object[] row : enrollmentRepository.findGradeRowsByStudentIdAndStatus(studentId, EnrollmentStatus.COMPLETED)) {
+            total = total.plus(contribution(((Number) row[1]).doubleValue(), EnrollmentStatus.COMPLETED, (String) row[2]));
+        }
+        StudentAcademicRecord r = recordRepository.findById(studentId)
+                .orElseGet(() -> StudentAcademicRecord.builder().studentId(studentId).build());
+        total.copyTo(r);
+        return r;
+    }
+
+    private Contribution contribution(double credit, EnrollmentStatus status, String grade) {
+        if (status != EnrollmentStatus.COMPLETED) return Contribution.ZERO;
+        Double points = gradePoints(grade);
+        if (points == null) return new Contribution(0, 0, credit);
+        return new Contribution(credit, points * credit, credit);
+    }
+
+    private GpaResponse toResponse(StudentAcademicRecord r) {
+        Double gpa = r.getGradedCredits() > EPSILON
+                ? Math.round(r.getQualityPoints() / r.getGradedCredits() * 100.0) / 100.0
+                : null;
+        return GpaResponse.builder()
+                .studentId(r.getStudentId())
+                .gpa(gpa)
+                .gradedCredits(r.getGradedCredits())
+                .completedCredits(r.getCompletedCredits())
+                .build();
+    }
+
+    private record Contribution(double gradedCredits, double qualityPoints, double completedCredits) {
+        static final Contribution ZERO = new Contribution(0, 0, 0);
+
+        static Contribution of(StudentAcademicRecord r) {
+            return new Contribution(r.getGradedCredits(), r.getQualityPoints(), r.getCompletedCredits());
+        }
+
+        Contribution plus(Contribution o) {
+            return new Contribution(gradedCredits + o.gradedCredits, qualityPoints + o.qualityPoints, completedCredits + o.completedCredits);
+        }
+
+        Contribution minus(Contribution o) {
+            return new Contribution(gradedCredits - o.gradedCredits, qualityPoints - o.qualityPoints, completedCredits - o.completedCredits);
+        }
+
+        boolean isZero() {
+            return Math.abs(gradedCredits) < EPSILON && Math.abs(qualityPoints) < EPSILON && Math.abs(completedCredits) < EPSILON;
+        }
+
+        void copyTo(StudentAcademicRecord r) {
+            r.setGradedCredits(gradedCredits);
+            r.setQualityPoints(qualityPoints);
+            r.setCompletedCredits(completedCredits);
+        }
+    }
+}
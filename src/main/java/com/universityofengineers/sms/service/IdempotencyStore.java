@@ -0,0 +1,173 @@
+package com.universityofengineers.sms.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universityofengineers.sms.config.IdempotencyProperties;
+import com.universityofengineers.sms.exception.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of POSTs sent with an {@code Idempotency-Key} header, so a client retry gets the
+ * original response instead of running the transaction again.
+ *
+ * - Keys are scoped by the caller (endpoint + account, or endpoint + client IP for anonymous calls), so two
+ *   users can never see each other's responses.
+ * - A duplicate that arrives while the first request is still running waits for it and gets the same result.
+ * - Only successful results are kept; a failure is handed to concurrent duplicates and then forgotten, so a
+ *   later retry runs again.
+ * - Reusing a key with a different body is rejected.
+ * - In memory and per node, bounded by {@code app.idempotency.max-entries} and {@code ttl-seconds}. Anonymous
+ *   calls have their own, smaller pool ({@code max-anonymous-entries}), so unauthenticated clients can only
+ *   evict each other's keys.
+ * - Bodies are remembered as an HMAC with a per-process secret, never in a form that could be matched against
+ *   guessed credentials.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 200;
+    private static final String FINGERPRINT_ALGORITHM = "HmacSHA256";
+
+    private record Entry(byte[] fingerprint, CompletableFuture<Object> result, long expiresAtMillis) {
+    }
+
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+
+    // Insertion order = expiry order (constant TTL), so expired entries gather at the head.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private final LinkedHashMap<String, Entry> anonymousEntries = new LinkedHashMap<>();
+
+    private final SecretKeySpec fingerprintKey = newFingerprintKey();
+
+    /**
+     * Runs {@code action} once per (scope, key); without a key it simply runs it.
+     *
+     * @param scope   who is asking, e.g. {@code "enroll:42"}
+     * @param request request body, compared with the body the key was first used with
+     */
+    public <T> T execute(String scope, String key, Object request, Supplier<T> action) {
+        return execute(entries, properties.getMaxEntries(), scope, key, request, action);
+    }
+
+    /**
+     * Same as {@link #execute} for callers without an account, scoped by their client address and kept in the
+     * separate anonymous pool.
+     */
+    public <T> T executeAnonymous(String scope, String clientIp, String key, Object request, Supplier<T> action) {
+        return execute(anonymousEntries, properties.getMaxAnonymousEntries(), scope + ":" + clientIp, key, request, action);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T execute(LinkedHashMap<String, Entry> entries, int maxEntries,
+                          String scope, String key, Object request, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters.");
+        }
+        String id = scope + "|" + key;
+        byte[] fingerprint = fingerprint(request);
+        Entry mine = new Entry(fingerprint, new CompletableFuture<>(),
+                System.currentTimeMillis() + properties.getTtlSeconds() * 1000);
+
+        Entry existing;
+        synchronized (entries) {
+            long now = System.currentTimeMillis();
+            evictExpired(entries, now);
+            existing = entries.get(id);
+            if (existing != null && existing.expiresAtMillis() <= now) {
+                entries.remove(id);
+                existing = null;
+            }
+            if (existing == null) entries.put(id, mine);
+            if (existing == null && entries.size() > maxEntries) {
+                Iterator<String> eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+
+        if (existing != null) {
+            if (!MessageDigest.isEqual(existing.fingerprint(), fingerprint)) {
+                throw new BadRequestException(HEADER + " was already used for a different request.");
+            }
+            return (T) await(existing.result());
+        }
+
+        try {
+            T result = action.get();
+            mine.result().complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            synchronized (entries) {
+                entries.remove(id, mine);
+            }
+            mine.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public int size() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        synchronized (anonymousEntries) {
+            return size + anonymousEntries.size();
+        }
+    }
+
+    private static void evictExpired(LinkedHashMap<String, Entry> entries, long now) {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Entry e = it.next().getValue();
+            if (e.expiresAtMillis() > now) break;
+            it.remove();
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+
+    private byte[] fingerprint(Object request) {
+        try {
+            // Keyed, so a heap dump of the store does not allow testing guessed passwords against it.
+            Mac mac = Mac.getInstance(FINGERPRINT_ALGORITHM);
+            mac.init(fingerprintKey);
+            return mac.doFinal(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException | GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+
+    private static SecretKeySpec newFingerprintKey() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return new SecretKeySpec(secret, FINGERPRINT_ALGORITHM);
+    }
+}
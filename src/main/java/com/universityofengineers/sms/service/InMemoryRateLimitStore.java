@@ -0,0 +1,73 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.config.RateLimitProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-node buckets: one AtomicLong per key, updated with a CAS loop, so a request allocates nothing beyond its key.
+ *
+ * At {@code max-keys} the map is purged of full buckets, at most once a second. If that frees nothing, unknown
+ * keys share one overflow bucket per limit: a spray of distinct keys is limited as a whole and cannot evict the
+ * buckets of clients already being limited.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private static final String OVERFLOW = "overflow:";
+    private static final long FULL_PURGE_GAP_MILLIS = 1000;
+
+    private final RateLimitProperties properties;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastFullPurge = new AtomicLong(-FULL_PURGE_GAP_MILLIS);
+
+    @Override
+    public long tryAcquire(String key, int capacity, long refillIntervalMillis, long nowMillis) {
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            if (buckets.size() >= properties.getMaxKeys() && !purgedSomething(nowMillis)) {
+                key = OVERFLOW + capacity + "/" + refillIntervalMillis;
+            }
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong());
+        }
+        long window = capacity * refillIntervalMillis;
+        while (true) {
+            long cur = tat.get();
+            long next = Math.max(cur, nowMillis) + refillIntervalMillis;
+            if (next - nowMillis > window) {
+                return next - nowMillis - window;
+            }
+            if (tat.compareAndSet(cur, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // One caller per gap scans the map; the others go straight to the overflow bucket
+    private boolean purgedSomething(long nowMillis) {
+        long last = lastFullPurge.get();
+        if (nowMillis - last < FULL_PURGE_GAP_MILLIS || !lastFullPurge.compareAndSet(last, nowMillis)) {
+            return false;
+        }
+        return purgeIdle(nowMillis) > 0;
+    }
+
+    @Override
+    public int purgeIdle(long nowMillis) {
+        int before = buckets.size();
+        buckets.values().removeIf(tat -> tat.get() <= nowMillis);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,41 @@
+package com.universityofengineers.sms.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Buckets shared by every node, in the {@code rate_limit_buckets} table (changeset 014, PostgreSQL).
+ * One upsert per request: the row is created full, or moved forward only when the request is allowed,
+ * atomically under the row lock.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rate-limit.backend", havingValue = "jdbc")
+@RequiredArgsConstructor
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    private static final String ACQUIRE = """
+            INSERT INTO rate_limit_buckets AS b (bucket_key, tat_millis, allowed) VALUES (?, ?, TRUE)
+            ON CONFLICT (bucket_key) DO UPDATE SET
+                allowed = GREATEST(b.tat_millis + ?, EXCLUDED.tat_millis) <= ?,
+                tat_millis = CASE WHEN GREATEST(b.tat_millis + ?, EXCLUDED.tat_millis) <= ?
+                                  THEN GREATEST(b.tat_millis + ?, EXCLUDED.tat_millis) ELSE b.tat_millis END
+            RETURNING tat_millis, allowed""";
+
+    private final JdbcTemplate jdbc;
+
+    @Override
+    public long tryAcquire(String key, int capacity, long refillIntervalMillis, long nowMillis) {
+        long limit = nowMillis + capacity * refillIntervalMillis;
+        return jdbc.queryForObject(ACQUIRE, (rs, n) -> rs.getBoolean("allowed") ? 0L
+                        : Math.max(rs.getLong("tat_millis"), nowMillis) + refillIntervalMillis - limit,
+                key, nowMillis + refillIntervalMillis, refillIntervalMillis, limit, refillIntervalMillis, limit,
+                refillIntervalMillis);
+    }
+
+    @Override
+    public int purgeIdle(long nowMillis) {
+        return jdbc.update("DELETE FROM rate_limit_buckets WHERE tat_millis <= ?", nowMillis);
+    }
+}
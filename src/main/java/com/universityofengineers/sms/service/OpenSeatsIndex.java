@@ -0,0 +1,140 @@
+package com.universityofengineers.sms.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.universityofengineers.sms.util.TransactionHooks.afterCommit;
+
+/**
+ * Remaining capacity per course, so "courses with free seats" never has to count enrollments.
+ *
+ * Seeded and periodically repaired by {@link OpenSeatsReconciler}; between runs it is moved by
+ * CourseService (create / capacity change / delete) and EnrollmentService (enroll, drop, completion).
+ * Like {@link CourseSearchIndex}, changes made inside a transaction are applied only after commit; changes
+ * of other nodes are re-read per course through {@link CacheInvalidationBus}.
+ *
+ * Every mutation stamps its entry from a global sequence. A reconciliation pass only overwrites entries
+ * whose stamp predates the pass, so an event that lands while the database snapshot is being read is
+ * never clobbered by that (older) snapshot.
+ */
+@Component
+public class OpenSeatsIndex {
+
+    public record Seats(Long courseId, Long departmentId, int capacity, long enrolled) {
+        public long free() {
+            return Math.max(0, capacity - enrolled);
+        }
+    }
+
+    private record Entry(Seats seats, long stamp) {
+    }
+
+    private static final Comparator<Seats> MOST_FREE_FIRST =
+            Comparator.comparingLong(Seats::free).reversed().thenComparing(Seats::courseId);
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong stamps = new AtomicLong();
+
+    /**
+     * Courses of the department that still have at least one free seat, most free seats first.
+     */
+    public List<Seats> available(Long departmentId) {
+        return entries.values().stream()
+                .map(Entry::seats)
+                .filter(s -> s.departmentId().equals(departmentId) && s.free() > 0)
+                .sorted(MOST_FREE_FIRST)
+                .toList();
+    }
+
+    public Seats get(Long courseId) {
+        Entry e = entries.get(courseId);
+        return e == null ? null : e.seats();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Course created, or its department / capacity changed. The enrolled count is kept as is.
+     */
+    public void courseChanged(Long courseId, Long departmentId, int capacity) {
+        afterCommit(() -> entries.compute(courseId, (id, cur) -> stamped(
+                new Seats(id, departmentId, capacity, cur == null ? 0 : cur.seats().enrolled()))));
+    }
+
+    public void courseRemoved(Long courseId) {
+        afterCommit(() -> entries.remove(courseId));
+    }
+
+    public void seatTaken(Long courseId) {
+        adjust(courseId, 1);
+    }
+
+    /** Drop, or ENROLLED -> COMPLETED on grading. */
+    public void seatReleased(Long courseId) {
+        adjust(courseId, -1);
+    }
+
+    /**
+     * Sequence value to pass to {@link #reconcile} — read it BEFORE loading the database snapshot.
+     */
+    public long currentStamp() {
+        return stamps.get();
+    }
+
+    /**
+     * Replaces drifted entries with the database truth and drops courses that no longer exist.
+     * Entries touched after {@code snapshotStamp} are left alone; the next pass will check them.
+     *
+     * @return number of entries added, corrected or removed
+     */
+    public int reconcile(Collection<Seats> truth, long snapshotStamp) {
+        return reconcile(truth, List.copyOf(entries.keySet()), snapshotStamp);
+    }
+
+    /**
+     * {@link #reconcile(Collection, long)} limited to {@code courseIds}, e.g. courses another node changed:
+     * {@code truth} holds the database rows of those courses, a listed course without a row was deleted.
+     */
+    public int reconcile(Collection<Seats> truth, Collection<Long> courseIds, long snapshotStamp) {
+        AtomicInteger repaired = new AtomicInteger();
+        Set<Long> seen = new HashSet<>(truth.size() * 2);
+        for (Seats t : truth) {
+            seen.add(t.courseId());
+            entries.compute(t.courseId(), (id, cur) -> {
+                if (cur != null && (cur.stamp() > snapshotStamp || cur.seats().equals(t))) return cur;
+                repaired.incrementAndGet();
+                return stamped(t);
+            });
+        }
+        for (Long id : courseIds) {
+            if (seen.contains(id)) continue;
+            entries.computeIfPresent(id, (k, cur) -> {
+                if (cur.stamp() > snapshotStamp) return cur;
+                repaired.incrementAndGet();
+                return null;
+            });
+        }
+        return repaired.get();
+    }
+
+    private void adjust(Long courseId, int delta) {
+        // Unknown course (not loaded yet): nothing to adjust, reconciliation will pick it up.
+        afterCommit(() -> entries.computeIfPresent(courseId, (id, cur) -> stamped(new Seats(id,
+                cur.seats().departmentId(), cur.seats().capacity(), Math.max(0, cur.seats().enrolled() + delta)))));
+    }
+
+    private Entry stamped(Seats seats) {
+        return new Entry(seats, stamps.incrementAndGet());
+    }
+}
@@ -0,0 +1,69 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.dto.response.OpenSeatsReconcileResponse;
+import com.universityofengineers.sms.entity.EnrollmentStatus;
+import com.universityofengineers.sms.repository.CourseRepository;
+import com.universityofengineers.sms.util.ReadConsistency;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Loads {@link OpenSeatsIndex} at startup and repairs drift against the database on a schedule
+ * ({@code app.courses.open-seats.reconcile-cron}) or on demand.
+ */
+@Component
+@RequiredArgsConstructor
+public class OpenSeatsReconciler {
+
+    private final CourseRepository courseRepository;
+    private final OpenSeatsIndex openSeatsIndex;
+    private final TermService termService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        reconcile();
+    }
+
+    @Scheduled(cron = "${app.courses.open-seats.reconcile-cron:-}")
+    @Transactional(readOnly = true)
+    public OpenSeatsReconcileResponse reconcile() {
+        long stamp = openSeatsIndex.currentStamp();
+        // A lagging replica would "repair" entries back to an older state.
+        List<OpenSeatsIndex.Seats> truth = ReadConsistency.fromPrimary(() -> toSeats(
+                courseRepository.findSeatRows(EnrollmentStatus.ENROLLED, termService.currentTermId())));
+        int repaired = openSeatsIndex.reconcile(truth, stamp);
+        return OpenSeatsReconcileResponse.builder()
+                .timestamp(Instant.now())
+                .coursesChecked(truth.size())
+                .entriesRepaired(repaired)
+                .build();
+    }
+
+    /**
+     * Re-reads the seats of the given courses only (changed on another node).
+     */
+    @Transactional(readOnly = true)
+    public int refresh(Collection<Long> courseIds) {
+        if (courseIds.isEmpty()) return 0;
+        long stamp = openSeatsIndex.currentStamp();
+        List<OpenSeatsIndex.Seats> truth = ReadConsistency.fromPrimary(() -> toSeats(
+                courseRepository.findSeatRowsByIdIn(EnrollmentStatus.ENROLLED, termService.currentTermId(), courseIds)));
+        return openSeatsIndex.reconcile(truth, courseIds, stamp);
+    }
+
+    private static List<OpenSeatsIndex.Seats> toSeats(List<Object[]> rows) {
+        return rows.stream()
+                .map(r -> new OpenSeatsIndex.Seats((Long) r[0], (Long) r[1], ((Number) r[2]).intValue(),
+                        ((Number) r[3]).longValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,254 @@
+package com.universityofengineers.sms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universityofengineers.sms.config.OutboxProperties;
+import com.universityofengineers.sms.entity.OutboxEvent;
+import com.universityofengineers.sms.entity.OutboxLease;
+import com.universityofengineers.sms.entity.OutboxStatus;
+import com.universityofengineers.sms.event.DomainEvent;
+import com.universityofengineers.sms.repository.OutboxEventRepository;
+import com.universityofengineers.sms.repository.OutboxLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers outbox events to in-process {@code @EventListener}s in outbox id order.
+ *
+ * - One dispatcher in the cluster: a node delivers only while it holds the {@link OutboxLease}, renewed before
+ *   every batch and released on shutdown; the others take over once it expires ({@code lease-millis}).
+ *   Events written on other nodes reach the lease holder through its poll.
+ * - Single flight per node: one dispatch loop at a time, woken after every commit that wrote events, when a
+ *   retry becomes due, and by a safety-net poll ({@code app.outbox.poll-interval-millis}).
+ * - Ordering: ids are assigned at insert, not at commit, so an event whose transaction commits late is
+ *   delivered after higher ids that committed earlier. Events of one aggregate keep their order, because
+ *   concurrent writers of the same row conflict (optimistic locking) and the later writer's event is written
+ *   after the earlier one committed. Across aggregates there is no ordering guarantee.
+ * - Batching: events are read and marked published {@code batch-size} at a time.
+ * - Retries: a listener exception stops the batch (later events wait, preserving order) and schedules the
+ *   event again with exponential backoff; after {@code max-attempts} it is marked FAILED and skipped.
+ * - At-least-once: if marking a batch fails after delivery, those events are delivered again, so listeners
+ *   must be idempotent.
+ *
+ * Listeners run on the dispatcher thread without a transaction; they open their own if they need one.
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final Map<String, Class<? extends DomainEvent>> TYPES = Arrays.stream(DomainEvent.class.getPermittedSubclasses())
+            .collect(Collectors.toUnmodifiableMap(Class::getSimpleName, c -> c.asSubclass(DomainEvent.class)));
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxLeaseRepository outboxLeaseRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final OutboxProperties properties;
+    private final AsyncTaskExecutor executor;
+    private final TaskScheduler scheduler;
+    private final TransactionTemplate tx;
+
+    // Lease owner name of this node
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean wakeRequested = new AtomicBoolean();
+    // Earliest pending retry wake-up, so repeated rounds do not pile up timers for the same event
+    private final AtomicReference<Instant> retryWakeAt = new AtomicReference<>();
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            OutboxLeaseRepository outboxLeaseRepository,
+                            ObjectMapper objectMapper,
+                            ApplicationEventPublisher applicationEventPublisher,
+                            OutboxProperties properties,
+                            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor,
+                            TaskScheduler scheduler,
+                            PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxLeaseRepository = outboxLeaseRepository;
+        this.objectMapper = objectMapper;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.properties = properties;
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Asks for a dispatch round on the task executor; returns immediately.
+     */
+    public void wakeUp() {
+        if (running.get()) {
+            // The running loop checks this flag before it exits.
+            wakeRequested.set(true);
+            return;
+        }
+        executor.execute(this::dispatchPending);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-millis:1000}")
+    public void poll() {
+        dispatchPending();
+    }
+
+    /**
+     * Delivers everything that is due now.
+     *
+     * @return number of events published by this call (0 if another dispatch was already running)
+     */
+    public int dispatchPending() {
+        if (!running.compareAndSet(false, true)) {
+            wakeRequested.set(true);
+            return 0;
+        }
+        int published = 0;
+        Instant retryAt = null;
+        try {
+            do {
+                wakeRequested.set(false);
+                Round round;
+                do {
+                    round = dispatchBatch();
+                    published += round.published();
+                    retryAt = round.retryAt();
+                } while (round.more());
+            } while (wakeRequested.get());
+        } finally {
+            running.set(false);
+        }
+        if (retryAt != null) scheduleRetry(retryAt);
+        return published;
+    }
+
+    /**
+     * Hands the lease over right away instead of letting the other nodes wait for it to expire.
+     */
+    @PreDestroy
+    public void releaseLease() {
+        tx.executeWithoutResult(s -> outboxLeaseRepository.release(nodeId, Instant.now()));
+    }
+
+    /**
+     * Deletes published events past the retention period.
+     */
+    @Scheduled(cron = "${app.outbox.purge-cron:0 30 3 * * *}")
+    public int purgePublished() {
+        Instant before = Instant.now().minus(Duration.ofDays(properties.getRetentionDays()));
+        Integer deleted = tx.execute(s -> outboxEventRepository.deletePublishedBefore(OutboxStatus.PUBLISHED, before));
+        return deleted == null ? 0 : deleted;
+    }
+
+    /**
+     * @param retryAt when the blocked head of the queue becomes due, null if nothing is backing off
+     */
+    private record Round(int published, boolean more, Instant retryAt) {
+    }
+
+    private void scheduleRetry(Instant at) {
+        Instant current = retryWakeAt.get();
+        if (current != null && !current.isAfter(at)) return;
+        if (!retryWakeAt.compareAndSet(current, at)) return;
+        scheduler.schedule(() -> {
+            retryWakeAt.compareAndSet(at, null);
+            wakeUp();
+        }, at);
+    }
+
+    private Round dispatchBatch() {
+        if (!holdLease()) return new Round(0, false, null);
+        int batchSize = properties.getBatchSize();
+        List<OutboxEvent> batch = tx.execute(s -> outboxEventRepository.findBatch(OutboxStatus.PENDING, PageRequest.of(0, batchSize)));
+        if (batch == null || batch.isEmpty()) return new Round(0, false, null);
+
+        Instant now = Instant.now();
+        List<Long> delivered = new ArrayList<>(batch.size());
+        Instant retryAt = null;
+        for (OutboxEvent e : batch) {
+            // Head of the queue is backing off: everything behind it waits, otherwise order would break.
+            if (e.getNextAttemptAt().isAfter(now)) {
+                retryAt = e.getNextAttemptAt();
+                break;
+            }
+            try {
+                applicationEventPublisher.publishEvent(deserialize(e));
+                delivered.add(e.getId());
+            } catch (RuntimeException ex) {
+                retryAt = recordFailure(e.getId(), ex);
+                if (retryAt != null) break;
+            }
+        }
+        if (!delivered.isEmpty()) {
+            Instant publishedAt = Instant.now();
+            tx.executeWithoutResult(s -> outboxEventRepository.markPublished(delivered, OutboxStatus.PUBLISHED, OutboxStatus.PENDING, publishedAt));
+        }
+        return new Round(delivered.size(), retryAt == null && batch.size() == batchSize, retryAt);
+    }
+
+    private boolean holdLease() {
+        Instant now = Instant.now();
+        Instant until = now.plusMillis(properties.getLeaseMillis());
+        Integer renewed = tx.execute(s -> outboxLeaseRepository.acquire(nodeId, now, until));
+        if (renewed != null && renewed > 0) return true;
+        if (outboxLeaseRepository.existsById(OutboxLease.ID)) return false;
+        // First dispatch against an empty table (changeset 019 seeds the row; schemas built by Hibernate do not)
+        try {
+            tx.executeWithoutResult(s -> outboxLeaseRepository.save(
+                    OutboxLease.builder().id(OutboxLease.ID).owner(nodeId).leaseUntil(until).build()));
+            return true;
+        } catch (DataIntegrityViolationException ex) {
+            return false;
+        }
+    }
+
+    private DomainEvent deserialize(OutboxEvent e) {
+        Class<? extends DomainEvent> type = TYPES.get(e.getEventType());
+        if (type == null) throw new IllegalStateException("Unknown event type " + e.getEventType());
+        try {
+            return objectMapper.readValue(e.getPayload(), type);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Unreadable payload of outbox event " + e.getId(), ex);
+        }
+    }
+
+    /**
+     * @return when the event is due again, or null if it was given up on (FAILED) and delivery can move past it
+     */
+    private Instant recordFailure(Long id, RuntimeException ex) {
+        return tx.execute(s -> {
+            OutboxEvent e = outboxEventRepository.findById(id).orElse(null);
+            if (e == null) return null;
+            int attempts = e.getAttempts() + 1;
+            e.setAttempts(attempts);
+            e.setLastError(truncate(ex.getClass().getSimpleName() + ": " + ex.getMessage()));
+            if (attempts >= properties.getMaxAttempts()) {
+                e.setStatus(OutboxStatus.FAILED);
+                return null;
+            }
+            long backoff = Math.min(properties.getMaxBackoffMillis(),
+                    properties.getRetryBackoffMillis() << Math.min(attempts - 1, 20));
+            e.setNextAttemptAt(Instant.now().plusMillis(backoff));
+            return e.getNextAttemptAt();
+        });
+    }
+
+    private static String truncate(String s) {
+        return s.length() <= 500 ? s : s.substring(0, 500);
+    }
+}
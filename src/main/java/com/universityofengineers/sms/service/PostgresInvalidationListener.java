@@ -0,0 +1,155 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.config.CacheInvalidationProperties;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * Holds one dedicated connection to the primary (outside the pool, it never returns) that LISTENs on
+ * {@link CacheInvalidationBus#CHANNEL} and hands every notification to the bus.
+ *
+ * The first connection is opened during startup, before the caches load, so nothing committed after the
+ * load can be missed. If the connection breaks, it is reopened with exponential backoff and the bus is told
+ * to reload everything: notifications sent while nobody was listening are gone.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.cache-invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PostgresInvalidationListener implements SmartLifecycle {
+
+    // getNotifications blocks at most this long, so stop() is noticed quickly
+    private static final int POLL_MILLIS = 500;
+    // A silently dropped connection only shows up when used
+    private static final long VALIDATE_INTERVAL_MILLIS = 10_000;
+
+    private final CacheInvalidationBus bus;
+    private final CacheInvalidationProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+
+    private volatile boolean running;
+    private volatile Thread thread;
+    private Connection initial;
+
+    public PostgresInvalidationListener(CacheInvalidationBus bus, CacheInvalidationProperties properties,
+                                        DataSourceProperties dataSourceProperties) {
+        this.bus = bus;
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        try {
+            initial = listen();
+            bus.connected(false);
+        } catch (SQLException ex) {
+            // The loop keeps trying; the first successful connection then triggers a full reload.
+            bus.disconnected(ex);
+        }
+        thread = new Thread(this::run, "cache-invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread t = thread;
+        if (t == null) return;
+        t.interrupt();
+        try {
+            t.join(2 * POLL_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        Connection conn = initial;
+        initial = null;
+        int failures = 0;
+        while (running) {
+            try {
+                if (conn == null) {
+                    conn = listen();
+                    bus.connected(true);
+                }
+                failures = 0;
+                receive(conn);
+            } catch (SQLException ex) {
+                if (!running) break;
+                bus.disconnected(ex);
+                failures++;
+                sleep(Math.min(properties.getMaxReconnectBackoffMillis(),
+                        properties.getReconnectBackoffMillis() << Math.min(failures - 1, 20)));
+            } finally {
+                close(conn);
+                conn = null;
+            }
+        }
+    }
+
+    private void receive(Connection conn) throws SQLException {
+        PGConnection pg = conn.unwrap(PGConnection.class);
+        long validatedAt = System.currentTimeMillis();
+        while (running) {
+            PGNotification[] notifications = pg.getNotifications(POLL_MILLIS);
+            if (notifications != null) {
+                for (PGNotification n : notifications) bus.received(n.getParameter());
+            }
+            long now = System.currentTimeMillis();
+            if (now - validatedAt > VALIDATE_INTERVAL_MILLIS) {
+                if (!conn.isValid(5)) throw new SQLException("LISTEN connection is no longer valid.");
+                validatedAt = now;
+            }
+        }
+    }
+
+    private Connection listen() throws SQLException {
+        Properties props = new Properties();
+        if (dataSourceProperties.determineUsername() != null) props.setProperty("user", dataSourceProperties.determineUsername());
+        if (dataSourceProperties.determinePassword() != null) props.setProperty("password", dataSourceProperties.determinePassword());
+        props.setProperty("tcpKeepAlive", "true");
+        props.setProperty("ApplicationName", "sms-cache-invalidation");
+        Connection conn = DriverManager.getConnection(dataSourceProperties.determineUrl(), props);
+        try (Statement st = conn.createStatement()) {
+            st.execute("LISTEN " + CacheInvalidationBus.CHANNEL);
+        } catch (SQLException ex) {
+            close(conn);
+            throw ex;
+        }
+        return conn;
+    }
+
+    private static void close(Connection conn) {
+        if (conn == null) return;
+        try {
+            conn.close();
+        } catch (SQLException ignored) {
+            // Broken already; nothing to release
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
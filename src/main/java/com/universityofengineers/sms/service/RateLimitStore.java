@@ -0,0 +1,26 @@
+package com.universityofengineers.sms.service;
+
+/**
+ * Token buckets behind {@link RateLimiter}. Selected with
+ * {@code app.rate-limit.backend}.
+ *
+ * A bucket is stored as its "theoretical arrival time" (GCRA): the instant at which it would be full again.
+ * Taking a token moves it forward by one refill interval; a request is allowed while it stays within
+ * {@code capacity} intervals of now. A bucket whose time has passed is full and can be forgotten.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one token from the bucket.
+     *
+     * @return 0 when granted, otherwise the milliseconds until a token will be available
+     */
+    long tryAcquire(String key, int capacity, long refillIntervalMillis, long nowMillis);
+
+    /**
+     * Forgets full buckets.
+     *
+     * @return number of buckets removed
+     */
+    int purgeIdle(long nowMillis);
+}
@@ -0,0 +1,74 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.config.RateLimitProperties;
+import com.universityofengineers.sms.exception.TooManyRequestsException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Clock;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Token-bucket limits keyed by client IP and account (per route group, applied by
+ * {@link com.universityofengineers.sms.security.RateLimitFilter}) and by email (login attempts, applied by
+ * AuthService before the password is checked).
+ */
+@Service
+@RequiredArgsConstructor
+public class RateLimiter {
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    private final RateLimitProperties properties;
+    private final RateLimitStore store;
+    private final Clock clock = Clock.systemUTC();
+
+    /**
+     * Name of the first configured group matching the request, or null when it is not limited.
+     */
+    public String groupFor(String method, String path) {
+        if (!properties.isEnabled()) return null;
+        for (Map.Entry<String, RateLimitProperties.Group> e : properties.getGroups().entrySet()) {
+            RateLimitProperties.Group g = e.getValue();
+            boolean methodMatches = g.getMethods().isEmpty() || g.getMethods().stream().anyMatch(method::equalsIgnoreCase);
+            if (methodMatches && g.getPaths().stream().anyMatch(p -> PATHS.match(p, path))) {
+                return e.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param accountId null for anonymous requests
+     * @throws TooManyRequestsException when the IP or the account has no tokens left in this group
+     */
+    public void checkRequest(String group, String clientIp, Long accountId) {
+        RateLimitProperties.Group g = properties.getGroups().get(group);
+        take(group + ":ip:" + clientIp, g.getPerIp());
+        if (accountId != null) {
+            take(group + ":account:" + accountId, g.getPerAccount());
+        }
+    }
+
+    public void checkLoginEmail(String email) {
+        if (properties.isEnabled()) {
+            take("email:" + email.toLowerCase(Locale.ROOT), properties.getPerEmail());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.purge-interval-millis:60000}")
+    public void purgeIdle() {
+        store.purgeIdle(clock.millis());
+    }
+
+    private void take(String key, RateLimitProperties.Limit limit) {
+        if (limit == null) return;
+        long waitMillis = store.tryAcquire(key, limit.getCapacity(), limit.refillIntervalMillis(), clock.millis());
+        if (waitMillis > 0) {
+            throw new TooManyRequestsException("Too many requests, please retry later.", Math.max(1, (waitMillis + 999) / 1000));
+        }
+    }
+}
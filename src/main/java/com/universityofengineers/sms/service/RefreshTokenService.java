@@ -0,0 +1,167 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.config.RefreshTokenProperties;
+import com.universityofengineers.sms.entity.RefreshToken;
+import com.universityofengineers.sms.repository.RefreshTokenRepository;
+import com.universityofengineers.sms.security.TokenRevocationList;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Rotating refresh tokens. The value is 256 random bits, so a plain SHA-256 is enough to store it;
+ * refreshing costs one indexed lookup instead of a BCrypt verification.
+ *
+ * Each use marks the token used and issues the next one in the same family. A used token presented again
+ * was copied: the family is revoked, and so are the account's access tokens (the holder of the copy may
+ * already have a fresh one). Account cut-offs from {@link TokenRevocationList} (disable, password reset)
+ * also end every family started before them.
+ *
+ * Except within {@code reuse-grace} of its first use: browser tabs share one stored token and may refresh
+ * together, and a client may retry a refresh whose response it never received. The successor's value is an
+ * HMAC of its predecessor (keyed with the JWT secret, so every node derives the same one), which lets a
+ * repeated use be answered with the same successor instead of ending the session everywhere.
+ */
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    public record Issued(String value, Instant expiresAt) {
+    }
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository repository;
+    private final RefreshTokenProperties properties;
+    private final TokenRevocationList tokenRevocationList;
+
+    @Value("${app.security.jwt.secret}")
+    private String successorKey;
+
+    /**
+     * First token of a family, after a password login or registration.
+     */
+    @Transactional
+    public Issued startFamily(Long accountId) {
+        Instant now = Instant.now();
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String value = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        return issue(accountId, UUID.randomUUID().toString(), now, now, value);
+    }
+
+    /**
+     * Marks the presented token used. The caller checks the account and then calls {@link #rotate}. A token
+     * used again within {@code reuse-grace} is returned as well; {@link #rotate} then answers with its successor.
+     *
+     * @throws BadCredentialsException unknown, expired, revoked or reused token. The reuse response is
+     *                                 committed even though the exception propagates.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public RefreshToken consume(String value) {
+        Instant now = Instant.now();
+        RefreshToken t = repository.findByTokenHash(hash(value)).orElseThrow(RefreshTokenService::invalid);
+        if (t.getRevokedAt() != null || !t.getExpiresAt().isAfter(now)) {
+            throw invalid();
+        }
+        if (t.getUsedAt() != null || repository.markUsed(t.getId(), now) == 0) {
+            // No usedAt here: a concurrent use committed while markUsed waited for the row
+            Instant usedAt = t.getUsedAt() == null ? now : t.getUsedAt();
+            if (usedAt.isBefore(now.minus(properties.getReuseGrace()))) {
+                repository.revokeFamily(t.getFamilyId(), now);
+                tokenRevocationList.revokeAccount(t.getAccountId());
+                throw invalid();
+            }
+        }
+        if (tokenRevocationList.isSessionRevoked(t.getAccountId(), t.getAuthenticatedAt())) {
+            throw invalid();
+        }
+        return t;
+    }
+
+    /**
+     * The successor of a consumed token: issued on first use, the same one again on a use within the grace.
+     */
+    @Transactional
+    public Issued rotate(RefreshToken used, String usedValue) {
+        String value = successorOf(usedValue);
+        var existing = repository.findByTokenHash(hash(value));
+        if (existing.isPresent()) {
+            RefreshToken successor = existing.get();
+            if (successor.getRevokedAt() != null || !successor.getExpiresAt().isAfter(Instant.now())) {
+                throw invalid();
+            }
+            return new Issued(value, successor.getExpiresAt());
+        }
+        return issue(used.getAccountId(), used.getFamilyId(), used.getAuthenticatedAt(), Instant.now(), value);
+    }
+
+    /**
+     * Logout: ends the family of the presented token. Unknown tokens are ignored.
+     */
+    @Transactional
+    public void revokeFamily(String value) {
+        repository.findByTokenHash(hash(value))
+                .ifPresent(t -> repository.revokeFamily(t.getFamilyId(), Instant.now()));
+    }
+
+    @Scheduled(cron = "${app.security.refresh.purge-cron:0 50 3 * * *}")
+    @Transactional
+    public int purgeExpired() {
+        return repository.deleteExpired(Instant.now());
+    }
+
+    private Issued issue(Long accountId, String familyId, Instant authenticatedAt, Instant now, String value) {
+        Instant idleExpiry = now.plus(properties.getIdleTimeout());
+        Instant hardExpiry = authenticatedAt.plus(properties.getMaxLifetime());
+        Instant expiresAt = idleExpiry.isBefore(hardExpiry) ? idleExpiry : hardExpiry;
+
+        repository.save(RefreshToken.builder()
+                .accountId(accountId)
+                .tokenHash(hash(value))
+                .familyId(familyId)
+                .authenticatedAt(authenticatedAt)
+                .createdAt(now)
+                .expiresAt(expiresAt)
+                .build());
+        return new Issued(value, expiresAt);
+    }
+
+    private String successorOf(String value) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(successorKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hash(String value) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BadCredentialsException invalid() {
+        return new BadCredentialsException("Refresh token is invalid or expired.");
+    }
+}
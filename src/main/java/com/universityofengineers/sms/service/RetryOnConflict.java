@@ -0,0 +1,21 @@
+package com.universityofengineers.sms.service;
+
+import java.lang.annotation.*;
+
+/**
+ * Re-runs the annotated (transactional) method when it fails on an optimistic-lock conflict, after a short
+ * jittered pause. Each attempt runs in a fresh transaction, so it re-reads the current state.
+ *
+ * Only retried when called outside a transaction; inside one the stale persistence context would fail again.
+ * Conflicts are counted per method in {@link ConflictMetrics}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+
+    /**
+     * Total attempts including the first; 0 = {@code app.concurrency.retry.max-attempts}.
+     */
+    int maxAttempts() default 0;
+}
@@ -0,0 +1,259 @@
+package com.universityofengineers.sms.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universityofengineers.sms.config.SeatStreamProperties;
+import com.universityofengineers.sms.dto.response.SeatAvailabilityResponse;
+import com.universityofengineers.sms.event.EnrollmentStatusChanged;
+import com.universityofengineers.sms.exception.BadRequestException;
+import com.universityofengineers.sms.exception.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Pushes seat counts to open course pages instead of having every page poll GET /api/courses.
+ *
+ * The single change feed is the outbox: every {@link EnrollmentStatusChanged} from EnrollmentService marks
+ * its course dirty. Once per {@code app.courses.seat-stream.interval-millis} the dirty set is drained, each
+ * course's current count is read from {@link OpenSeatsIndex} and serialized once, and every stream receives
+ * one "seats" event with the courses it watches. A course that changed ten times in an interval is sent once.
+ *
+ * The scheduler only prepares payloads; the writes run on a small pool of its own. While a write to a stream is
+ * still in progress, newer counts for it are merged and sent next, so a slow client costs one send thread and
+ * never queues up work. The endpoint is public: open streams are capped per node and per client IP.
+ */
+@Component
+public class SeatAvailabilityBroadcaster {
+
+    private static final String EVENT = "seats";
+
+    private final OpenSeatsIndex openSeatsIndex;
+    private final ObjectMapper objectMapper;
+    private final SeatStreamProperties properties;
+    private final Executor sendExecutor;
+    // Set only when the pool is ours to shut down
+    private final ThreadPoolTaskExecutor ownedExecutor;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> streamsByClient = new HashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public SeatAvailabilityBroadcaster(OpenSeatsIndex openSeatsIndex, ObjectMapper objectMapper, SeatStreamProperties properties) {
+        this(openSeatsIndex, objectMapper, properties, sendPool(properties.getSendThreads()));
+    }
+
+    SeatAvailabilityBroadcaster(OpenSeatsIndex openSeatsIndex, ObjectMapper objectMapper, SeatStreamProperties properties,
+                                Executor sendExecutor) {
+        this.openSeatsIndex = openSeatsIndex;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.sendExecutor = sendExecutor;
+        this.ownedExecutor = sendExecutor instanceof ThreadPoolTaskExecutor pool ? pool : null;
+    }
+
+    private static ThreadPoolTaskExecutor sendPool(int threads) {
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(threads);
+        pool.setMaxPoolSize(threads);
+        pool.setThreadNamePrefix("seat-stream-");
+        pool.initialize();
+        return pool;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (ownedExecutor != null) ownedExecutor.shutdown();
+    }
+
+    /**
+     * Opens a stream for the given courses; the first event carries their current counts.
+     */
+    public SseEmitter subscribe(Collection<Long> courseIds, String clientIp) {
+        Set<Long> ids = new LinkedHashSet<>(courseIds);
+        if (ids.isEmpty()) {
+            throw new BadRequestException("At least one courseId is required.");
+        }
+        if (ids.size() > properties.getMaxCoursesPerStream()) {
+            throw new BadRequestException("At most " + properties.getMaxCoursesPerStream() + " courses per stream.");
+        }
+        reserve(clientIp);
+
+        SseEmitter emitter = new SseEmitter(properties.getTimeoutMillis());
+        Subscriber sub = new Subscriber(emitter, Set.copyOf(ids), clientIp);
+        emitter.onCompletion(() -> remove(sub));
+        emitter.onTimeout(() -> remove(sub));
+        emitter.onError(e -> remove(sub));
+
+        Map<Long, String> snapshot = new HashMap<>();
+        for (Long id : ids) {
+            String json = json(id);
+            if (json != null) snapshot.put(id, json);
+        }
+        // Registered before the snapshot is sent, so a change in between is delivered (at worst twice). The
+        // subscriber starts out "sending": changes offered meanwhile are merged and written after the snapshot.
+        subscribers.add(sub);
+        sub.pending.putAll(snapshot);
+        sub.drain();
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @EventListener
+    public void on(EnrollmentStatusChanged event) {
+        dirty.add(event.courseId());
+    }
+
+    /**
+     * Seat counts refreshed from changes of other nodes; pushed with the next flush.
+     */
+    public void seatsChanged(Collection<Long> courseIds) {
+        dirty.addAll(courseIds);
+    }
+
+    /**
+     * All counts may have changed (e.g. reloaded after a reconnect): every watched course is pushed again.
+     */
+    public void allSeatsChanged() {
+        subscribers.forEach(sub -> dirty.addAll(sub.courseIds));
+    }
+
+    @Scheduled(fixedDelayString = "${app.courses.seat-stream.interval-millis:1000}")
+    public void flush() {
+        if (dirty.isEmpty()) return;
+        Map<Long, String> changed = new HashMap<>();
+        for (Iterator<Long> it = dirty.iterator(); it.hasNext(); ) {
+            Long id = it.next();
+            it.remove();
+            String json = json(id);
+            if (json != null) changed.put(id, json);
+        }
+        if (changed.isEmpty() || subscribers.isEmpty()) return;
+        for (Subscriber sub : subscribers) {
+            sub.offer(changed, false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.courses.seat-stream.heartbeat-millis:20000}")
+    public void heartbeat() {
+        for (Subscriber sub : subscribers) {
+            sub.offer(Map.of(), true);
+        }
+    }
+
+    private void reserve(String clientIp) {
+        synchronized (streamsByClient) {
+            if (subscribers.size() >= properties.getMaxStreams()) {
+                throw new TooManyRequestsException("Too many open seat streams; try again later.", 30);
+            }
+            int open = streamsByClient.getOrDefault(clientIp, 0);
+            if (open >= properties.getMaxStreamsPerClient()) {
+                throw new TooManyRequestsException("At most " + properties.getMaxStreamsPerClient()
+                        + " seat streams per client.", 30);
+            }
+            streamsByClient.put(clientIp, open + 1);
+        }
+    }
+
+    private void remove(Subscriber sub) {
+        // Completion, timeout, error and a failed send may all report the same stream
+        if (!subscribers.remove(sub)) return;
+        synchronized (streamsByClient) {
+            streamsByClient.computeIfPresent(sub.clientIp, (ip, open) -> open > 1 ? open - 1 : null);
+        }
+    }
+
+    private String json(Long courseId) {
+        OpenSeatsIndex.Seats seats = openSeatsIndex.get(courseId);
+        if (seats == null) return null;
+        try {
+            return objectMapper.writeValueAsString(SeatAvailabilityResponse.builder()
+                    .courseId(seats.courseId())
+                    .capacity(seats.capacity())
+                    .currentlyEnrolled(seats.enrolled())
+                    .freeSeats(seats.free())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize seat availability", e);
+        }
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final Set<Long> courseIds;
+        final String clientIp;
+
+        // Guarded by this: latest unsent JSON per course, a pending keep-alive, and whether a send is under way
+        final Map<Long, String> pending = new HashMap<>();
+        boolean keepAlive;
+        boolean sending = true;
+
+        Subscriber(SseEmitter emitter, Set<Long> courseIds, String clientIp) {
+            this.emitter = emitter;
+            this.courseIds = courseIds;
+            this.clientIp = clientIp;
+        }
+
+        void offer(Map<Long, String> byCourse, boolean heartbeat) {
+            synchronized (this) {
+                for (Long id : courseIds) {
+                    String json = byCourse.get(id);
+                    if (json != null) pending.put(id, json);
+                }
+                keepAlive |= heartbeat;
+                if (sending || (pending.isEmpty() && !keepAlive)) return;
+                sending = true;
+            }
+            sendExecutor.execute(this::drain);
+        }
+
+        /** Writes until nothing is pending; only one thread at a time, so events keep their order. */
+        void drain() {
+            while (true) {
+                String payload;
+                boolean ping;
+                synchronized (this) {
+                    if (pending.isEmpty() && !keepAlive) {
+                        sending = false;
+                        return;
+                    }
+                    StringJoiner joined = new StringJoiner(",", "[", "]");
+                    for (Long id : courseIds) {
+                        String json = pending.get(id);
+                        if (json != null) joined.add(json);
+                    }
+                    payload = pending.isEmpty() ? null : joined.toString();
+                    ping = payload == null;
+                    pending.clear();
+                    keepAlive = false;
+                }
+                try {
+                    if (ping) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                    } else {
+                        // Already JSON: written as is
+                        emitter.send(SseEmitter.event().name(EVENT).data(payload));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Stays "sending": nothing more is queued for a dropped stream
+                    remove(this);
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.dto.response.CourseResponse;
+import com.universityofengineers.sms.dto.response.EnrollmentResponse;
+import com.universityofengineers.sms.dto.response.GpaResponse;
+import com.universityofengineers.sms.dto.response.StudentDashboardResponse;
+import com.universityofengineers.sms.dto.response.StudentResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Everything the student page needs in one round trip.
+ *
+ * The student is resolved once on the request thread; the enrollment and catalog reads are independent
+ * and run concurrently on the application task executor (virtual threads when enabled).
+ * This method is deliberately NOT transactional: each read opens its own short read-only transaction,
+ * so the request thread never holds a connection while waiting for the workers.
+ */
+@Service
+@RequiredArgsConstructor
+public class StudentDashboardService {
+
+    private final StudentService studentService;
+    private final EnrollmentService enrollmentService;
+    private final CourseService courseService;
+    private final GpaService gpaService;
+
+    @Qualifier("applicationTaskExecutor")
+    private final AsyncTaskExecutor taskExecutor;
+
+    public StudentDashboardResponse myDashboard() {
+        StudentResponse profile = studentService.me();
+
+        CompletableFuture<List<EnrollmentResponse>> enrollments = CompletableFuture.supplyAsync(
+                () -> enrollmentService.enrollmentsOfStudent(profile.getId()), taskExecutor);
+        CompletableFuture<List<CourseResponse>> courses = CompletableFuture.supplyAsync(
+                () -> courseService.listByDepartment(profile.getDepartment().getId()), taskExecutor);
+
+        // Primary-key lookup on the aggregate table; cheap enough to run here while the workers proceed.
+        GpaResponse gpa = gpaService.summary(profile.getId());
+
+        return StudentDashboardResponse.builder()
+                .profile(profile)
+                .enrollments(join(enrollments))
+                .courses(join(courses))
+                .gpa(gpa.getGpa())
+                .completedCredits(gpa.getCompletedCredits())
+                .build();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            // Surface the original service exception so GlobalExceptionHandler maps it as usual.
+            if (ex.getCause() instanceof RuntimeException re) throw re;
+            throw ex;
+        }
+    }
+}
@@ -1,29 +1,52 @@
 package com.universityofengineers.sms.service;
 
 import com.universityofengineers.sms.dto.request.PasswordResetRequest;
+import com.universityofengineers.sms.dto.request.StudentBulkStatusRequest;
 import com.universityofengineers.sms.dto.request.StudentRegistrationRequest;
 import com.universityofengineers.sms.dto.request.StudentStatusUpdateRequest;
 import com.universityofengineers.sms.dto.request.StudentUpdateMeRequest;
 import com.universityofengineers.sms.dto.request.StudentUpdateRequest;
 import com.universityofengineers.sms.dto.response.DepartmentResponse;
+import com.universityofengineers.sms.dto.response.PagedResponse;
+import com.universityofengineers.sms.dto.response.StudentBulkStatusResponse;
 import com.universityofengineers.sms.dto.response.StudentResponse;
+import com.universityofengineers.sms.dto.response.StudentSummaryResponse;
+import com.universityofengineers.sms.entity.EnrollmentStatus;
 import com.universityofengineers.sms.entity.Role;
 import com.universityofengineers.sms.entity.Student;
 import com.universityofengineers.sms.entity.StudentStatus;
 import com.universityofengineers.sms.entity.UserAccount;
+import com.universityofengineers.sms.event.StudentStatusBatchChanged;
+import com.universityofengineers.sms.event.StudentStatusChanged;
 import com.universityofengineers.sms.exception.BadRequestException;
 import com.universityofengineers.sms.exception.ResourceNotFoundException;
+import com.universityofengineers.sms.repository.CourseOfferingRepository;
 import com.universityofengineers.sms.repository.DepartmentRepository;
+import com.universityofengineers.sms.repository.EnrollmentRepository;
+import com.universityofengineers.sms.repository.StudentAcademicRecordRepository;
+import com.universityofengineers.sms.repository.StudentDirectorySearch;
 import com.universityofengineers.sms.repository.StudentRepository;
+import com.universityofengineers.sms.repository.StudentStatusAuditRepository;
 import com.universityofengineers.sms.repository.UserAccountRepository;
+import com.universityofengineers.sms.security.TokenRevocationList;
 import com.universityofengineers.sms.util.CodeGenerator;
+import com.universityofengineers.sms.util.ETags;
 import com.universityofengineers.sms.util.SecurityUtils;
+import com.universityofengineers.sms.util.Versions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -33,6 +56,15 @@ public class StudentService {
     private final UserAccountRepository userAccountRepository;
     private final DepartmentRepository departmentRepository;
     private final PasswordEncoder passwordEncoder;
+    private final StudentDirectorySearch studentDirectorySearch;
+    private final EnrollmentRepository enrollmentRepository;
+    private final CourseOfferingRepository courseOfferingRepository;
+    private final StudentAcademicRecordRepository studentAcademicRecordRepository;
+    private final OpenSeatsIndex openSeatsIndex;
+    private final StudentStatusAuditRepository studentStatusAuditRepository;
+    private final DomainEventPublisher domainEventPublisher;
+    private final TokenRevocationList tokenRevocationList;
+    private final CurrentProfile currentProfile;
 
     @Transactional
     public StudentResponse createByTeacher(StudentRegistrationRequest req) {
@@ -77,6 +109,41 @@ public class StudentService {
         return studentRepository.findAll().stream().map(this::toResponse).toList();
     }
 
+    @Transactional(readOnly = true)
+    public List<StudentSummaryResponse> listSummaries() {
+        return studentRepository.findAllSummaries();
+    }
+
+    /**
+     * Directory search on name, student number and email, best matches first.
+     * Fetches one extra id to report {@code hasNext} without a count query.
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<StudentResponse> search(String q, int page, int size) {
+        String query = q == null ? "" : q.trim();
+        if (query.length() < 2) throw new BadRequestException("Search query must be at least 2 characters.");
+        if (page < 0) throw new BadRequestException("Page must not be negative.");
+        if (size < 1 || size > 100) throw new BadRequestException("Size must be between 1 and 100.");
+
+        List<Long> ids = studentDirectorySearch.searchIds(query, page * size, size + 1);
+        boolean hasNext = ids.size() > size;
+        if (hasNext) ids = ids.subList(0, size);
+
+        Map<Long, Student> byId = studentRepository.findAllWithDepartmentAndAccountByIdIn(ids).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        List<StudentResponse> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Student s = byId.get(id);
+            if (s != null) content.add(toResponse(s));
+        }
+        return PagedResponse.<StudentResponse>builder()
+                .content(content)
+                .page(page)
+                .size(size)
+                .hasNext(hasNext)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public StudentResponse get(Long id) {
         return toResponse(studentRepository.findById(id)
@@ -87,11 +154,16 @@ public class StudentService {
     public StudentResponse update(Long id, StudentUpdateRequest req) {
         Student s = studentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found."));
+        Versions.requireCurrent(req.getVersion(), s.getVersion(), "student");
 
         var dept = departmentRepository.findById(req.getDepartmentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found."));
 
         s.setFullName(req.getFullName().trim());
+        if (!dept.getId().equals(s.getDepartment().getId())) {
+            // The student's access tokens carry the old department id; their next refresh picks up the new one.
+            tokenRevocationList.expireAccessTokens(s.getAccount().getId());
+        }
         s.setDepartment(dept);
 
         // Optional fields
@@ -99,15 +171,68 @@ public class StudentService {
         s.setAddress(req.getAddress() == null ? null : req.getAddress().trim());
         s.setDateOfBirth(req.getDateOfBirth());
 
-        return toResponse(studentRepository.save(s));
+        // Flushed, so the response carries the new version
+        return toResponse(studentRepository.saveAndFlush(s));
     }
 
     @Transactional
     public StudentResponse updateStatus(Long studentId, StudentStatusUpdateRequest req) {
         Student s = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found."));
+        Versions.requireCurrent(req.getVersion(), s.getVersion(), "student");
+        StudentStatus from = s.getStatus();
         s.setStatus(req.getStatus());
-        return toResponse(studentRepository.save(s));
+        Student saved = studentRepository.saveAndFlush(s);
+        if (from != saved.getStatus()) {
+            domainEventPublisher.publish(new StudentStatusChanged(saved.getId(), from, saved.getStatus()));
+        }
+        return toResponse(saved);
+    }
+
+    /**
+     * Moves every student matching the filter to the target status with one UPDATE, after writing the
+     * matching audit rows with one INSERT ... SELECT. Students already in the target status are not touched.
+     * The cohort is row-locked first and the UPDATE is driven by the audit rows, so the audit, the update
+     * and the counts in the response always describe the same students.
+     */
+    @Transactional
+    public StudentBulkStatusResponse bulkUpdateStatus(StudentBulkStatusRequest req) {
+        boolean anyId = req.getIds() == null || req.getIds().isEmpty();
+        if (req.getDepartmentId() == null && req.getCurrentStatus() == null && req.getStudentNoFrom() == null
+                && req.getStudentNoTo() == null && anyId) {
+            throw new BadRequestException("At least one filter is required (department, status, student number range or ids).");
+        }
+        String from = trimToNull(req.getStudentNoFrom());
+        String to = trimToNull(req.getStudentNoTo());
+        // An empty IN list is not portable; the placeholder is ignored when anyId is true.
+        List<Long> ids = anyId ? List.of(-1L) : req.getIds();
+
+        String batchId = UUID.randomUUID().toString();
+        // Truncated so the value written by both statements is identical on every database.
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        studentRepository.lockCohort(req.getStatus(), req.getDepartmentId(), req.getCurrentStatus(), from, to, anyId, ids);
+        studentStatusAuditRepository.insertBatchForCohort(batchId, req.getStatus(), SecurityUtils.currentAccountId(), now,
+                req.getDepartmentId(), req.getCurrentStatus(), from, to, anyId, ids);
+        int updated = studentRepository.bulkUpdateStatus(batchId, req.getStatus(), now);
+
+        Map<StudentStatus, Long> byPrevious = new EnumMap<>(StudentStatus.class);
+        for (Object[] row : studentStatusAuditRepository.countByOldStatus(batchId)) {
+            byPrevious.put((StudentStatus) row[0], (Long) row[1]);
+        }
+        if (updated > 0) {
+            domainEventPublisher.publish(new StudentStatusBatchChanged(batchId, req.getStatus(), updated));
+        }
+        return StudentBulkStatusResponse.builder()
+                .timestamp(now)
+                .batchId(batchId)
+                .status(req.getStatus())
+                .updated(updated)
+                .updatedByPreviousStatus(byPrevious)
+                .build();
+    }
+
+    private static String trimToNull(String s) {
+        return s == null || s.isBlank() ? null : s.trim();
     }
 
     /**
@@ -115,6 +240,7 @@ public class StudentService {
      * - disable login
      * - mark DROPPED if active
      */
+    @RetryOnConflict
     @Transactional
     public void disableStudent(Long studentId) {
         Student s = studentRepository.findById(studentId)
@@ -122,13 +248,36 @@ public class StudentService {
         UserAccount account = s.getAccount();
         account.setEnabled(false);
         userAccountRepository.save(account);
+        tokenRevocationList.revokeAccount(account.getId());
 
         if (s.getStatus() == StudentStatus.ACTIVE) {
             s.setStatus(StudentStatus.DROPPED);
             studentRepository.save(s);
+            domainEventPublisher.publish(new StudentStatusChanged(s.getId(), StudentStatus.ACTIVE, StudentStatus.DROPPED));
         }
     }
 
+    /**
+     * Hard delete of a student with enrollments, GPA aggregate and login account.
+     * Every step is a single set-based DELETE, so the cost does not grow with the number of enrollments.
+     */
+    @Transactional
+    public void purge(Long studentId) {
+        Student s = studentRepository.findById(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found."));
+        Long accountId = s.getAccount().getId();
+
+        List<Long> heldSeats = enrollmentRepository.findCourseIdsByStudentIdAndStatus(studentId, EnrollmentStatus.ENROLLED);
+        courseOfferingRepository.releaseSeatsOfStudent(studentId, EnrollmentStatus.ENROLLED);
+        enrollmentRepository.bulkDeleteByStudentId(studentId);
+        studentAcademicRecordRepository.bulkDeleteByStudentId(studentId);
+        studentRepository.bulkDeleteById(studentId);
+        userAccountRepository.bulkDeleteById(accountId);
+        tokenRevocationList.revokeAccount(accountId);
+        heldSeats.forEach(openSeatsIndex::seatReleased);
+    }
+
+    @RetryOnConflict
     @Transactional
     public void resetStudentPassword(Long studentId, PasswordResetRequest req) {
         Student s = studentRepository.findById(studentId)
@@ -137,12 +286,21 @@ public class StudentService {
         if (!account.isEnabled()) throw new BadRequestException("Account is disabled.");
         account.setPasswordHash(passwordEncoder.encode(req.getNewPassword()));
         userAccountRepository.save(account);
+        // Whoever holds a token from before the reset is logged out.
+        tokenRevocationList.revokeAccount(account.getId());
     }
 
     public Student getCurrentStudentEntity() {
-        Long accountId = SecurityUtils.currentAccountId();
-        return studentRepository.findByAccountId(accountId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student profile not found."));
+        return currentProfile.student();
+    }
+
+    /**
+     * ETag of {@link #me()}; null if the caller has no student profile.
+     */
+    @Transactional(readOnly = true)
+    public String meETag() {
+        List<Object[]> rows = studentRepository.findProfileVersionByAccountId(SecurityUtils.currentAccountId());
+        return rows.isEmpty() ? null : ETags.of(rows.get(0));
     }
 
     @Transactional(readOnly = true)
@@ -150,6 +308,7 @@ public class StudentService {
         return toResponse(getCurrentStudentEntity());
     }
 
+    @RetryOnConflict
     @Transactional
     public StudentResponse updateMe(StudentUpdateMeRequest req) {
         Student s = getCurrentStudentEntity();
@@ -167,6 +326,7 @@ public class StudentService {
 
         return StudentResponse.builder()
                 .id(s.getId())
+                .version(s.getVersion())
                 .studentNo(s.getStudentNo())
                 .fullName(s.getFullName())
                 .email(s.getAccount().getEmail())
@@ -6,6 +6,7 @@ import com.universityofengineers.sms.dto.request.TeacherUpdateRequest;
 import com.universityofengineers.sms.dto.request.TeacherUpdateMeRequest;
 import com.universityofengineers.sms.dto.response.DepartmentResponse;
 import com.universityofengineers.sms.dto.response.TeacherResponse;
+import com.universityofengineers.sms.entity.Department;
 import com.universityofengineers.sms.entity.Role;
 import com.universityofengineers.sms.entity.Teacher;
 import com.universityofengineers.sms.entity.UserAccount;
@@ -14,8 +15,11 @@ import com.universityofengineers.sms.exception.ResourceNotFoundException;
 import com.universityofengineers.sms.repository.DepartmentRepository;
 import com.universityofengineers.sms.repository.TeacherRepository;
 import com.universityofengineers.sms.repository.UserAccountRepository;
+import com.universityofengineers.sms.security.TokenRevocationList;
 import com.universityofengineers.sms.util.CodeGenerator;
+import com.universityofengineers.sms.util.ETags;
 import com.universityofengineers.sms.util.SecurityUtils;
+import com.universityofengineers.sms.util.Versions;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -31,6 +35,9 @@ public class TeacherService {
     private final UserAccountRepository userAccountRepository;
     private final DepartmentRepository departmentRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CourseSearchIndex courseSearchIndex;
+    private final TokenRevocationList tokenRevocationList;
+    private final CurrentProfile currentProfile;
 
     @Transactional(readOnly = true)
     public List<TeacherResponse> list() {
@@ -43,10 +50,21 @@ public class TeacherService {
                 .orElseThrow(() -> new ResourceNotFoundException("Teacher not found.")));
     }
 
+    /**
+     * ETag of {@link #me()}; null if the caller has no teacher profile.
+     */
+    @Transactional(readOnly = true)
+    public String meETag() {
+        List<Object[]> rows = teacherRepository.findProfileVersionByAccountId(SecurityUtils.currentAccountId());
+        return rows.isEmpty() ? null : ETags.of(rows.get(0));
+    }
+
     public Teacher getCurrentTeacherEntity() {
-        Long accountId = SecurityUtils.currentAccountId();
-        return teacherRepository.findByAccountId(accountId)
-                .orElseThrow(() -> new ResourceNotFoundException("Teacher profile not found."));
+        return currentProfile.teacher();
+    }
+
+    public Long getCurrentTeacherId() {
+        return currentProfile.teacherId();
     }
 
     @Transactional(readOnly = true)
@@ -95,6 +113,7 @@ public class TeacherService {
     public TeacherResponse update(Long id, TeacherUpdateRequest req) {
         Teacher t = teacherRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Teacher not found."));
+        Versions.requireCurrent(req.getVersion(), t.getVersion(), "teacher");
 
         var dept = departmentRepository.findById(req.getDepartmentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found."));
@@ -102,26 +121,31 @@ public class TeacherService {
         t.setFullName(req.getFullName().trim());
         t.setTitle(req.getTitle());
         t.setHireDate(req.getHireDate());
-        t.setDepartment(dept);
+        changeDepartment(t, dept);
 
-        return toResponse(teacherRepository.save(t));
+        // Flushed, so the response carries the new version
+        Teacher saved = teacherRepository.saveAndFlush(t);
+        courseSearchIndex.teacherRenamed(saved.getId(), saved.getFullName());
+        return toResponse(saved);
     }
 
     // ✅ NEW: teacher self update (practical)
     @Transactional
     public TeacherResponse updateMe(TeacherUpdateMeRequest req) {
         Teacher t = getCurrentTeacherEntity();
+        Versions.requireCurrent(req.getVersion(), t.getVersion(), "profile");
         if (req.getHireDate() != null) t.setHireDate(req.getHireDate());
         if (req.getTitle() != null) t.setTitle(req.getTitle());
         if (req.getDepartmentId() != null) {
             var dept = departmentRepository.findById(req.getDepartmentId())
                     .orElseThrow(() -> new ResourceNotFoundException("Department not found."));
-            t.setDepartment(dept);
+            changeDepartment(t, dept);
         }
-        return toResponse(teacherRepository.save(t));
+        return toResponse(teacherRepository.saveAndFlush(t));
     }
 
     // ✅ NEW: enable/disable without deleting
+    @RetryOnConflict
     @Transactional
     public void setEnabled(Long teacherId, boolean enabled) {
         Teacher t = teacherRepository.findById(teacherId)
@@ -129,6 +153,9 @@ public class TeacherService {
         UserAccount account = t.getAccount();
         account.setEnabled(enabled);
         userAccountRepository.save(account);
+        if (!enabled) {
+            tokenRevocationList.revokeAccount(account.getId());
+        }
     }
 
     @Transactional
@@ -137,6 +164,7 @@ public class TeacherService {
     }
 
     // ✅ NEW: reset password
+    @RetryOnConflict
     @Transactional
     public void resetTeacherPassword(Long teacherId, PasswordResetRequest req) {
         Teacher t = teacherRepository.findById(teacherId)
@@ -145,6 +173,15 @@ public class TeacherService {
         if (!account.isEnabled()) throw new BadRequestException("Account is disabled.");
         account.setPasswordHash(passwordEncoder.encode(req.getNewPassword()));
         userAccountRepository.save(account);
+        tokenRevocationList.revokeAccount(account.getId());
+    }
+
+    private void changeDepartment(Teacher t, Department dept) {
+        if (!dept.getId().equals(t.getDepartment().getId())) {
+            // Access tokens carry the department id; the teacher's next refresh picks up the new one.
+            tokenRevocationList.expireAccessTokens(t.getAccount().getId());
+        }
+        t.setDepartment(dept);
     }
 
     private TeacherResponse toResponse(Teacher t) {
@@ -156,6 +193,7 @@ public class TeacherService {
 
         return TeacherResponse.builder()
                 .id(t.getId())
+                .version(t.getVersion())
                 .employeeNo(t.getEmployeeNo())
                 .fullName(t.getFullName())
                 .email(t.getAccount().getEmail())
@@ -0,0 +1,206 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.dto.request.CourseOfferingRequest;
+import com.universityofengineers.sms.dto.request.TermCreateRequest;
+import com.universityofengineers.sms.dto.response.CourseOfferingResponse;
+import com.universityofengineers.sms.dto.response.TermResponse;
+import com.universityofengineers.sms.entity.Course;
+import com.universityofengineers.sms.entity.CourseOffering;
+import com.universityofengineers.sms.entity.Term;
+import com.universityofengineers.sms.entity.TermStatus;
+import com.universityofengineers.sms.exception.BadRequestException;
+import com.universityofengineers.sms.exception.ForbiddenException;
+import com.universityofengineers.sms.exception.ResourceNotFoundException;
+import com.universityofengineers.sms.repository.CourseOfferingRepository;
+import com.universityofengineers.sms.repository.CourseRepository;
+import com.universityofengineers.sms.repository.EnrollmentPartitions;
+import com.universityofengineers.sms.repository.TermRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.universityofengineers.sms.util.TransactionHooks.afterCommit;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TermService {
+
+    private final TermRepository termRepository;
+    private final CourseOfferingRepository courseOfferingRepository;
+    private final CourseRepository courseRepository;
+    private final EnrollmentPartitions enrollmentPartitions;
+    private final CurrentProfile currentProfile;
+
+    @Qualifier("applicationTaskExecutor")
+    private final AsyncTaskExecutor taskExecutor;
+
+    @Transactional(readOnly = true)
+    public List<TermResponse> list() {
+        return termRepository.findAllByOrderByStartsOnDesc().stream().map(this::toResponse).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public TermResponse current() {
+        return toResponse(termRepository.findFirstByStatus(TermStatus.ACTIVE)
+                .orElseThrow(() -> new ResourceNotFoundException("No active term.")));
+    }
+
+    /**
+     * Active term, or null when none is open (then nothing is enrollable and seat counts are zero).
+     */
+    @Transactional(readOnly = true)
+    public Term currentTermOrNull() {
+        return termRepository.findFirstByStatus(TermStatus.ACTIVE).orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public Long currentTermId() {
+        Term t = currentTermOrNull();
+        return t == null ? null : t.getId();
+    }
+
+    @Transactional
+    public TermResponse create(TermCreateRequest req) {
+        String code = req.getCode().trim().toUpperCase();
+        if (termRepository.existsByCode(code)) {
+            throw new BadRequestException("Term code already exists.");
+        }
+        if (!req.getEndsOn().isAfter(req.getStartsOn())) {
+            throw new BadRequestException("Term must end after it starts.");
+        }
+
+        Term saved = termRepository.save(Term.builder()
+                .code(code)
+                .name(req.getName().trim())
+                .startsOn(req.getStartsOn())
+                .endsOn(req.getEndsOn())
+                .status(TermStatus.PLANNED)
+                .build());
+        enrollmentPartitions.createForTerm(saved.getId());
+        return toResponse(saved);
+    }
+
+    /**
+     * Opens a planned term for enrollment. The previously active term (if any) is closed in the same transaction.
+     */
+    @Transactional
+    public TermResponse activate(Long id) {
+        Term t = termRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Term not found."));
+        if (t.getStatus() != TermStatus.PLANNED) {
+            throw new BadRequestException("Only a PLANNED term can be activated.");
+        }
+        termRepository.findFirstByStatus(TermStatus.ACTIVE).ifPresent(this::closeTerm);
+        // Flush the close first: at most one ACTIVE term is enforced by a partial unique index on PostgreSQL.
+        termRepository.flush();
+        t.setStatus(TermStatus.ACTIVE);
+        return toResponse(termRepository.save(t));
+    }
+
+    @Transactional
+    public TermResponse close(Long id) {
+        Term t = termRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Term not found."));
+        if (t.getStatus() == TermStatus.CLOSED) {
+            throw new BadRequestException("Term is already closed.");
+        }
+        closeTerm(t);
+        return toResponse(t);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CourseOfferingResponse> offerings(Long termId) {
+        if (!termRepository.existsById(termId)) throw new ResourceNotFoundException("Term not found.");
+        return courseOfferingRepository.findAllWithCourseByTermId(termId).stream().map(this::toResponse).toList();
+    }
+
+    @Transactional
+    public CourseOfferingResponse offer(Long termId, CourseOfferingRequest req) {
+        Term t = termRepository.findById(termId).orElseThrow(() -> new ResourceNotFoundException("Term not found."));
+        if (t.getStatus() == TermStatus.CLOSED) {
+            throw new BadRequestException("Cannot change offerings of a closed term.");
+        }
+        Course c = courseRepository.findById(req.getCourseId())
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found."));
+        requireOwnDepartment(c);
+        if (courseOfferingRepository.existsByCourseIdAndTermId(c.getId(), t.getId())) {
+            throw new BadRequestException("Course is already offered in this term.");
+        }
+        return toResponse(courseOfferingRepository.save(CourseOffering.builder().course(c).term(t).build()));
+    }
+
+    /**
+     * Offers a course in the active term, if there is one. Used when a course is created so it is
+     * enrollable right away.
+     */
+    @Transactional
+    public void offerInCurrentTerm(Course c) {
+        Term t = currentTermOrNull();
+        if (t != null && !courseOfferingRepository.existsByCourseIdAndTermId(c.getId(), t.getId())) {
+            courseOfferingRepository.save(CourseOffering.builder().course(c).term(t).build());
+        }
+    }
+
+    @Transactional
+    public void withdraw(Long termId, Long courseId) {
+        CourseOffering o = courseOfferingRepository.findByCourseIdAndTermId(courseId, termId)
+                .orElseThrow(() -> new ResourceNotFoundException("Offering not found."));
+        if (o.getTerm().getStatus() == TermStatus.CLOSED) {
+            throw new BadRequestException("Cannot change offerings of a closed term.");
+        }
+        requireOwnDepartment(o.getCourse());
+        courseOfferingRepository.delete(o);
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isOffered(Long courseId, Long termId) {
+        return courseOfferingRepository.existsByCourseIdAndTermId(courseId, termId);
+    }
+
+    private void closeTerm(Term t) {
+        t.setStatus(TermStatus.CLOSED);
+        termRepository.save(t);
+        // Storage tuning only: off the request, once the close is committed. A failure leaves the term closed as-is.
+        Long termId = t.getId();
+        afterCommit(() -> taskExecutor.execute(() -> {
+            try {
+                enrollmentPartitions.optimizeClosedTerm(termId);
+            } catch (RuntimeException ex) {
+                log.warn("Could not optimize the enrollments partition of closed term {}", termId, ex);
+            }
+        }));
+    }
+
+    private void requireOwnDepartment(Course c) {
+        // Same rule as course management: teachers manage offerings only in their own department.
+        if (!currentProfile.departmentId().equals(c.getDepartment().getId())) {
+            throw new ForbiddenException("You can only manage offerings of courses in your own department.");
+        }
+    }
+
+    private TermResponse toResponse(Term t) {
+        return TermResponse.builder()
+                .id(t.getId())
+                .code(t.getCode())
+                .name(t.getName())
+                .startsOn(t.getStartsOn())
+                .endsOn(t.getEndsOn())
+                .status(t.getStatus())
+                .build();
+    }
+
+    private CourseOfferingResponse toResponse(CourseOffering o) {
+        return CourseOfferingResponse.builder()
+                .id(o.getId())
+                .termId(o.getTerm().getId())
+                .termCode(o.getTerm().getCode())
+                .courseId(o.getCourse().getId())
+                .courseCode(o.getCourse().getCode())
+                .courseTitle(o.getCourse().getTitle())
+                .build();
+    }
+}
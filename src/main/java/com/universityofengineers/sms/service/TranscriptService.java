@@ -0,0 +1,255 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.dto.response.*;
+import com.universityofengineers.sms.entity.Enrollment;
+import com.universityofengineers.sms.entity.EnrollmentStatus;
+import com.universityofengineers.sms.entity.Student;
+import com.universityofengineers.sms.entity.StudentStatus;
+import com.universityofengineers.sms.exception.ResourceNotFoundException;
+import com.universityofengineers.sms.repository.EnrollmentRepository;
+import com.universityofengineers.sms.repository.StudentRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Official transcripts built from Enrollment + Course + Department.
+ *
+ * Single transcripts are one fetch-joined query. Bulk (cohort) transcripts are written as a streamed ZIP:
+ * student ids are split into chunks, each chunk is loaded and rendered in its own read-only transaction, and
+ * at most {@code parallelism} chunks are in flight at any time, so memory is bounded by chunkSize * parallelism
+ * documents regardless of cohort size.
+ *
+ * The ZIP writer itself runs on the MVC async executor (StreamingResponseBody) and waits for its chunks, so
+ * chunks render on a pool of their own: were they queued behind writers on the same pool, a few concurrent
+ * exports could occupy every thread with waiting writers.
+ */
+@Service
+public class TranscriptService {
+
+    private final StudentRepository studentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final GpaService gpaService;
+    private final ThreadPoolTaskExecutor chunkExecutor;
+    private final TransactionTemplate readOnlyTx;
+    private final CurrentProfile currentProfile;
+
+    @Value("${app.transcripts.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${app.transcripts.parallelism:4}")
+    private int parallelism;
+
+    public TranscriptService(StudentRepository studentRepository,
+                             EnrollmentRepository enrollmentRepository,
+                             GpaService gpaService,
+                             PlatformTransactionManager transactionManager,
+                             CurrentProfile currentProfile,
+                             @Value("${app.transcripts.threads:4}") int threads) {
+        this.studentRepository = studentRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.gpaService = gpaService;
+        this.chunkExecutor = new ThreadPoolTaskExecutor();
+        this.chunkExecutor.setCorePoolSize(threads);
+        this.chunkExecutor.setMaxPoolSize(threads);
+        this.chunkExecutor.setThreadNamePrefix("transcript-");
+        this.chunkExecutor.initialize();
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.currentProfile = currentProfile;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        chunkExecutor.shutdown();
+    }
+
+    @Transactional(readOnly = true)
+    public TranscriptResponse forStudent(Long studentId) {
+        List<TranscriptResponse> built = buildChunk(List.of(studentId));
+        if (built.isEmpty()) throw new ResourceNotFoundException("Student not found.");
+        return built.get(0);
+    }
+
+    @Transactional(readOnly = true)
+    public TranscriptResponse mine() {
+        return forStudent(currentProfile.studentId());
+    }
+
+    /**
+     * Cohort ids are resolved up front (cheap) so filter errors surface before the response is committed.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> cohort(Long departmentId, StudentStatus status) {
+        return studentRepository.findCohortIds(departmentId, status);
+    }
+
+    /**
+     * Writes one text document per student into a ZIP on {@code out}, in cohort order.
+     */
+    public void writeCohortZip(List<Long> studentIds, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        Deque<CompletableFuture<List<TranscriptResponse>>> inFlight = new ArrayDeque<>();
+
+        for (int from = 0; from < studentIds.size(); from += chunkSize) {
+            List<Long> chunk = studentIds.subList(from, Math.min(from + chunkSize, studentIds.size()));
+            inFlight.addLast(CompletableFuture.supplyAsync(
+                    () -> readOnlyTx.execute(tx -> buildChunk(chunk)), chunkExecutor));
+            if (inFlight.size() >= parallelism) {
+                writeEntries(zip, join(inFlight.pollFirst()));
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            writeEntries(zip, join(inFlight.pollFirst()));
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    private List<TranscriptResponse> buildChunk(List<Long> studentIds) {
+        Map<Long, List<Enrollment>> rowsByStudent = new HashMap<>();
+        for (Enrollment e : enrollmentRepository.findTranscriptRows(studentIds, EnrollmentStatus.DROPPED)) {
+            rowsByStudent.computeIfAbsent(e.getStudent().getId(), k -> new ArrayList<>()).add(e);
+        }
+
+        Map<Long, Student> students = new HashMap<>();
+        for (Student s : studentRepository.findAllWithDepartmentByIdIn(studentIds)) {
+            students.put(s.getId(), s);
+        }
+
+        List<TranscriptResponse> out = new ArrayList<>(studentIds.size());
+        for (Long id : studentIds) {
+            Student s = students.get(id);
+            if (s != null) out.add(build(s, rowsByStudent.getOrDefault(id, List.of())));
+        }
+        return out;
+    }
+
+    private TranscriptResponse build(Student s, List<Enrollment> rows) {
+        // Rows arrive ordered by enrolledAt, so terms come out chronologically.
+        Map<String, List<Enrollment>> byTerm = new LinkedHashMap<>();
+        for (Enrollment e : rows) {
+            byTerm.computeIfAbsent(termOf(e), k -> new ArrayList<>()).add(e);
+        }
+
+        double cumGraded = 0, cumPoints = 0, completed = 0;
+        List<TranscriptTermResponse> terms = new ArrayList<>();
+        for (var entry : byTerm.entrySet()) {
+            double termGraded = 0, termPoints = 0, termCredits = 0;
+            List<TranscriptLineResponse> lines = new ArrayList<>();
+            for (Enrollment e : entry.getValue()) {
+                double credit = e.getCourse().getCredit();
+                lines.add(TranscriptLineResponse.builder()
+                        .courseCode(e.getCourse().getCode())
+                        .courseTitle(e.getCourse().getTitle())
+                        .departmentCode(e.getCourse().getDepartment().getCode())
+                        .credit(credit)
+                        .grade(e.getGrade())
+                        .status(e.getStatus())
+                        .build());
+                if (e.getStatus() != EnrollmentStatus.COMPLETED) continue;
+                termCredits += credit;
+                Double points = gpaService.gradePoints(e.getGrade());
+                if (points != null) {
+                    termGraded += credit;
+                    termPoints += points * credit;
+                }
+            }
+            cumGraded += termGraded;
+            cumPoints += termPoints;
+            completed += termCredits;
+            terms.add(TranscriptTermResponse.builder()
+                    .term(entry.getKey())
+                    .courses(lines)
+                    .termCredits(termCredits)
+                    .termGpa(gpa(termPoints, termGraded))
+                    .cumulativeGpa(gpa(cumPoints, cumGraded))
+                    .build());
+        }
+
+        return TranscriptResponse.builder()
+                .studentId(s.getId())
+                .studentNo(s.getStudentNo())
+                .fullName(s.getFullName())
+                .department(DepartmentResponse.builder()
+                        .id(s.getDepartment().getId())
+                        .code(s.getDepartment().getCode())
+                        .name(s.getDepartment().getName())
+                        .build())
+                .generatedAt(Instant.now())
+                .terms(terms)
+                .completedCredits(completed)
+                .cumulativeGpa(gpa(cumPoints, cumGraded))
+                .build();
+    }
+
+    // Rows written before terms existed have no term; for those the term is derived from the enrollment date.
+    private static String termOf(Enrollment e) {
+        if (e.getTerm() != null) return e.getTerm().getName();
+        ZonedDateTime at = (e.getEnrolledAt() == null ? Instant.now() : e.getEnrolledAt()).atZone(ZoneOffset.UTC);
+        int month = at.getMonthValue();
+        String season = month <= 5 ? "Spring" : (month <= 8 ? "Summer" : "Fall");
+        return season + " " + at.getYear();
+    }
+
+    private static Double gpa(double points, double gradedCredits) {
+        return gradedCredits > 0 ? Math.round(points / gradedCredits * 100.0) / 100.0 : null;
+    }
+
+    private static void writeEntries(ZipOutputStream zip, List<TranscriptResponse> transcripts) throws IOException {
+        for (TranscriptResponse t : transcripts) {
+            zip.putNextEntry(new ZipEntry("transcript-" + t.getStudentNo() + ".txt"));
+            zip.write(render(t).getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+    }
+
+    static String render(TranscriptResponse t) {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("UNIVERSITY OF ENGINEERS - OFFICIAL TRANSCRIPT\n\n");
+        sb.append("Student:    ").append(t.getFullName()).append(" (").append(t.getStudentNo()).append(")\n");
+        sb.append("Department: ").append(t.getDepartment().getCode()).append(" - ").append(t.getDepartment().getName()).append('\n');
+        sb.append("Generated:  ").append(t.getGeneratedAt()).append("\n\n");
+        for (TranscriptTermResponse term : t.getTerms()) {
+            sb.append(term.getTerm()).append('\n');
+            for (TranscriptLineResponse l : term.getCourses()) {
+                sb.append(String.format("  %-12s %-40s %4.1f  %-3s %s%n",
+                        l.getCourseCode(), l.getCourseTitle(), l.getCredit(),
+                        l.getGrade() == null ? "-" : l.getGrade(), l.getStatus()));
+            }
+            sb.append(String.format("  Term credits: %.1f   Term GPA: %s   Cumulative GPA: %s%n%n",
+                    term.getTermCredits(), fmt(term.getTermGpa()), fmt(term.getCumulativeGpa())));
+        }
+        sb.append(String.format("Completed credits: %.1f%nCumulative GPA: %s%n", t.getCompletedCredits(), fmt(t.getCumulativeGpa())));
+        return sb.toString();
+    }
+
+    private static String fmt(Double gpa) {
+        return gpa == null ? "-" : String.format("%.2f", gpa);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException re) throw re;
+            throw ex;
+        }
+    }
+}
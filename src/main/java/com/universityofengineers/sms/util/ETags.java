@@ -0,0 +1,78 @@
+package com.universityofengineers.sms.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+public final class ETags {
+    private ETags() {}
+
+    // Binary encodings a response may be negotiated to (BinaryFormatsConfig); JSON keeps the plain tag
+    private static final Map<MediaType, String> ENCODINGS = Map.of(
+            MediaType.APPLICATION_CBOR, "cbor",
+            MediaType.parseMediaType("application/x-jackson-smile"), "smile");
+
+    /**
+     * Strong entity tag over the given validator inputs (ids, versions, updatedAt aggregates, ...).
+     * Nested Object[] (aggregate query rows) are flattened; nulls are allowed.
+     */
+    public static String of(Object... parts) {
+        StringBuilder sb = new StringBuilder();
+        append(sb, parts);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void append(StringBuilder sb, Object[] parts) {
+        for (Object p : parts) {
+            if (p instanceof Object[] nested) append(sb, nested);
+            else sb.append(p).append('|');
+        }
+    }
+
+    /**
+     * {@code checkNotModified} for a tag from {@link #of}: the tag is suffixed with the encoding the Accept
+     * header selects, so a cache or a client revalidating in another encoding never gets a 304 for a body it
+     * does not have. A null tag (resource not found) is never "not modified".
+     */
+    public static boolean notModified(WebRequest request, String etag) {
+        if (etag == null) return false;
+        String encoding = encoding(request.getHeaderValues(HttpHeaders.ACCEPT));
+        return request.checkNotModified(encoding == null ? etag : etag.substring(0, etag.length() - 1) + "-" + encoding + "\"");
+    }
+
+    // Same choice as the message converters: by quality, concrete types before wildcards, JSON first on a tie
+    private static String encoding(String[] accept) {
+        if (accept == null) return null;
+        List<MediaType> types = new ArrayList<>();
+        try {
+            for (String header : accept) types.addAll(MediaType.parseMediaTypes(header));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        types.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed()
+                .thenComparing(MediaType::isWildcardSubtype).thenComparing(MediaType::isWildcardType));
+        for (MediaType type : types) {
+            if (type.getQualityValue() == 0) continue;
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) return null;
+            for (Map.Entry<MediaType, String> e : ENCODINGS.entrySet()) {
+                if (type.isCompatibleWith(e.getKey())) return e.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,28 @@
+package com.universityofengineers.sms.util;
+
+import java.util.function.Supplier;
+
+public final class ReadConsistency {
+    private ReadConsistency() {}
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    /**
+     * Runs read-only work against the primary even when a read replica is configured. For readers whose
+     * result must not be behind the latest commit, e.g. jobs that repair in-memory state from the database.
+     * Works inside an already started read-only transaction as long as it has not run a statement yet.
+     */
+    public static <T> T fromPrimary(Supplier<T> work) {
+        Boolean outer = PRIMARY.get();
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (outer == null) PRIMARY.remove();
+        }
+    }
+
+    public static boolean primaryRequired() {
+        return PRIMARY.get() != null;
+    }
+}
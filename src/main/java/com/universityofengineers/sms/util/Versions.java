@@ -0,0 +1,23 @@
+package com.universityofengineers.sms.util;
+
+import com.universityofengineers.sms.exception.BadRequestException;
+import com.universityofengineers.sms.exception.ConflictException;
+
+/**
+ * Full-overwrite updates name the version they were edited from (the {@code version} of the response the client
+ * read). A change committed since then is reported instead of being overwritten; one committed after this check
+ * still fails on the @Version check at flush.
+ */
+public final class Versions {
+    private Versions() {}
+
+    public static void requireCurrent(Long requested, Long current, String what) {
+        if (requested == null) {
+            throw new BadRequestException("version is required: send the version of the " + what + " you edited.");
+        }
+        if (!requested.equals(current)) {
+            throw new ConflictException("The " + what + " was changed since version " + requested
+                    + " (now " + current + "); reload it and apply your changes again.");
+        }
+    }
+}
@@ -2,17 +2,76 @@ const API = "";
 
 function getToken(){ return localStorage.getItem("ue_sms_token"); }
 function setToken(t){ localStorage.setItem("ue_sms_token", t); }
-function clearAuth(){ localStorage.removeItem("ue_sms_token"); localStorage.removeItem("ue_sms_role"); }
+function getRefreshToken(){ return localStorage.getItem("ue_sms_refresh"); }
+function setAuth(auth){
+  setToken(auth.token);
+  setRole(auth.role);
+  if (auth.refreshToken) localStorage.setItem("ue_sms_refresh", auth.refreshToken);
+}
+function clearAuth(){
+  localStorage.removeItem("ue_sms_token"); localStorage.removeItem("ue_sms_role"); localStorage.removeItem("ue_sms_refresh");
+}
+// Revokes the tokens server-side too; leaving is not blocked if that request fails.
+async function logout(){
+  const token = getToken();
+  if (token) {
+    try {
+      await fetch("/api/auth/logout", {
+        method: "POST",
+        headers: { "Authorization": "Bearer " + token, "Content-Type": "application/json" },
+        body: JSON.stringify({ refreshToken: getRefreshToken() })
+      });
+    } catch (e) {}
+  }
+  clearAuth();
+  window.location.href = "/";
+}
+
+// Access tokens are short-lived: on a 401 the refresh token is exchanged once for a new pair.
+// Concurrent 401s share one exchange (a refresh token is single use; reusing it logs out everywhere).
+let refreshing = null;
+function renewAccessToken(){
+  const refreshToken = getRefreshToken();
+  if (!refreshToken) return Promise.resolve(false);
+  if (!refreshing) {
+    refreshing = fetch(API + "/api/auth/refresh", {
+      method: "POST",
+      headers: { "Content-Type": "application/json" },
+      body: JSON.stringify({ refreshToken })
+    })
+      .then(async (res) => {
+        if (!res.ok) { clearAuth(); return false; }
+        setAuth(await res.json());
+        return true;
+      })
+      .catch(() => false)
+      .finally(() => { refreshing = null; });
+  }
+  return refreshing;
+}
 function setRole(r){ localStorage.setItem("ue_sms_role", r); }
 function getRole(){ return localStorage.getItem("ue_sms_role"); }
 
+// GET responses by token + path with their ETag; revalidated with If-None-Match, a 304 reuses the body.
+const validated = new Map();
+
 async function apiFetch(path, opts = {}) {
   const headers = opts.headers || {};
   headers["Content-Type"] = "application/json";
   const token = getToken();
   if (token) headers["Authorization"] = "Bearer " + token;
 
+  const isGet = (opts.method || "GET").toUpperCase() === "GET";
+  const cacheKey = (token || "") + " " + path;
+  const cached = isGet ? validated.get(cacheKey) : null;
+  if (cached) headers["If-None-Match"] = cached.etag;
+
   const res = await fetch(API + path, { ...opts, headers });
+  if (res.status === 304 && cached) return cached.body;
+  if (res.status === 401 && token && !opts.retried && await renewAccessToken()) {
+    return apiFetch(path, { ...opts, headers: { ...opts.headers }, retried: true });
+  }
+
   const text = await res.text();
   let body = null;
   try { body = text ? JSON.parse(text) : null; } catch { body = text; }
@@ -21,6 +80,8 @@ async function apiFetch(path, opts = {}) {
     const msg = body?.message || body?.error || ("HTTP " + res.status);
     throw new Error(msg);
   }
+  const etag = res.headers.get("ETag");
+  if (isGet && etag) validated.set(cacheKey, { etag, body });
   return body;
 }
 
@@ -107,7 +168,7 @@ async function initIndex() {
 
     try {
       const auth = await apiFetch("/api/auth/register", { method:"POST", body: JSON.stringify(payload) });
-      setToken(auth.token); setRole(auth.role);
+      setAuth(auth);
       showMsg("registerMsg", "Registered successfully. Redirecting...", true);
       window.location.href = "/student.html";
     } catch(e) { showMsg("registerMsg", e.message, false); }
@@ -119,7 +180,7 @@ async function initIndex() {
     const payload = Object.fromEntries(fd.entries());
     try {
       const auth = await apiFetch("/api/auth/login", { method:"POST", body: JSON.stringify(payload) });
-      setToken(auth.token); setRole(auth.role);
+      setAuth(auth);
       showMsg("loginMsg", "Login OK. Redirecting...", true);
       window.location.href = auth.role === "TEACHER" ? "/teacher.html" : "/student.html";
     } catch(e) { showMsg("loginMsg", e.message, false); }
@@ -128,8 +189,10 @@ async function initIndex() {
 
 /* -------- student.html -------- */
 async function refreshStudentProfile() {
-  const s = await apiFetch("/api/students/me", { method:"GET" });
+  renderStudentProfile(await apiFetch("/api/students/me", { method:"GET" }));
+}
 
+function renderStudentProfile(s, gpa) {
   // ✅ show all details, including updated contact fields
   el("studentProfile").innerHTML = `
     <div style="display:grid; gap:6px;">
@@ -139,6 +202,7 @@ async function refreshStudentProfile() {
       <div><span class="muted">Status:</span> ${s.status}</div>
       <div><span class="muted">Phone:</span> ${s.phone ? s.phone : "-"}</div>
       <div><span class="muted">Address:</span> ${s.address ? s.address : "-"}</div>
+      ${gpa !== undefined ? `<div><span class="muted">GPA:</span> ${gpa ?? "-"}</div>` : ""}
     </div>
   `;
 
@@ -151,7 +215,10 @@ async function refreshStudentProfile() {
 }
 
 async function refreshCourseCatalog() {
-  const courses = await apiFetch("/api/courses", { method:"GET" });
+  renderCourseCatalog(await apiFetch("/api/courses/summary", { method:"GET" }));
+}
+
+function renderCourseCatalog(courses) {
   const rows = courses.map(c => {
     const btn = document.createElement("button");
     btn.className = "btn btn-primary";
@@ -164,16 +231,37 @@ async function refreshCourseCatalog() {
         await refreshCourseCatalog();
       } catch(e) { showMsg("courseMsg", e.message, false); }
     });
-    return [c.code, c.title, c.credit, c.department.code, `${c.currentlyEnrolled}/${c.capacity}`, btn];
+    const seats = document.createElement("span");
+    seats.dataset.seatsFor = c.id;
+    seats.textContent = `${c.currentlyEnrolled}/${c.capacity}`;
+    return [c.code, c.title, c.credit, c.departmentCode, seats, btn];
   });
 
   const table = renderTable(["Code","Title","Credit","Dept","Enrolled/Cap","Action"], rows);
   el("courseList").innerHTML = "";
   el("courseList").appendChild(table);
+  watchSeats(courses.map(c => c.id));
+}
+
+// Live seat counts for the catalog (server-sent events); replaces periodic refreshes of /api/courses.
+let seatStream = null;
+function watchSeats(courseIds) {
+  if (seatStream) { seatStream.close(); seatStream = null; }
+  if (!courseIds.length || !window.EventSource) return;
+  seatStream = new EventSource("/api/courses/seats/stream?courseIds=" + courseIds.join(","));
+  seatStream.addEventListener("seats", evt => {
+    for (const s of JSON.parse(evt.data)) {
+      const cell = document.querySelector(`[data-seats-for="${s.courseId}"]`);
+      if (cell) cell.textContent = `${s.currentlyEnrolled}/${s.capacity}`;
+    }
+  });
 }
 
 async function refreshMyEnrollments() {
-  const enrollments = await apiFetch("/api/enrollments/me", { method:"GET" });
+  renderMyEnrollments(await apiFetch("/api/enrollments/me", { method:"GET" }));
+}
+
+function renderMyEnrollments(enrollments) {
   const rows = enrollments.map(e => {
     const btn = document.createElement("button");
     btn.className = "btn btn-danger";
@@ -200,12 +288,14 @@ async function initStudent() {
   if (!getToken()) { window.location.href = "/"; return; }
   if (getRole() !== "STUDENT") { window.location.href = "/teacher.html"; return; }
 
-  el("logoutBtn")?.addEventListener("click", () => { clearAuth(); window.location.href = "/"; });
+  el("logoutBtn")?.addEventListener("click", logout);
 
+  // One round trip on load; the individual endpoints are still used for targeted refreshes.
   try {
-    await refreshStudentProfile();
-    await refreshCourseCatalog();
-    await refreshMyEnrollments();
+    const d = await apiFetch("/api/students/me/dashboard", { method:"GET" });
+    renderStudentProfile(d.profile, d.gpa);
+    renderCourseCatalog(d.courses);
+    renderMyEnrollments(d.enrollments);
   } catch(e) { showMsg("enrollmentMsg", e.message, false); }
 
   el("studentUpdateForm")?.addEventListener("submit", async (evt) => {
@@ -384,7 +474,8 @@ async function openCourseEdit(c) {
       title: form.title.value,
       credit: Number(form.credit.value),
       capacity: Number(form.capacity.value),
-      departmentId: Number(form.departmentId.value)
+      departmentId: Number(form.departmentId.value),
+      version: c.version
     };
 
     const tid = form.teacherId.value.trim();
@@ -403,7 +494,7 @@ async function openCourseEdit(c) {
 
 /* Students list */
 async function refreshStudentsTeacherPage() {
-  const students = await apiFetch("/api/students", { method:"GET" });
+  const students = await apiFetch("/api/students/summary", { method:"GET" });
 
   const rows = students.map(s => {
     const actions = document.createElement("div");
@@ -433,7 +524,7 @@ async function refreshStudentsTeacherPage() {
     actions.appendChild(reset);
     actions.appendChild(disable);
 
-    return [s.id, s.studentNo, s.fullName, s.email, s.department.code, s.status, actions];
+    return [s.id, s.studentNo, s.fullName, s.email, s.departmentCode, s.status, actions];
   });
 
   const table = renderTable(["ID","Student No","Name","Email","Dept","Status","Actions"], rows);
@@ -490,7 +581,7 @@ async function initTeacher() {
   if (!getToken()) { window.location.href = "/"; return; }
   if (getRole() !== "TEACHER") { window.location.href = "/student.html"; return; }
 
-  el("logoutBtn")?.addEventListener("click", () => { clearAuth(); window.location.href = "/"; });
+  el("logoutBtn")?.addEventListener("click", logout);
 
   try {
     await refreshTeacherProfile();
@@ -0,0 +1,90 @@
+package com.universityofengineers.sms.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.universityofengineers.sms.dto.response.EnrollmentResponse;
+import com.universityofengineers.sms.entity.EnrollmentStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payload size and encode / decode cost of a full enrollment export (the integration jobs' heaviest download)
+ * in JSON, CBOR and Smile. Prints one line per format; only the sizes and the round trip are asserted, timings
+ * depend on the machine. Tagged {@code benchmark}: runs only with {@code -Pbenchmark}.
+ */
+@Tag("benchmark")
+class BinaryFormatsBenchmarkTest {
+
+    private static final TypeReference<List<EnrollmentResponse>> LIST = new TypeReference<>() {
+    };
+
+    @Test
+    void enrollmentList_binaryFormatsShouldBeSmaller_andRoundTrip() throws Exception {
+        List<EnrollmentResponse> enrollments = enrollments(20_000);
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", configure(Jackson2ObjectMapperBuilder.json()));
+        mappers.put("cbor", configure(Jackson2ObjectMapperBuilder.cbor()));
+        mappers.put("smile", configure(Jackson2ObjectMapperBuilder.smile()));
+
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        for (Map.Entry<String, ObjectMapper> e : mappers.entrySet()) {
+            ObjectMapper mapper = e.getValue();
+            byte[] bytes = mapper.writeValueAsBytes(enrollments);
+            assertThat(mapper.readValue(bytes, LIST)).isEqualTo(enrollments);
+            sizes.put(e.getKey(), bytes.length);
+
+            // warm-up, then measure
+            for (int i = 0; i < 50; i++) mapper.readValue(mapper.writeValueAsBytes(enrollments), LIST);
+            int runs = 50;
+            long start = System.nanoTime();
+            for (int i = 0; i < runs; i++) bytes = mapper.writeValueAsBytes(enrollments);
+            double encodeMillis = (System.nanoTime() - start) / 1e6 / runs;
+            start = System.nanoTime();
+            for (int i = 0; i < runs; i++) mapper.readValue(bytes, LIST);
+            double decodeMillis = (System.nanoTime() - start) / 1e6 / runs;
+
+            System.out.printf("%-5s %,10d bytes  encode %6.2f ms  decode %6.2f ms  (%,d enrollments)%n",
+                    e.getKey(), bytes.length, encodeMillis, decodeMillis, enrollments.size());
+        }
+
+        assertThat(sizes.get("cbor")).isLessThan(sizes.get("json"));
+        assertThat(sizes.get("smile")).isLessThan(sizes.get("json"));
+    }
+
+    // Same settings the app's mappers get from Boot
+    private static ObjectMapper configure(Jackson2ObjectMapperBuilder builder) {
+        return builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    }
+
+    private static List<EnrollmentResponse> enrollments(int count) {
+        String[] grades = {"A", "A-", "B+", "B", "C", null};
+        Instant base = Instant.parse("2026-01-10T08:00:00Z");
+        List<EnrollmentResponse> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(EnrollmentResponse.builder()
+                    .id(100_000L + i)
+                    .studentId(5_000L + i / 6)
+                    .studentNo("UE-2026-%06d".formatted(i / 6))
+                    .courseId(200L + i % 40)
+                    .courseCode("CSE%03d".formatted(100 + i % 40))
+                    .courseTitle("Course Title " + (i % 40) + " Systems")
+                    .courseCredit(i % 2 == 0 ? 3.0 : 1.5)
+                    .termId(7L)
+                    .status(i % 10 == 0 ? EnrollmentStatus.DROPPED : EnrollmentStatus.ENROLLED)
+                    .grade(grades[i % grades.length])
+                    .enrolledAt(base.plusSeconds(i * 37L))
+                    .build());
+        }
+        return list;
+    }
+}
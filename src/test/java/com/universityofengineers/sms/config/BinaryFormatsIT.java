@@ -0,0 +1,129 @@
+package com.universityofengineers.sms.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.universityofengineers.sms.entity.*;
+import com.universityofengineers.sms.support.IntegrationTestBase;
+import com.universityofengineers.sms.support.SmsIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SmsIntegrationTest
+class BinaryFormatsIT extends IntegrationTestBase {
+
+    private static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final ObjectMapper cbor = new CBORMapper();
+    private final ObjectMapper smile = new SmileMapper();
+
+    @Test
+    void list_shouldBeNegotiated_andCarryTheSameDataAsJson() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        Course course = givenCourse("CSE101", cse, teacher, 10);
+        for (int i = 1; i <= 3; i++) {
+            Student s = givenStudent("s" + i + "@ue.edu", "Secret123!", cse, studentNo(i), StudentStatus.ACTIVE);
+            enrollmentRepository.save(Enrollment.builder().student(s).course(course).status(EnrollmentStatus.ENROLLED).build());
+        }
+        String token = loginAndGetToken("teacher@ue.edu", "Secret123!");
+
+        byte[] json = mockMvc.perform(get("/api/enrollments").headers(bearer(token)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] cborBody = mockMvc.perform(get("/api/enrollments").headers(bearer(token)).accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] smileBody = mockMvc.perform(get("/api/enrollments").headers(bearer(token)).accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode expected = objectMapper.readTree(json);
+        assertThat(expected).hasSize(3);
+        assertThat(cbor.readTree(cborBody)).isEqualTo(expected);
+        assertThat(smile.readTree(smileBody)).isEqualTo(expected);
+        assertThat(cborBody.length).isLessThan(json.length);
+        assertThat(smileBody.length).isLessThan(json.length);
+
+        JsonNode trimmed = cbor.readTree(mockMvc.perform(get("/api/enrollments").param("fields", "studentNo")
+                        .headers(bearer(token)).accept(CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+        assertThat(trimmed.get(0).size()).isEqualTo(1);
+        assertThat(trimmed.get(0).get("studentNo").asText()).isEqualTo(studentNo(1));
+    }
+
+    @Test
+    void requestBodiesAndErrors_shouldUseTheBinaryFormatToo() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        givenStudent("student@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        Course course = givenCourse("CSE101", cse, teacher, 10);
+        String token = loginAndGetToken("student@ue.edu", "Secret123!");
+
+        byte[] enrolled = mockMvc.perform(post("/api/enrollments/me").headers(bearer(token))
+                        .contentType(SMILE).accept(SMILE)
+                        .content(smile.writeValueAsBytes(Map.of("courseId", course.getId()))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(smile.readTree(enrolled).get("status").asText()).isEqualTo("ENROLLED");
+        assertThat(enrollmentRepository.count()).isEqualTo(1);
+
+        byte[] error = mockMvc.perform(get("/api/courses/999999").headers(bearer(token)).accept(CBOR))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(cbor.readTree(error).get("message").asText()).contains("not found");
+
+        // Browsers and clients that accept anything still get JSON
+        mockMvc.perform(get("/api/courses").headers(bearer(token)).header(HttpHeaders.ACCEPT, "*/*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void etags_shouldDifferPerEncoding_andVaryOnAccept() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        givenStudent("student@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        String token = loginAndGetToken("student@ue.edu", "Secret123!");
+
+        String jsonTag = mockMvc.perform(get("/api/departments").headers(bearer(token)))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String cborTag = mockMvc.perform(get("/api/departments").headers(bearer(token)).accept(CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(jsonTag).isNotNull();
+        assertThat(cborTag).isNotNull().isNotEqualTo(jsonTag);
+
+        // A tag of the JSON body must not validate a CBOR request, and vice versa
+        mockMvc.perform(get("/api/departments").headers(bearer(token)).accept(CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonTag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(CBOR));
+        mockMvc.perform(get("/api/departments").headers(bearer(token))
+                        .header(HttpHeaders.IF_NONE_MATCH, cborTag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/departments").headers(bearer(token)).accept(CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, cborTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/departments").headers(bearer(token))
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonTag))
+                .andExpect(status().isNotModified());
+    }
+}
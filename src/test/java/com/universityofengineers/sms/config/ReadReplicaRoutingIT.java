@@ -0,0 +1,100 @@
+package com.universityofengineers.sms.config;
+
+import com.universityofengineers.sms.dto.request.EnrollmentCreateRequest;
+import com.universityofengineers.sms.dto.response.ReplicaStatusResponse;
+import com.universityofengineers.sms.entity.*;
+import com.universityofengineers.sms.support.IntegrationTestBase;
+import com.universityofengineers.sms.support.SmsIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Primary and "replica" are two pools on the same in-memory database, so routing is observable through the
+ * monitor's counters without real replication. Lag is checked only when a test asks for it.
+ */
+@SmsIntegrationTest
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ue_sms_replica_it;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false",
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=jdbc:h2:mem:ue_sms_replica_it;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false",
+        "app.datasource.replica.lag-query=SELECT 0",
+        "app.datasource.replica.lag-check-millis=3600000"
+})
+class ReadReplicaRoutingIT extends IntegrationTestBase {
+
+    @Autowired private ReplicaLagMonitor lagMonitor;
+    @Autowired private ReadReplicaProperties replicaProperties;
+
+    @Test
+    void readOnlyTransactions_shouldUseReplica_untilItFallsBehind() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        String token = loginAndGetToken("teacher@ue.edu", "Secret123!");
+        lagMonitor.check();
+
+        ReplicaStatusResponse before = lagMonitor.status();
+        mockMvc.perform(get("/api/departments").headers(bearer(token))).andExpect(status().isOk());
+        ReplicaStatusResponse after = lagMonitor.status();
+        assertThat(after.getReplicaReads()).isGreaterThan(before.getReplicaReads());
+        assertThat(after.getPrimaryReads()).isEqualTo(before.getPrimaryReads());
+
+        long maxLag = replicaProperties.getMaxLagMillis();
+        try {
+            replicaProperties.setMaxLagMillis(-1);
+            lagMonitor.check();
+            before = lagMonitor.status();
+            mockMvc.perform(get("/api/departments").headers(bearer(token))).andExpect(status().isOk());
+            after = lagMonitor.status();
+            assertThat(after.isUsable()).isFalse();
+            assertThat(after.getReplicaReads()).isEqualTo(before.getReplicaReads());
+            assertThat(after.getPrimaryReads()).isGreaterThan(before.getPrimaryReads());
+        } finally {
+            replicaProperties.setMaxLagMillis(maxLag);
+            lagMonitor.check();
+        }
+    }
+
+    @Test
+    void readsAfterOwnWrite_shouldStayOnPrimary_untilReplicaCaughtUp() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        givenStudent("student@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        Course course = givenCourse("CSE101", cse, teacher, 5);
+        String token = loginAndGetToken("student@ue.edu", "Secret123!");
+        lagMonitor.check();
+
+        EnrollmentCreateRequest req = new EnrollmentCreateRequest();
+        req.setCourseId(course.getId());
+        mockMvc.perform(post("/api/enrollments/me").headers(bearer(token))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk());
+
+        ReplicaStatusResponse before = lagMonitor.status();
+        assertThat(before.getPinnedAccounts()).isEqualTo(1);
+        mockMvc.perform(get("/api/enrollments/me").headers(bearer(token)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", org.hamcrest.Matchers.hasSize(1)));
+        ReplicaStatusResponse after = lagMonitor.status();
+        assertThat(after.getReplicaReads()).isEqualTo(before.getReplicaReads());
+        assertThat(after.getPrimaryReads()).isGreaterThan(before.getPrimaryReads());
+
+        // The next measurement shows the replica past the write: the account is unpinned.
+        Thread.sleep(2);
+        lagMonitor.check();
+        before = lagMonitor.status();
+        assertThat(before.getPinnedAccounts()).isZero();
+        mockMvc.perform(get("/api/enrollments/me").headers(bearer(token)))
+                .andExpect(status().isOk());
+        after = lagMonitor.status();
+        assertThat(after.getReplicaReads()).isGreaterThan(before.getReplicaReads());
+    }
+}
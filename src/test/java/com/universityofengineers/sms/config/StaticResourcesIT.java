@@ -0,0 +1,54 @@
+package com.universityofengineers.sms.config;
+
+import com.universityofengineers.sms.support.SmsIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs against the build output, so it also checks the asset pipeline in pom.xml.
+ */
+@SmsIntegrationTest
+class StaticResourcesIT {
+
+    private static final Pattern HASHED_SCRIPT = Pattern.compile("src=\"(/assets/app\\.[0-9a-f]{16}\\.js)\"");
+
+    @Autowired private MockMvc mockMvc;
+
+    @Test
+    void pages_shouldLinkHashedAssets_andBeRevalidated() throws Exception {
+        String html = mockMvc.perform(get("/student.html"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, org.hamcrest.Matchers.containsString("no-cache")))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(html).containsPattern("href=\"/assets/styles\\.[0-9a-f]{16}\\.css\"").doesNotContain("\"/app.js\"");
+        assertThat(HASHED_SCRIPT.matcher(html).find()).isTrue();
+    }
+
+    @Test
+    void hashedAssets_shouldBeImmutable_andServedPrecompressed() throws Exception {
+        Matcher m = HASHED_SCRIPT.matcher(mockMvc.perform(get("/index.html")).andReturn().getResponse().getContentAsString());
+        assertThat(m.find()).isTrue();
+        String script = m.group(1);
+
+        mockMvc.perform(get(script).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, org.hamcrest.Matchers.containsString("Accept-Encoding")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, org.hamcrest.Matchers.containsString("immutable")));
+
+        mockMvc.perform(get(script))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("function apiFetch")));
+    }
+}
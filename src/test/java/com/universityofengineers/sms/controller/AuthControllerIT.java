@@ -1,23 +1,36 @@
 package com.universityofengineers.sms.controller;
 
 import com.universityofengineers.sms.dto.request.LoginRequest;
+import com.universityofengineers.sms.dto.request.RefreshTokenRequest;
 import com.universityofengineers.sms.dto.request.StudentRegistrationRequest;
+import com.universityofengineers.sms.dto.response.AuthResponse;
 import com.universityofengineers.sms.entity.Department;
+import com.universityofengineers.sms.entity.RefreshToken;
 import com.universityofengineers.sms.entity.Role;
+import com.universityofengineers.sms.entity.Student;
+import com.universityofengineers.sms.entity.StudentStatus;
 import com.universityofengineers.sms.entity.TeacherTitle;
+import com.universityofengineers.sms.repository.RefreshTokenRepository;
 import com.universityofengineers.sms.support.IntegrationTestBase;
 import com.universityofengineers.sms.support.SmsIntegrationTest;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SmsIntegrationTest
 class AuthControllerIT extends IntegrationTestBase {
 
+    @Autowired private RefreshTokenRepository refreshTokenRepository;
+
     @Test
     void registerStudent_shouldReturn201_andJwtTokenAndStudentId() throws Exception {
         Department dept = givenDepartment("CSE", "Computer Science");
@@ -94,4 +107,140 @@ class AuthControllerIT extends IntegrationTestBase {
                 .andExpect(status().isUnauthorized())
                 .andExpect(jsonPath("$.message").value("Invalid credentials."));
     }
+
+    @Test
+    void refresh_shouldRotateTokens_withoutPassword() throws Exception {
+        Department dept = givenDepartment("CSE", "Computer Science");
+        givenTeacher("teacher@ue.edu", "Secret123!", dept, "UE-T-000001", TeacherTitle.PROFESSOR);
+        AuthResponse login = login("teacher@ue.edu", "Secret123!");
+        assertThat(login.getRefreshToken()).isNotBlank();
+
+        AuthResponse refreshed = refresh(login.getRefreshToken(), 200);
+        assertThat(refreshed.getRefreshToken()).isNotEqualTo(login.getRefreshToken());
+        assertThat(refreshed.getRole()).isEqualTo(Role.TEACHER);
+
+        mockMvc.perform(get("/api/teachers/me").headers(bearer(refreshed.getToken())))
+                .andExpect(status().isOk());
+        refresh(refreshed.getRefreshToken(), 200);
+    }
+
+    @Test
+    void refresh_withUsedToken_shouldRevokeFamily_andAccessTokens() throws Exception {
+        Department dept = givenDepartment("CSE", "Computer Science");
+        givenTeacher("teacher@ue.edu", "Secret123!", dept, "UE-T-000001", TeacherTitle.PROFESSOR);
+        AuthResponse login = login("teacher@ue.edu", "Secret123!");
+        AuthResponse legit = refresh(login.getRefreshToken(), 200);
+        usedBeforeTheGrace();
+
+        // The stolen copy of the first token is replayed.
+        refresh(login.getRefreshToken(), 401);
+
+        refresh(legit.getRefreshToken(), 401);
+        mockMvc.perform(get("/api/teachers/me").headers(bearer(legit.getToken())))
+                .andExpect(status().isUnauthorized());
+
+        // A new password login is not affected, even within the cut-off's second.
+        AuthResponse again = login("teacher@ue.edu", "Secret123!");
+        refresh(again.getRefreshToken(), 200);
+    }
+
+    @Test
+    void refresh_withJustUsedToken_shouldReturnTheSameSuccessor_andKeepTheSession() throws Exception {
+        Department dept = givenDepartment("CSE", "Computer Science");
+        givenTeacher("teacher@ue.edu", "Secret123!", dept, "UE-T-000001", TeacherTitle.PROFESSOR);
+        AuthResponse login = login("teacher@ue.edu", "Secret123!");
+
+        // Two tabs sharing the stored token refresh at the same time
+        AuthResponse first = refresh(login.getRefreshToken(), 200);
+        AuthResponse second = refresh(login.getRefreshToken(), 200);
+
+        assertThat(second.getRefreshToken()).isEqualTo(first.getRefreshToken());
+        mockMvc.perform(get("/api/teachers/me").headers(bearer(first.getToken())))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/teachers/me").headers(bearer(second.getToken())))
+                .andExpect(status().isOk());
+        refresh(second.getRefreshToken(), 200);
+    }
+
+    @Test
+    void refresh_shouldFail_afterLogoutOrDisable() throws Exception {
+        Department dept = givenDepartment("CSE", "Computer Science");
+        givenTeacher("teacher@ue.edu", "Secret123!", dept, "UE-T-000001", TeacherTitle.PROFESSOR);
+        Student student = givenStudent("student@ue.edu", "Secret123!", dept, studentNo(1), StudentStatus.ACTIVE);
+        String teacherToken = loginAndGetToken("teacher@ue.edu", "Secret123!");
+
+        AuthResponse first = login("student@ue.edu", "Secret123!");
+        mockMvc.perform(post("/api/auth/logout").headers(bearer(first.getToken()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"refreshToken\":\"" + first.getRefreshToken() + "\"}"))
+                .andExpect(status().isNoContent());
+        refresh(first.getRefreshToken(), 401);
+
+        AuthResponse second = login("student@ue.edu", "Secret123!");
+        mockMvc.perform(delete("/api/students/" + student.getId()).headers(bearer(teacherToken)))
+                .andExpect(status().is2xxSuccessful());
+        refresh(second.getRefreshToken(), 401);
+    }
+
+    @Test
+    void departmentChange_shouldExpireAccessTokensOnly_andRefreshShouldCarryTheNewDepartment() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Department eee = givenDepartment("EEE", "Electrical Engineering");
+        givenCourse("CSE101", cse, givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR), 10);
+        givenCourse("EEE101", eee, givenTeacher("eee@ue.edu", "Secret123!", eee, "UE-T-000002", TeacherTitle.PROFESSOR), 10);
+        Student student = givenStudent("student@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        String teacherToken = loginAndGetToken("teacher@ue.edu", "Secret123!");
+        AuthResponse login = login("student@ue.edu", "Secret123!");
+
+        mockMvc.perform(get("/api/courses").headers(bearer(login.getToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].code").value("CSE101"));
+
+        mockMvc.perform(put("/api/students/" + student.getId()).headers(bearer(teacherToken))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fullName\":\"Test Student\",\"departmentId\":" + eee.getId()
+                                + ",\"version\":" + student.getVersion() + "}"))
+                .andExpect(status().isOk());
+
+        // The old token says CSE; it is rejected, but the session is not.
+        mockMvc.perform(get("/api/students/me").headers(bearer(login.getToken())))
+                .andExpect(status().isUnauthorized());
+        // Right away, within the cut-off's second
+        AuthResponse refreshed = refresh(login.getRefreshToken(), 200);
+        mockMvc.perform(get("/api/courses").headers(bearer(refreshed.getToken())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].code").value("EEE101"));
+    }
+
+    // Moves every use of a refresh token out of the reuse grace
+    private void usedBeforeTheGrace() {
+        List<RefreshToken> used = refreshTokenRepository.findAll().stream().filter(t -> t.getUsedAt() != null).toList();
+        used.forEach(t -> t.setUsedAt(Instant.now().minus(1, ChronoUnit.MINUTES)));
+        refreshTokenRepository.saveAll(used);
+    }
+
+    private AuthResponse login(String email, String password) throws Exception {
+        LoginRequest req = new LoginRequest();
+        req.setEmail(email);
+        req.setPassword(password);
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsByteArray(), AuthResponse.class);
+    }
+
+    private AuthResponse refresh(String refreshToken, int expectedStatus) throws Exception {
+        RefreshTokenRequest req = new RefreshTokenRequest();
+        req.setRefreshToken(refreshToken);
+        MvcResult result = mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().is(expectedStatus))
+                .andReturn();
+        return expectedStatus == 200
+                ? objectMapper.readValue(result.getResponse().getContentAsByteArray(), AuthResponse.class)
+                : null;
+    }
 }
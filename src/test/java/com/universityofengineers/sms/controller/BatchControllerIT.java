@@ -0,0 +1,111 @@
+package com.universityofengineers.sms.controller;
+
+import com.universityofengineers.sms.entity.*;
+import com.universityofengineers.sms.support.IntegrationTestBase;
+import com.universityofengineers.sms.support.SmsIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SmsIntegrationTest
+class BatchControllerIT extends IntegrationTestBase {
+
+    @Test
+    void batch_shouldRunOperationsInOrder_andReportEachResult() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        Student s1 = givenStudent("s1@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        Student s2 = givenStudent("s2@ue.edu", "Secret123!", cse, studentNo(2), StudentStatus.ACTIVE);
+        Course course = givenCourse("CSE101", cse, teacher, 10);
+        String token = loginAndGetToken("teacher@ue.edu", "Secret123!");
+
+        batch(token, """
+                {"operations": [
+                  {"method": "POST", "path": "/api/students/%d/enrollments", "body": {"courseId": %d}},
+                  {"method": "POST", "path": "/api/students/%d/enrollments", "body": {"courseId": %d}},
+                  {"method": "POST", "path": "/api/students/%d/enrollments", "body": {}},
+                  {"method": "GET", "path": "/api/courses/999999"},
+                  {"method": "GET", "path": "/api/enrollments"}
+                ]}""".formatted(s1.getId(), course.getId(), s2.getId(), course.getId(), s2.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.committed").value(true))
+                .andExpect(jsonPath("$.results[0].status").value(200))
+                .andExpect(jsonPath("$.results[0].body.status").value("ENROLLED"))
+                .andExpect(jsonPath("$.results[1].status").value(200))
+                .andExpect(jsonPath("$.results[2].status").value(400))
+                .andExpect(jsonPath("$.results[2].body.message").value("Validation failed."))
+                .andExpect(jsonPath("$.results[3].status").value(404))
+                .andExpect(jsonPath("$.results[4].status").value(200))
+                .andExpect(jsonPath("$.results[4].body", org.hamcrest.Matchers.hasSize(2)));
+
+        assertThat(enrollmentRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void atomicBatch_shouldRollBackEverything_andStopAtTheFirstFailure() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        Student s1 = givenStudent("s1@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        Course course = givenCourse("CSE101", cse, teacher, 10);
+        String token = loginAndGetToken("teacher@ue.edu", "Secret123!");
+
+        batch(token, """
+                {"atomic": true, "operations": [
+                  {"method": "POST", "path": "/api/students/%d/enrollments", "body": {"courseId": %d}},
+                  {"method": "POST", "path": "/api/students/%d/enrollments", "body": {"courseId": 999999}},
+                  {"method": "GET", "path": "/api/enrollments"}
+                ]}""".formatted(s1.getId(), course.getId(), s1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.committed").value(false))
+                .andExpect(jsonPath("$.results", org.hamcrest.Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.results[0].status").value(200))
+                .andExpect(jsonPath("$.results[1].status").value(404));
+
+        assertThat(enrollmentRepository.count()).isZero();
+
+        batch(token, """
+                {"atomic": true, "operations": [
+                  {"method": "POST", "path": "/api/students/%d/enrollments", "body": {"courseId": %d}}
+                ]}""".formatted(s1.getId(), course.getId()))
+                .andExpect(jsonPath("$.committed").value(true));
+        assertThat(enrollmentRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void batch_shouldApplyMethodSecurity_andRejectNestedOrAuthOperations() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        givenStudent("s1@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        String token = loginAndGetToken("s1@ue.edu", "Secret123!");
+
+        batch(token, """
+                {"operations": [
+                  {"method": "GET", "path": "/api/enrollments"},
+                  {"method": "GET", "path": "/api/students/me", "headers": {"Accept": "application/json"}}
+                ]}""")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value(403))
+                .andExpect(jsonPath("$.results[1].status").value(200))
+                .andExpect(jsonPath("$.results[1].body.email").value("s1@ue.edu"))
+                .andExpect(jsonPath("$.results[1].headers.ETag").exists());
+
+        batch(token, """
+                {"operations": [{"method": "POST", "path": "/api/batch", "body": {"operations": []}}]}""")
+                .andExpect(status().isBadRequest());
+        batch(token, """
+                {"operations": [{"method": "POST", "path": "/api/auth/refresh", "body": {}}]}""")
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\": [{\"method\": \"GET\", \"path\": \"/api/students/me\"}]}"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions batch(String token, String json) throws Exception {
+        return mockMvc.perform(post("/api/batch").headers(bearer(token))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json));
+    }
+}
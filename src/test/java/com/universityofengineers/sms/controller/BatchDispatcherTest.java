@@ -0,0 +1,68 @@
+package com.universityofengineers.sms.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universityofengineers.sms.config.BatchProperties;
+import com.universityofengineers.sms.dto.request.BatchOperation;
+import com.universityofengineers.sms.dto.request.BatchRequest;
+import com.universityofengineers.sms.dto.response.BatchResponse;
+import com.universityofengineers.sms.dto.response.BatchResult;
+import com.universityofengineers.sms.service.RateLimiter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchDispatcherTest {
+
+    @Mock private RequestMappingHandlerMapping handlerMapping;
+    @Mock private RequestMappingHandlerAdapter handlerAdapter;
+    @Mock private HandlerExceptionResolver exceptionResolver;
+    @Mock private WebInvocationPrivilegeEvaluator privilegeEvaluator;
+    @Mock private RateLimiter rateLimiter;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    @Test
+    void atomicBatch_shouldReportRollbackWithResults_whenCommitHitsAVersionConflict() throws Exception {
+        when(handlerMapping.getHandler(any())).thenReturn(new HandlerExecutionChain(new Object()));
+        when(privilegeEvaluator.isAllowed(any(), any(), any(), any())).thenReturn(true);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        doThrow(new ObjectOptimisticLockingFailureException("Course", 1L)).when(transactionManager).commit(any());
+        BatchDispatcher dispatcher = new BatchDispatcher(handlerMapping, handlerAdapter, exceptionResolver,
+                privilegeEvaluator, rateLimiter, new ObjectMapper(), new BatchProperties(), transactionManager);
+
+        BatchResponse response = dispatcher.execute(batch(true, "/api/courses/1", "/api/courses/2"),
+                new MockHttpServletRequest(), new MockHttpServletResponse());
+
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getResults()).extracting(BatchResult::getStatus).containsExactly(200, 200);
+    }
+
+    private static BatchRequest batch(boolean atomic, String... paths) {
+        BatchRequest req = new BatchRequest();
+        req.setAtomic(atomic);
+        req.setOperations(Arrays.stream(paths).map(path -> {
+            BatchOperation op = new BatchOperation();
+            op.setMethod("PUT");
+            op.setPath(path);
+            return op;
+        }).toList());
+        return req;
+    }
+}
@@ -7,7 +7,9 @@ import com.universityofengineers.sms.support.SmsIntegrationTest;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -109,4 +111,279 @@ class CourseControllerIT extends IntegrationTestBase {
                         .content("{}"))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void search_shouldFindCourseCreatedThroughApi_withoutReload() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        String teacherToken = loginAndGetToken("teacher@ue.edu", "Secret123!");
+
+        CourseUpsertRequest req = new CourseUpsertRequest();
+        req.setCode("CSE477");
+        req.setTitle("Quantum Compilers");
+        req.setCredit(3.0);
+        req.setCapacity(30);
+        req.setDepartmentId(cse.getId());
+
+        mockMvc.perform(post("/api/courses")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/courses/search").param("q", "quantum comp"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", org.hamcrest.Matchers.hasSize(1)))
+                .andExpect(jsonPath("$[0].code").value("CSE477"));
+
+        mockMvc.perform(get("/api/courses/autocomplete").param("prefix", "quan"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Quantum Compilers"));
+    }
+
+    @Test
+    void available_shouldListCoursesWithFreeSeats_andTrackEnrollments() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        givenStudent("student@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        Course small = givenCourse("CSE101", cse, teacher, 1);
+        givenCourse("CSE102", cse, teacher, 40);
+        String teacherToken = loginAndGetToken("teacher@ue.edu", "Secret123!");
+        String studentToken = loginAndGetToken("student@ue.edu", "Secret123!");
+
+        // Courses were written straight to the repository, so the index only learns about them here.
+        mockMvc.perform(post("/api/courses/open-seats/reconcile")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entriesRepaired").value(org.hamcrest.Matchers.greaterThanOrEqualTo(2)));
+
+        mockMvc.perform(get("/api/courses").param("available", "true").param("department", cse.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].code").value("CSE102"))
+                .andExpect(jsonPath("$[1].code").value("CSE101"));
+
+        mockMvc.perform(post("/api/enrollments/me")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\":" + small.getId() + "}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/courses").param("available", "true")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", org.hamcrest.Matchers.hasSize(1)))
+                .andExpect(jsonPath("$[0].code").value("CSE102"))
+                .andExpect(jsonPath("$[0].currentlyEnrolled").value(0));
+
+        mockMvc.perform(post("/api/courses/open-seats/reconcile")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.entriesRepaired").value(0));
+    }
+
+    @Test
+    void fields_shouldTrimListItems_andKeepRequestedNestedProperties() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        givenStudent("student@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        givenCourse("CSE101", cse, teacher, 30);
+        String studentToken = loginAndGetToken("student@ue.edu", "Secret123!");
+
+        mockMvc.perform(get("/api/courses").param("fields", "code,title")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].code").value("CSE101"))
+                .andExpect(jsonPath("$[0].title").exists())
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].teacher").doesNotExist())
+                .andExpect(jsonPath("$[0].department").doesNotExist());
+
+        mockMvc.perform(get("/api/courses").param("fields", "code, teacher.fullName, department")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].teacher.fullName").exists())
+                .andExpect(jsonPath("$[0].teacher.email").doesNotExist())
+                .andExpect(jsonPath("$[0].teacher.department").doesNotExist())
+                .andExpect(jsonPath("$[0].department.code").value("CSE"))
+                .andExpect(jsonPath("$[0].department.name").value("Computer Science"));
+    }
+
+    @Test
+    void summary_shouldListCatalogRows_inStatementsIndependentOfCatalogSize() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        givenStudent("student@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        Course course = givenCourse("CSE101", cse, teacher, 30);
+        givenCourse("CSE102", cse, teacher, 30);
+        String studentToken = loginAndGetToken("student@ue.edu", "Secret123!");
+        mockMvc.perform(post("/api/enrollments/me")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\":" + course.getId() + "}"))
+                .andExpect(status().isOk());
+
+        // Warm-up: the current term is cached after the first lookup
+        mockMvc.perform(get("/api/courses/summary").header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken))
+                .andExpect(status().isOk());
+        long fewCost = countStatements(() -> mockMvc.perform(get("/api/courses/summary")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$", org.hamcrest.Matchers.hasSize(2)))
+                .andExpect(jsonPath("$[0].code").value("CSE101"))
+                .andExpect(jsonPath("$[0].departmentCode").value("CSE"))
+                .andExpect(jsonPath("$[0].currentlyEnrolled").value(1))
+                .andExpect(jsonPath("$[0].teacher").doesNotExist())
+                .andExpect(jsonPath("$[1].currentlyEnrolled").value(0)));
+
+        for (int i = 3; i <= 12; i++) givenCourse("CSE1" + (i < 10 ? "0" : "") + i, cse, teacher, 30);
+        long manyCost = countStatements(() -> mockMvc.perform(get("/api/courses/summary")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", org.hamcrest.Matchers.hasSize(12))));
+
+        assertThat(manyCost).isEqualTo(fewCost);
+    }
+
+    @Test
+    void delete_shouldRunSameNumberOfStatements_regardlessOfEnrollmentCount() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        Course small = givenCourse("CSE101", cse, teacher, 50);
+        Course large = givenCourse("CSE102", cse, teacher, 50);
+        for (int i = 1; i <= 20; i++) {
+            Student s = givenStudent("s" + i + "@ue.edu", "Secret123!", cse, studentNo(i), StudentStatus.ACTIVE);
+            if (i <= 2) enrollmentRepository.save(Enrollment.builder().student(s).course(small).status(EnrollmentStatus.ENROLLED).build());
+            enrollmentRepository.save(Enrollment.builder().student(s).course(large).status(EnrollmentStatus.ENROLLED).build());
+        }
+        String teacherToken = loginAndGetToken("teacher@ue.edu", "Secret123!");
+
+        long smallCost = countStatements(() -> mockMvc.perform(delete("/api/courses/" + small.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(status().isOk()));
+        long largeCost = countStatements(() -> mockMvc.perform(delete("/api/courses/" + large.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(status().isOk()));
+
+        assertThat(largeCost).isPositive().isEqualTo(smallCost);
+        assertThat(enrollmentRepository.count()).isZero();
+        assertThat(courseRepository.count()).isZero();
+    }
+
+    @Test
+    void seatStream_shouldSendSnapshot_thenCoalescedChanges_forWatchedCoursesOnly() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        givenStudent("student@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        Course watched = givenCourse("CSE101", cse, teacher, 30);
+        Course other = givenCourse("CSE102", cse, teacher, 30);
+        mockMvc.perform(post("/api/courses/open-seats/reconcile")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + loginAndGetToken("teacher@ue.edu", "Secret123!")))
+                .andExpect(status().isOk());
+        String studentToken = loginAndGetToken("student@ue.edu", "Secret123!");
+
+        MvcResult stream = mockMvc.perform(get("/api/courses/seats/stream").param("courseIds", String.valueOf(watched.getId())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(stream.getResponse().getContentAsString())
+                .startsWith("event:seats")
+                .contains("\"courseId\":" + watched.getId() + ",\"capacity\":30,\"currentlyEnrolled\":0");
+
+        for (Course c : new Course[]{watched, other}) {
+            mockMvc.perform(post("/api/enrollments/me")
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"courseId\":" + c.getId() + "}"))
+                    .andExpect(status().isOk());
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!stream.getResponse().getContentAsString().contains("\"currentlyEnrolled\":1")) {
+            assertThat(System.currentTimeMillis()).as("seat change pushed within 5s").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+        assertThat(stream.getResponse().getContentAsString())
+                .contains("\"freeSeats\":29")
+                .doesNotContain("\"courseId\":" + other.getId());
+    }
+
+    @Test
+    void catalog_shouldAnswer304ForCurrentETag_andChangeETagWithSeatsAndEdits() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        givenStudent("student@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        Course course = givenCourse("CSE101", cse, teacher, 30);
+        String studentToken = loginAndGetToken("student@ue.edu", "Secret123!");
+
+        String etag = mockMvc.perform(get("/api/courses").header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/courses").header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        MvcResult enrolled = mockMvc.perform(post("/api/enrollments/me")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\":" + course.getId() + "}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String afterEnroll = mockMvc.perform(get("/api/courses").header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].currentlyEnrolled").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(afterEnroll).isNotEqualTo(etag);
+
+        // A drop changes no course row, only the enrollment's version
+        long enrollmentId = objectMapper.readTree(enrolled.getResponse().getContentAsString()).get("id").asLong();
+        mockMvc.perform(delete("/api/enrollments/me/" + enrollmentId).header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/courses/" + course.getId()).header(HttpHeaders.IF_NONE_MATCH, afterEnroll))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.currentlyEnrolled").value(0));
+
+        String single = mockMvc.perform(get("/api/courses/" + course.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/courses/" + course.getId()).header(HttpHeaders.IF_NONE_MATCH, single))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/courses/999999").header(HttpHeaders.IF_NONE_MATCH, single))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void catalog_shouldChangeETag_whenAnEnrollmentIsDeletedAndAnotherInserted() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        Student leaving = givenStudent("leaving@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        givenStudent("joining@ue.edu", "Secret123!", cse, studentNo(2), StudentStatus.ACTIVE);
+        Course first = givenCourse("CSE101", cse, teacher, 30);
+        Course second = givenCourse("CSE102", cse, teacher, 30);
+        String teacherToken = loginAndGetToken("teacher@ue.edu", "Secret123!");
+        enroll(loginAndGetToken("leaving@ue.edu", "Secret123!"), first);
+
+        String etag = mockMvc.perform(get("/api/courses").header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Same number of enrollments, all at version 0: only which rows they are has changed
+        mockMvc.perform(delete("/api/students/" + leaving.getId() + "/purge").header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(status().is2xxSuccessful());
+        enroll(loginAndGetToken("joining@ue.edu", "Secret123!"), second);
+
+        mockMvc.perform(get("/api/courses").header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.code == 'CSE101')].currentlyEnrolled").value(0))
+                .andExpect(jsonPath("$[?(@.code == 'CSE102')].currentlyEnrolled").value(1));
+    }
+
+    private void enroll(String studentToken, Course course) throws Exception {
+        mockMvc.perform(post("/api/enrollments/me")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\":" + course.getId() + "}"))
+                .andExpect(status().isOk());
+    }
 }
@@ -2,20 +2,35 @@ package com.universityofengineers.sms.controller;
 
 import com.universityofengineers.sms.dto.request.EnrollmentCreateRequest;
 import com.universityofengineers.sms.dto.request.GradeUpdateRequest;
+import com.universityofengineers.sms.dto.response.ConflictMetricsResponse;
 import com.universityofengineers.sms.entity.*;
+import com.universityofengineers.sms.service.ConflictMetrics;
 import com.universityofengineers.sms.support.IntegrationTestBase;
 import com.universityofengineers.sms.support.SmsIntegrationTest;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SmsIntegrationTest
 class EnrollmentControllerIT extends IntegrationTestBase {
 
+    @Autowired
+    private ConflictMetrics conflictMetrics;
+
     @Test
     void studentEnrollFlow_shouldCoverEnroll_list_drop_andTeacherGrade() throws Exception {
         Department cse = givenDepartment("CSE", "Computer Science");
@@ -155,4 +170,121 @@ class EnrollmentControllerIT extends IntegrationTestBase {
         mockMvc.perform(get("/api/enrollments"))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void retriedEnrollWithSameIdempotencyKey_shouldReplayOriginalResponse() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        givenStudent("student@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        Course course = givenCourse("CSE101", cse, teacher, 2);
+        String studentToken = loginAndGetToken("student@ue.edu", "Secret123!");
+        String body = "{\"courseId\":" + course.getId() + "}";
+
+        MvcResult first = mockMvc.perform(post("/api/enrollments/me")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken)
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Without the key this would fail with "Already enrolled in this course."
+        mockMvc.perform(post("/api/enrollments/me")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken)
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().json(first.getResponse().getContentAsString()));
+
+        mockMvc.perform(post("/api/enrollments/me")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken)
+                        .header("Idempotency-Key", "retry-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Already enrolled in this course."));
+    }
+
+    @Test
+    void concurrentEnrollmentsForLastSeat_shouldNotOverbook() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        Course course = givenCourse("CSE101", cse, teacher, 1);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            givenStudent("s" + i + "@ue.edu", "Secret123!", cse, studentNo(i), StudentStatus.ACTIVE);
+            tokens.add(loginAndGetToken("s" + i + "@ue.edu", "Secret123!"));
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(tokens.size());
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (String token : tokens) {
+                statuses.add(pool.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/api/enrollments/me")
+                                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content("{\"courseId\":" + course.getId() + "}"))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+
+            List<Integer> results = new ArrayList<>();
+            for (Future<Integer> f : statuses) results.add(f.get(30, TimeUnit.SECONDS));
+            // The offering row serialises the seat UPDATEs; the losers see the course as full
+            assertThat(results).containsOnly(200, 400).containsOnlyOnce(200);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(enrollmentRepository.countByCourseIdAndStatusAndTermId(course.getId(), EnrollmentStatus.ENROLLED, currentTerm.getId()))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void concurrentEnrollmentsWithFreeSeats_shouldAllSucceed_withoutConflicts() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        Course course = givenCourse("CSE101", cse, teacher, 10);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            givenStudent("s" + i + "@ue.edu", "Secret123!", cse, studentNo(i), StudentStatus.ACTIVE);
+            tokens.add(loginAndGetToken("s" + i + "@ue.edu", "Secret123!"));
+        }
+        long conflictsBefore = conflicts();
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(tokens.size());
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (String token : tokens) {
+                statuses.add(pool.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/api/enrollments/me")
+                                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content("{\"courseId\":" + course.getId() + "}"))
+                            .andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+
+            List<Integer> results = new ArrayList<>();
+            for (Future<Integer> f : statuses) results.add(f.get(30, TimeUnit.SECONDS));
+            assertThat(results).containsOnly(200);
+        } finally {
+            pool.shutdownNow();
+        }
+        // Enrollments queue on the offering row instead of failing on a version conflict
+        assertThat(conflicts()).isEqualTo(conflictsBefore);
+        assertThat(courseOfferingRepository.findByCourseIdAndTermId(course.getId(), currentTerm.getId()).orElseThrow()
+                .getEnrolledCount()).isEqualTo(4);
+    }
+
+    private long conflicts() {
+        return conflictMetrics.snapshot().stream().mapToLong(ConflictMetricsResponse::getConflicts).sum();
+    }
 }
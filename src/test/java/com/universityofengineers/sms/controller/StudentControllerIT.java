@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -117,4 +118,263 @@ class StudentControllerIT extends IntegrationTestBase {
                 .andExpect(jsonPath("$.message").value("Validation failed."))
                 .andExpect(jsonPath("$.details.fieldErrors.fullName").exists());
     }
+
+    @Test
+    void update_shouldReturn409_whenMadeFromAnOlderVersion() throws Exception {
+        Department dept = givenDepartment("CSE", "Computer Science");
+        givenTeacher("teacher@ue.edu", "Secret123!", dept, "UE-T-000001", TeacherTitle.PROFESSOR);
+        String teacherToken = loginAndGetToken("teacher@ue.edu", "Secret123!");
+        Student student = givenStudent("student@ue.edu", "Secret123!", dept, studentNo(1), StudentStatus.ACTIVE);
+        long loaded = student.getVersion();
+
+        StudentUpdateRequest first = new StudentUpdateRequest();
+        first.setFullName("First Editor");
+        first.setDepartmentId(dept.getId());
+        first.setVersion(loaded);
+        mockMvc.perform(put("/api/students/" + student.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(first)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(loaded + 1));
+
+        // A second editor who loaded the same version would overwrite the first change
+        StudentUpdateRequest second = new StudentUpdateRequest();
+        second.setFullName("Second Editor");
+        second.setDepartmentId(dept.getId());
+        second.setVersion(loaded);
+        mockMvc.perform(put("/api/students/" + student.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(second)))
+                .andExpect(status().isConflict());
+
+        assertThat(studentRepository.findById(student.getId()).orElseThrow().getFullName()).isEqualTo("First Editor");
+    }
+
+    @Test
+    void dashboard_shouldAggregateProfileEnrollmentsCatalogAndGpa() throws Exception {
+        Department dept = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", dept, "UE-T-000001", TeacherTitle.PROFESSOR);
+        Student student = givenStudent("student@ue.edu", "Secret123!", dept, studentNo(1), StudentStatus.ACTIVE);
+        Course graded = givenCourse("CSE101", dept, teacher, 10);
+        givenCourse("CSE102", dept, teacher, 10);
+
+        Enrollment enrollment = enrollmentRepository.save(Enrollment.builder()
+                .student(student).course(graded).status(EnrollmentStatus.ENROLLED).build());
+
+        String teacherToken = loginAndGetToken("teacher@ue.edu", "Secret123!");
+        String studentToken = loginAndGetToken("student@ue.edu", "Secret123!");
+
+        mockMvc.perform(put("/api/enrollments/" + enrollment.getId() + "/grade")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"grade\":\"B\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/students/me/dashboard")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.profile.id").value(student.getId()))
+                .andExpect(jsonPath("$.enrollments", org.hamcrest.Matchers.hasSize(1)))
+                .andExpect(jsonPath("$.enrollments[0].courseCredit").value(3.0))
+                .andExpect(jsonPath("$.courses", org.hamcrest.Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.gpa").value(3.0))
+                .andExpect(jsonPath("$.completedCredits").value(3.0));
+    }
+
+    @Test
+    void gpaRecompute_shouldRepairDriftedRecords() throws Exception {
+        Department dept = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", dept, "UE-T-000001", TeacherTitle.PROFESSOR);
+        Student student = givenStudent("student@ue.edu", "Secret123!", dept, studentNo(1), StudentStatus.ACTIVE);
+        Course course = givenCourse("CSE101", dept, teacher, 10);
+
+        // Written behind the engine's back, so no aggregate exists yet.
+        enrollmentRepository.save(Enrollment.builder()
+                .student(student).course(course).status(EnrollmentStatus.COMPLETED).grade("A").build());
+
+        String teacherToken = loginAndGetToken("teacher@ue.edu", "Secret123!");
+
+        mockMvc.perform(post("/api/students/gpa/recompute")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recordsRepaired").value(1));
+
+        mockMvc.perform(get("/api/students/" + student.getId() + "/gpa")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gpa").value(4.0))
+                .andExpect(jsonPath("$.gradedCredits").value(3.0));
+    }
+
+    @Test
+    void search_shouldMatchNameEmailAndStudentNo_andPage() throws Exception {
+        Department dept = givenDepartment("CSE", "Computer Science");
+        givenTeacher("teacher@ue.edu", "Secret123!", dept, "UE-T-000001", TeacherTitle.PROFESSOR);
+        Student alice = givenStudent("alice@ue.edu", "Secret123!", dept, studentNo(1), StudentStatus.ACTIVE);
+        alice.setFullName("Alice Rahman");
+        studentRepository.save(alice);
+        Student bob = givenStudent("bob@ue.edu", "Secret123!", dept, studentNo(2), StudentStatus.ACTIVE);
+        bob.setFullName("Bob Rahman");
+        studentRepository.save(bob);
+        String teacherToken = loginAndGetToken("teacher@ue.edu", "Secret123!");
+
+        mockMvc.perform(get("/api/students/search").param("q", "ALICE@")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", org.hamcrest.Matchers.hasSize(1)))
+                .andExpect(jsonPath("$.content[0].fullName").value("Alice Rahman"));
+
+        mockMvc.perform(get("/api/students/search").param("q", studentNo(2))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].email").value("bob@ue.edu"));
+
+        mockMvc.perform(get("/api/students/search").param("q", "rahman").param("size", "1")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", org.hamcrest.Matchers.hasSize(1)))
+                .andExpect(jsonPath("$.content[0].fullName").value("Alice Rahman"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        mockMvc.perform(get("/api/students/search").param("q", "rahman").param("page", "1").param("size", "1")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].fullName").value("Bob Rahman"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        mockMvc.perform(get("/api/students/search").param("q", "a")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void summary_shouldListProjectionRows_andFieldsShouldTrimPagedContent() throws Exception {
+        Department dept = givenDepartment("CSE", "Computer Science");
+        givenTeacher("teacher@ue.edu", "Secret123!", dept, "UE-T-000001", TeacherTitle.PROFESSOR);
+        givenStudent("alice@ue.edu", "Secret123!", dept, studentNo(1), StudentStatus.ACTIVE);
+        givenStudent("bob@ue.edu", "Secret123!", dept, studentNo(2), StudentStatus.SUSPENDED);
+        String teacherToken = loginAndGetToken("teacher@ue.edu", "Secret123!");
+
+        mockMvc.perform(get("/api/students/summary").header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", org.hamcrest.Matchers.hasSize(2)))
+                .andExpect(jsonPath("$[0].studentNo").value(studentNo(1)))
+                .andExpect(jsonPath("$[0].email").value("alice@ue.edu"))
+                .andExpect(jsonPath("$[0].departmentCode").value("CSE"))
+                .andExpect(jsonPath("$[1].status").value("SUSPENDED"));
+
+        mockMvc.perform(get("/api/students/search").param("q", "UE-").param("fields", "email")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.content[0].email").exists())
+                .andExpect(jsonPath("$.content[0].fullName").doesNotExist())
+                .andExpect(jsonPath("$.content[0].department").doesNotExist());
+
+        String studentToken = loginAndGetToken("alice@ue.edu", "Secret123!");
+        mockMvc.perform(get("/api/students/summary").header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void purge_shouldRunSameNumberOfStatements_regardlessOfEnrollmentCount() throws Exception {
+        Department dept = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", dept, "UE-T-000001", TeacherTitle.PROFESSOR);
+        Student few = givenStudent("few@ue.edu", "Secret123!", dept, studentNo(1), StudentStatus.ACTIVE);
+        Student many = givenStudent("many@ue.edu", "Secret123!", dept, studentNo(2), StudentStatus.ACTIVE);
+        for (int i = 1; i <= 15; i++) {
+            Course c = givenCourse("CSE" + (100 + i), dept, teacher, 10);
+            if (i <= 2) enrollmentRepository.save(Enrollment.builder().student(few).course(c).status(EnrollmentStatus.ENROLLED).build());
+            enrollmentRepository.save(Enrollment.builder().student(many).course(c)
+                    .status(i % 2 == 0 ? EnrollmentStatus.COMPLETED : EnrollmentStatus.ENROLLED).grade(i % 2 == 0 ? "A" : null).build());
+        }
+        String teacherToken = loginAndGetToken("teacher@ue.edu", "Secret123!");
+
+        long fewCost = countStatements(() -> mockMvc.perform(delete("/api/students/" + few.getId() + "/purge")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(status().isOk()));
+        long manyCost = countStatements(() -> mockMvc.perform(delete("/api/students/" + many.getId() + "/purge")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(status().isOk()));
+
+        assertThat(manyCost).isPositive().isEqualTo(fewCost);
+        assertThat(enrollmentRepository.count()).isZero();
+        assertThat(studentRepository.count()).isZero();
+        assertThat(userAccountRepository.findByEmail("many@ue.edu")).isEmpty();
+    }
+
+    @Test
+    void bulkStatus_shouldTransitionFilteredCohort_andWriteAuditBatch() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Department eee = givenDepartment("EEE", "Electrical Engineering");
+        givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        Student a = givenStudent("a@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        givenStudent("b@ue.edu", "Secret123!", cse, studentNo(2), StudentStatus.ACTIVE);
+        givenStudent("c@ue.edu", "Secret123!", cse, studentNo(3), StudentStatus.SUSPENDED);
+        givenStudent("d@ue.edu", "Secret123!", cse, studentNo(9), StudentStatus.ACTIVE);
+        Student other = givenStudent("e@ue.edu", "Secret123!", eee, studentNo(4), StudentStatus.ACTIVE);
+        String teacherToken = loginAndGetToken("teacher@ue.edu", "Secret123!");
+
+        String body = "{\"status\":\"GRADUATED\",\"departmentId\":" + cse.getId()
+                + ",\"studentNoFrom\":\"" + studentNo(1) + "\",\"studentNoTo\":\"" + studentNo(5) + "\"}";
+
+        mockMvc.perform(post("/api/students/status/bulk")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(3))
+                .andExpect(jsonPath("$.updatedByPreviousStatus.ACTIVE").value(2))
+                .andExpect(jsonPath("$.updatedByPreviousStatus.SUSPENDED").value(1));
+
+        assertThat(studentRepository.findById(a.getId()).orElseThrow().getStatus()).isEqualTo(StudentStatus.GRADUATED);
+        assertThat(studentRepository.findById(other.getId()).orElseThrow().getStatus()).isEqualTo(StudentStatus.ACTIVE);
+        assertThat(studentStatusAuditRepository.findByStudentIdOrderByChangedAtDesc(a.getId()))
+                .singleElement()
+                .satisfies(row -> assertThat(row.getOldStatus()).isEqualTo(StudentStatus.ACTIVE));
+
+        // Re-running is a no-op: students already GRADUATED are skipped and get no new audit rows.
+        mockMvc.perform(post("/api/students/status/bulk")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(0));
+        assertThat(studentStatusAuditRepository.count()).isEqualTo(3);
+
+        mockMvc.perform(post("/api/students/status/bulk")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"SUSPENDED\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void me_shouldAnswer304UntilProfileChanges() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        givenStudent("student@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        String token = loginAndGetToken("student@ue.edu", "Secret123!");
+
+        String etag = mockMvc.perform(get("/api/students/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/students/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        StudentUpdateMeRequest req = new StudentUpdateMeRequest();
+        req.setPhone("01800000000");
+        mockMvc.perform(put("/api/students/me")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/students/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.phone").value("01800000000"));
+    }
 }
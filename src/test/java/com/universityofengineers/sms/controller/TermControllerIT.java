@@ -0,0 +1,75 @@
+package com.universityofengineers.sms.controller;
+
+import com.universityofengineers.sms.entity.*;
+import com.universityofengineers.sms.support.IntegrationTestBase;
+import com.universityofengineers.sms.support.SmsIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SmsIntegrationTest
+class TermControllerIT extends IntegrationTestBase {
+
+    @Test
+    void activatingNewTerm_shouldCloseOldOne_andScopeSeatsAndOfferingsToIt() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        Student previous = givenStudent("old@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        givenStudent("new@ue.edu", "Secret123!", cse, studentNo(2), StudentStatus.ACTIVE);
+        Course single = givenCourse("CSE101", cse, teacher, 1);
+        Course notOffered = givenCourse("CSE102", cse, teacher, 10);
+        // The only seat is taken in the current term
+        enrollmentRepository.save(Enrollment.builder().student(previous).course(single).term(currentTerm)
+                .status(EnrollmentStatus.ENROLLED).build());
+        String teacherToken = loginAndGetToken("teacher@ue.edu", "Secret123!");
+        String studentToken = loginAndGetToken("new@ue.edu", "Secret123!");
+
+        MvcResult created = mockMvc.perform(post("/api/terms")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"code\":\"2027-spring\",\"name\":\"Spring 2027\",\"startsOn\":\"2027-01-10\",\"endsOn\":\"2027-05-30\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("2027-SPRING"))
+                .andExpect(jsonPath("$.status").value("PLANNED"))
+                .andReturn();
+        Long termId = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+
+        mockMvc.perform(post("/api/terms/" + termId + "/offerings")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\":" + single.getId() + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courseCode").value("CSE101"));
+
+        mockMvc.perform(post("/api/terms/" + termId + "/activate")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("ACTIVE"));
+        assertThat(termRepository.findById(currentTerm.getId()).orElseThrow().getStatus()).isEqualTo(TermStatus.CLOSED);
+
+        // Last term's enrollment does not hold a seat in the new term
+        mockMvc.perform(post("/api/enrollments/me")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\":" + single.getId() + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.termId").value(termId));
+
+        mockMvc.perform(post("/api/enrollments/me")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\":" + notOffered.getId() + "}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Course is not offered in the current term."));
+
+        mockMvc.perform(get("/api/terms/current")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(termId));
+    }
+}
@@ -0,0 +1,127 @@
+package com.universityofengineers.sms.controller;
+
+import com.universityofengineers.sms.entity.*;
+import com.universityofengineers.sms.support.IntegrationTestBase;
+import com.universityofengineers.sms.support.SmsIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// A small MVC async pool and one student per chunk, so concurrent exports outnumber the pool's threads
+@SmsIntegrationTest
+@TestPropertySource(properties = {
+        "spring.task.execution.pool.core-size=2",
+        "app.transcripts.chunk-size=1"
+})
+class TranscriptControllerIT extends IntegrationTestBase {
+
+    @Test
+    void studentTranscript_shouldListCoursesWithTermAndCumulativeGpa() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        Student student = givenStudent("student@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        Course a = givenCourse("CSE101", cse, teacher, 10);
+        Course b = givenCourse("CSE102", cse, teacher, 10);
+        Course dropped = givenCourse("CSE103", cse, teacher, 10);
+
+        enrollmentRepository.save(Enrollment.builder().student(student).course(a).status(EnrollmentStatus.COMPLETED).grade("A").build());
+        enrollmentRepository.save(Enrollment.builder().student(student).course(b).status(EnrollmentStatus.COMPLETED).grade("C").build());
+        enrollmentRepository.save(Enrollment.builder().student(student).course(dropped).status(EnrollmentStatus.DROPPED).build());
+
+        String studentToken = loginAndGetToken("student@ue.edu", "Secret123!");
+
+        mockMvc.perform(get("/api/transcripts/me")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.studentNo").value(student.getStudentNo()))
+                .andExpect(jsonPath("$.terms[0].courses", org.hamcrest.Matchers.hasSize(2)))
+                .andExpect(jsonPath("$.terms[0].termGpa").value(3.0))
+                .andExpect(jsonPath("$.cumulativeGpa").value(3.0))
+                .andExpect(jsonPath("$.completedCredits").value(6.0));
+    }
+
+    @Test
+    void cohortTranscripts_shouldStreamOneDocumentPerStudentAsZip() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Department eee = givenDepartment("EEE", "Electrical");
+        givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        givenStudent("s1@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.GRADUATED);
+        givenStudent("s2@ue.edu", "Secret123!", cse, studentNo(2), StudentStatus.GRADUATED);
+        givenStudent("s3@ue.edu", "Secret123!", cse, studentNo(3), StudentStatus.ACTIVE);
+        givenStudent("s4@ue.edu", "Secret123!", eee, studentNo(4), StudentStatus.GRADUATED);
+
+        String teacherToken = loginAndGetToken("teacher@ue.edu", "Secret123!");
+
+        MvcResult started = mockMvc.perform(get("/api/transcripts/cohort")
+                        .param("departmentId", String.valueOf(cse.getId()))
+                        .param("status", "GRADUATED")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult done = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(done.getResponse().getContentAsByteArray()))) {
+            for (ZipEntry e = zip.getNextEntry(); e != null; e = zip.getNextEntry()) {
+                names.add(e.getName());
+            }
+        }
+        assertThat(names).containsExactly("transcript-" + studentNo(1) + ".txt", "transcript-" + studentNo(2) + ".txt");
+    }
+
+    @Test
+    void cohortTranscripts_shouldComplete_whenMoreExportsRunThanTheAsyncPoolHasThreads() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        for (int i = 1; i <= 5; i++) {
+            givenStudent("s" + i + "@ue.edu", "Secret123!", cse, studentNo(i), StudentStatus.GRADUATED);
+        }
+        String teacherToken = loginAndGetToken("teacher@ue.edu", "Secret123!");
+
+        int exports = 6;
+        ExecutorService clients = Executors.newFixedThreadPool(exports);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < exports; i++) {
+                results.add(clients.submit(() -> {
+                    MvcResult started = mockMvc.perform(get("/api/transcripts/cohort")
+                                    .param("departmentId", String.valueOf(cse.getId()))
+                                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                            .andExpect(request().asyncStarted())
+                            .andReturn();
+                    MvcResult done = mockMvc.perform(asyncDispatch(started))
+                            .andExpect(status().isOk())
+                            .andReturn();
+                    int entries = 0;
+                    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(done.getResponse().getContentAsByteArray()))) {
+                        while (zip.getNextEntry() != null) entries++;
+                    }
+                    return entries;
+                }));
+            }
+            for (Future<Integer> result : results) {
+                assertThat(result.get(30, TimeUnit.SECONDS)).isEqualTo(5);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+}
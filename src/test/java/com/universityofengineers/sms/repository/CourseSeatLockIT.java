@@ -0,0 +1,110 @@
+package com.universityofengineers.sms.repository;
+
+import com.universityofengineers.sms.entity.*;
+import com.universityofengineers.sms.support.PostgresIntegrationTestBase;
+import com.universityofengineers.sms.support.SmsIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The lock protocol between enrolling (findForEnrollmentById + takeSeat) and a capacity change
+ * (findForUpdateById + enrolled_count check) on PostgreSQL row locks: whichever runs first, the other sees
+ * its committed result, so a course never ends up with more seats taken than its capacity.
+ */
+@SmsIntegrationTest
+class CourseSeatLockIT extends PostgresIntegrationTestBase {
+
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private final ExecutorService threads = Executors.newFixedThreadPool(2);
+    private TransactionTemplate tx;
+    private Course course;
+
+    @BeforeEach
+    void nineOfTwentySeatsTaken() {
+        tx = new TransactionTemplate(transactionManager);
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        course = givenCourse("CSE101", cse, teacher, 20);
+        CourseOffering offering = courseOfferingRepository.findByCourseIdAndTermId(course.getId(), currentTerm.getId()).orElseThrow();
+        offering.setEnrolledCount(9);
+        courseOfferingRepository.save(offering);
+    }
+
+    @AfterEach
+    void stopThreads() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    void capacityChange_shouldWaitForAnEnrollmentInFlight_andSeeItsSeat() throws Exception {
+        CountDownLatch courseHeld = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Future<Integer> enroll = threads.submit(() -> tx.execute(status -> {
+            courseRepository.findForEnrollmentById(course.getId()).orElseThrow();
+            courseHeld.countDown();
+            await(finish);
+            return courseOfferingRepository.takeSeat(course.getId(), currentTerm.getId());
+        }));
+        assertThat(courseHeld.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<Integer> seatsSeenByUpdate = threads.submit(() -> tx.execute(status -> {
+            courseRepository.findForUpdateById(course.getId()).orElseThrow();
+            return courseOfferingRepository.findByCourseIdAndTermId(course.getId(), currentTerm.getId())
+                    .orElseThrow().getEnrolledCount();
+        }));
+        assertBlocked(seatsSeenByUpdate);
+
+        finish.countDown();
+        assertThat(enroll.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        // 10 taken: lowering the capacity to 9 is rejected
+        assertThat(seatsSeenByUpdate.get(5, TimeUnit.SECONDS)).isEqualTo(10);
+    }
+
+    @Test
+    void enrollment_shouldWaitForACapacityChangeInFlight_andCompareAgainstTheNewCapacity() throws Exception {
+        CountDownLatch courseHeld = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Future<?> update = threads.submit(() -> tx.executeWithoutResult(status -> {
+            Course c = courseRepository.findForUpdateById(course.getId()).orElseThrow();
+            courseHeld.countDown();
+            c.setCapacity(9);
+            courseRepository.saveAndFlush(c);
+            await(finish);
+        }));
+        assertThat(courseHeld.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<Integer> enroll = threads.submit(() -> tx.execute(status -> {
+            courseRepository.findForEnrollmentById(course.getId()).orElseThrow();
+            return courseOfferingRepository.takeSeat(course.getId(), currentTerm.getId());
+        }));
+        assertBlocked(enroll);
+
+        finish.countDown();
+        update.get(5, TimeUnit.SECONDS);
+        assertThat(enroll.get(5, TimeUnit.SECONDS)).isZero();
+        assertThat(courseOfferingRepository.findByCourseIdAndTermId(course.getId(), currentTerm.getId())
+                .orElseThrow().getEnrolledCount()).isEqualTo(9);
+    }
+
+    private static void assertBlocked(Future<?> future) throws Exception {
+        Thread.sleep(300);
+        assertThat(future.isDone()).as("waits for the other transaction's row lock").isFalse();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.universityofengineers.sms.repository;
+
+import com.universityofengineers.sms.entity.*;
+import com.universityofengineers.sms.support.PostgresIntegrationTestBase;
+import com.universityofengineers.sms.support.SmsIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The student directory search as production runs it: the UNION over the pg_trgm indexes of changeset 008,
+ * ranked by the best branch a student matches. H2 only runs the LIKE fallback.
+ */
+@SmsIntegrationTest
+class TrigramStudentDirectorySearchIT extends PostgresIntegrationTestBase {
+
+    private String teacherToken;
+
+    @BeforeEach
+    void directory() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        givenNamedStudent("alice@ue.edu", 1, "Alice Rahman", cse);
+        givenNamedStudent("bob@ue.edu", 2, "Bob Rahman", cse);
+        givenNamedStudent("nusrat@ue.edu", 3, "Nusrat Chowdhury", cse);
+        givenNamedStudent("rahmani.k@ue.edu", 4, "Karim Rahmani", cse);
+        teacherToken = loginAndGetToken("teacher@ue.edu", "Secret123!");
+    }
+
+    @Test
+    void search_shouldFindMisspelledNames_bySimilarity() throws Exception {
+        search("Chowdhry", 0, 20)
+                .andExpect(jsonPath("$.content[*].fullName", contains("Nusrat Chowdhury")));
+    }
+
+    @Test
+    void search_shouldFindNameSubstrings_andEmailAndStudentNoPrefixes() throws Exception {
+        search("owdh", 0, 20)
+                .andExpect(jsonPath("$.content[*].fullName", contains("Nusrat Chowdhury")));
+        search("NUSRAT@", 0, 20)
+                .andExpect(jsonPath("$.content[*].fullName", contains("Nusrat Chowdhury")));
+        search(studentNo(2), 0, 20)
+                .andExpect(jsonPath("$.content[*].fullName", contains("Bob Rahman")));
+    }
+
+    @Test
+    void search_shouldRankBestMatchesFirst_andPageInRankOrder() throws Exception {
+        // Karim's email starts with the query (0.9); the other two only contain it in their names (0.8, ties by id)
+        search("rahman", 0, 2)
+                .andExpect(jsonPath("$.content[*].fullName", contains("Karim Rahmani", "Alice Rahman")))
+                .andExpect(jsonPath("$.hasNext").value(true));
+        search("rahman", 1, 2)
+                .andExpect(jsonPath("$.content[*].fullName", contains("Bob Rahman")))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    private ResultActions search(String q, int page, int size) throws Exception {
+        return mockMvc.perform(get("/api/students/search")
+                        .param("q", q).param("page", String.valueOf(page)).param("size", String.valueOf(size))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + teacherToken))
+                .andExpect(status().isOk());
+    }
+
+    private void givenNamedStudent(String email, int n, String fullName, Department dept) {
+        Student s = givenStudent(email, "Secret123!", dept, studentNo(n), StudentStatus.ACTIVE);
+        s.setFullName(fullName);
+        studentRepository.save(s);
+    }
+}
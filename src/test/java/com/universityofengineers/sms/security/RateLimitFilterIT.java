@@ -0,0 +1,89 @@
+package com.universityofengineers.sms.security;
+
+import com.universityofengineers.sms.dto.request.EnrollmentCreateRequest;
+import com.universityofengineers.sms.dto.request.LoginRequest;
+import com.universityofengineers.sms.entity.*;
+import com.universityofengineers.sms.support.IntegrationTestBase;
+import com.universityofengineers.sms.support.SmsIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SmsIntegrationTest
+@TestPropertySource(properties = {
+        "app.rate-limit.enabled=true",
+        "app.rate-limit.per-email.capacity=3",
+        "app.rate-limit.per-email.refill-per-minute=1",
+        "app.rate-limit.groups.auth.per-ip.capacity=6",
+        "app.rate-limit.groups.auth.per-ip.refill-per-minute=1",
+        "app.rate-limit.groups.enrollment.per-account.capacity=2",
+        "app.rate-limit.groups.enrollment.per-account.refill-per-minute=1"
+})
+class RateLimitFilterIT extends IntegrationTestBase {
+
+    @Test
+    void login_shouldBeLimitedPerEmail_andThenPerIp() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        givenStudent("victim@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+
+        for (int i = 0; i < 3; i++) {
+            login("victim@ue.edu", "wrong-" + i, "10.0.0." + i).andExpect(status().isUnauthorized());
+        }
+        // Even the right password is not checked any more for this address, from any IP.
+        login("victim@ue.edu", "Secret123!", "10.0.0.99")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "60"));
+
+        // Spraying other addresses from one IP runs into the per-IP bucket.
+        for (int i = 0; i < 6; i++) {
+            login("nobody" + i + "@ue.edu", "whatever", "10.1.1.1").andExpect(status().isUnauthorized());
+        }
+        login("nobody9@ue.edu", "whatever", "10.1.1.1")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.status").value(429));
+    }
+
+    @Test
+    void enrollWrites_shouldBeLimitedPerAccount_readsAreNot() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        givenStudent("student@ue.edu", "Secret123!", cse, studentNo(2), StudentStatus.ACTIVE);
+        Course course = givenCourse("CSE101", cse, teacher, 10);
+        String token = loginAndGetToken("student@ue.edu", "Secret123!");
+
+        EnrollmentCreateRequest req = new EnrollmentCreateRequest();
+        req.setCourseId(course.getId());
+        String body = objectMapper.writeValueAsString(req);
+
+        mockMvc.perform(post("/api/enrollments/me").headers(bearer(token)).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/enrollments/me").headers(bearer(token)).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/enrollments/me").headers(bearer(token)).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        mockMvc.perform(get("/api/enrollments/me").headers(bearer(token)))
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions login(String email, String password, String ip) throws Exception {
+        LoginRequest req = new LoginRequest();
+        req.setEmail(email);
+        req.setPassword(password);
+        return mockMvc.perform(post("/api/auth/login")
+                .with(r -> {
+                    r.setRemoteAddr(ip);
+                    return r;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(req)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.universityofengineers.sms.security;
+
+import com.universityofengineers.sms.entity.*;
+import com.universityofengineers.sms.repository.TokenRevocationRepository;
+import com.universityofengineers.sms.support.IntegrationTestBase;
+import com.universityofengineers.sms.support.SmsIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SmsIntegrationTest
+class TokenRevocationIT extends IntegrationTestBase {
+
+    @Autowired private TokenRevocationList tokenRevocationList;
+    @Autowired private TokenRevocationRepository tokenRevocationRepository;
+
+    @Test
+    void disablingStudent_shouldRejectTokensAlreadyIssued() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        Student student = givenStudent("student@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        String teacherToken = loginAndGetToken("teacher@ue.edu", "Secret123!");
+        String studentToken = loginAndGetToken("student@ue.edu", "Secret123!");
+
+        mockMvc.perform(get("/api/students/me").headers(bearer(studentToken))).andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/students/" + student.getId()).headers(bearer(teacherToken)))
+                .andExpect(status().is2xxSuccessful());
+
+        mockMvc.perform(get("/api/students/me").headers(bearer(studentToken))).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/students").headers(bearer(teacherToken))).andExpect(status().isOk());
+    }
+
+    @Test
+    void logout_shouldRevokeOnlyThatToken_andReachOtherNodesThroughRefresh() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        String first = loginAndGetToken("teacher@ue.edu", "Secret123!");
+        String second = loginAndGetToken("teacher@ue.edu", "Secret123!");
+
+        mockMvc.perform(post("/api/auth/logout").headers(bearer(first))).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/teachers/me").headers(bearer(first))).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/teachers/me").headers(bearer(second))).andExpect(status().isOk());
+
+        // The row is what other nodes load; refreshing again is idempotent.
+        assertThat(tokenRevocationRepository.count()).isGreaterThanOrEqualTo(1);
+        tokenRevocationList.refresh();
+        mockMvc.perform(get("/api/teachers/me").headers(bearer(first))).andExpect(status().isUnauthorized());
+    }
+}
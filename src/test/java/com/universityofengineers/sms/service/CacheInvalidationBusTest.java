@@ -0,0 +1,116 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.config.CacheInvalidationProperties;
+import com.universityofengineers.sms.security.TokenRevocationList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock private CourseSearchIndexLoader courseSearchIndexLoader;
+    @Mock private OpenSeatsReconciler openSeatsReconciler;
+    @Mock private SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
+    @Mock private TokenRevocationList tokenRevocationList;
+
+    private final CacheInvalidationProperties properties = new CacheInvalidationProperties();
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = new CacheInvalidationBus(properties, courseSearchIndexLoader, openSeatsReconciler,
+                seatAvailabilityBroadcaster, tokenRevocationList);
+    }
+
+    @Test
+    void notifications_shouldBeCoalescedIntoOneRefreshPerCache() {
+        for (int i = 0; i < 50; i++) bus.received("seats:7");
+        bus.received("course:5");
+        bus.received("course:5");
+        bus.received("teacher:2");
+
+        bus.drain();
+
+        verify(courseSearchIndexLoader).refresh(Set.of(5L), Set.of(2L), Set.of());
+        verify(openSeatsReconciler).refresh(Set.of(5L, 7L));
+        verify(seatAvailabilityBroadcaster).seatsChanged(Set.of(5L, 7L));
+        verifyNoInteractions(tokenRevocationList);
+        assertThat(bus.status().getNotificationsReceived()).isEqualTo(53);
+        assertThat(bus.status().getBatchesApplied()).isEqualTo(1);
+
+        bus.drain();
+        verifyNoMoreInteractions(courseSearchIndexLoader, openSeatsReconciler);
+    }
+
+    @Test
+    void termAndRevocationChanges_shouldReloadTheirCacheAsAWhole() {
+        bus.received("seats:7");
+        bus.received("term:3");
+        bus.received("revocation:");
+
+        bus.drain();
+
+        verify(openSeatsReconciler).reconcile();
+        verify(openSeatsReconciler, never()).refresh(any());
+        verify(tokenRevocationList).refresh();
+        verifyNoInteractions(courseSearchIndexLoader);
+    }
+
+    @Test
+    void reconnect_shouldFlushEverything_onlyOnce() {
+        bus.connected(false);
+        bus.drain();
+        verifyNoInteractions(courseSearchIndexLoader, openSeatsReconciler, tokenRevocationList);
+
+        bus.disconnected(new java.sql.SQLException("connection reset"));
+        assertThat(bus.status().isListening()).isFalse();
+        bus.connected(true);
+        bus.received("seats:7");
+        bus.drain();
+        bus.drain();
+
+        verify(courseSearchIndexLoader).reload();
+        verify(openSeatsReconciler).reconcile();
+        verify(openSeatsReconciler, never()).refresh(any());
+        verify(tokenRevocationList).refresh();
+        assertThat(bus.status().getFullFlushes()).isEqualTo(1);
+        assertThat(bus.status().getReconnects()).isEqualTo(1);
+        assertThat(bus.status().getLastError()).contains("connection reset");
+    }
+
+    @Test
+    void unknownPayloadOrTooManyKeys_shouldFallBackToFullFlush() {
+        bus.received("enrollment-archive:1");
+        bus.drain();
+        verify(courseSearchIndexLoader, times(1)).reload();
+
+        properties.setMaxPendingKeys(3);
+        for (long id = 1; id <= 4; id++) bus.received("seats:" + id);
+        bus.drain();
+        verify(courseSearchIndexLoader, times(2)).reload();
+        verify(openSeatsReconciler, never()).refresh(any());
+    }
+
+    @Test
+    void failedRound_shouldBeRetriedAsFullFlush() {
+        doThrow(new IllegalStateException("database down")).when(openSeatsReconciler).refresh(anyCollection());
+        bus.received("seats:7");
+
+        bus.drain();
+        assertThat(bus.status().getBatchesApplied()).isZero();
+
+        bus.drain();
+        verify(courseSearchIndexLoader).reload();
+        verify(openSeatsReconciler).reconcile();
+        assertThat(bus.status().getBatchesApplied()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,72 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.config.ConflictRetryProperties;
+import com.universityofengineers.sms.dto.response.ConflictMetricsResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConflictRetryAspectTest {
+
+    static class Target {
+        final AtomicInteger calls = new AtomicInteger();
+        int failuresLeft;
+
+        @RetryOnConflict
+        public String save() {
+            calls.incrementAndGet();
+            if (failuresLeft-- > 0) throw new ObjectOptimisticLockingFailureException(Target.class, 1L);
+            return "saved";
+        }
+
+        @RetryOnConflict(maxAttempts = 1)
+        public String saveOnce() {
+            calls.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Target.class, 1L);
+        }
+    }
+
+    private final ConflictRetryProperties properties = new ConflictRetryProperties();
+    private final ConflictMetrics metrics = new ConflictMetrics();
+    private final Target target = new Target();
+    private final Target proxy;
+
+    ConflictRetryAspectTest() {
+        properties.setBaseBackoffMillis(1);
+        properties.setMaxBackoffMillis(2);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ConflictRetryAspect(properties, metrics));
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    void conflict_shouldBeRetried_untilItSucceeds_andBeCounted() {
+        target.failuresLeft = 2;
+
+        assertThat(proxy.save()).isEqualTo("saved");
+
+        assertThat(target.calls).hasValue(3);
+        ConflictMetricsResponse m = metrics.snapshot().get(0);
+        assertThat(m.getMethod()).isEqualTo("Target.save");
+        assertThat(m.getCalls()).isEqualTo(1);
+        assertThat(m.getConflicts()).isEqualTo(2);
+        assertThat(m.getExhausted()).isZero();
+    }
+
+    @Test
+    void persistentConflict_shouldReachCaller_afterMaxAttempts() {
+        target.failuresLeft = 100;
+
+        assertThatThrownBy(proxy::save).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(target.calls).hasValue(properties.getMaxAttempts());
+        assertThat(metrics.snapshot().get(0).getExhausted()).isEqualTo(1);
+
+        assertThatThrownBy(proxy::saveOnce).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(target.calls).hasValue(properties.getMaxAttempts() + 1);
+    }
+}
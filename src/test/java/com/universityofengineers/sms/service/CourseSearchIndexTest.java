@@ -0,0 +1,99 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.dto.response.CourseSearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CourseSearchIndexTest {
+
+    private CourseSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CourseSearchIndex();
+        index.rebuild(List.of(
+                doc(1L, "CSE101", "Introduction to Programming", 1L, "CSE", "Computer Science", 7L, "Ada Lovelace"),
+                doc(2L, "CSE220", "Data Structures", 1L, "CSE", "Computer Science", 7L, "Ada Lovelace"),
+                doc(3L, "EEE201", "Circuit Analysis", 2L, "EEE", "Electrical Engineering", 8L, "Nikola Tesla"),
+                doc(4L, "ME110", "Engineering Drawing", 3L, "ME", "Mechanical Engineering", 9L, "James Watt")
+        ));
+    }
+
+    @Test
+    void search_shouldRankCodeMatchesAboveDepartmentMatches() {
+        List<CourseSearchHit> hits = index.search("cse", null, 10);
+
+        assertThat(hits).extracting(CourseSearchHit::getCode).containsExactly("CSE101", "CSE220");
+    }
+
+    @Test
+    void search_shouldRequireEveryTerm_andTreatLastTermAsPrefix() {
+        assertThat(index.search("data struct", null, 10))
+                .extracting(CourseSearchHit::getCode).containsExactly("CSE220");
+        assertThat(index.search("tesla circ", null, 10))
+                .extracting(CourseSearchHit::getCode).containsExactly("EEE201");
+        assertThat(index.search("tesla programming", null, 10)).isEmpty();
+    }
+
+    @Test
+    void search_shouldFilterByDepartment_andRespectLimit() {
+        assertThat(index.search("engineering", 3L, 10))
+                .extracting(CourseSearchHit::getCode).containsExactly("ME110");
+        assertThat(index.search("engineering", null, 1)).hasSize(1);
+    }
+
+    @Test
+    void autocomplete_shouldMatchPrefixesOfCodeParts() {
+        assertThat(index.autocomplete("22", 10))
+                .extracting(CourseSearchHit::getCode).containsExactly("CSE220");
+    }
+
+    @Test
+    void incrementalUpdates_shouldBeVisibleWithoutRebuild() {
+        index.teacherRenamed(7L, "Grace Hopper");
+        assertThat(index.search("lovelace", null, 10)).isEmpty();
+        assertThat(index.search("hopper", null, 10)).hasSize(2);
+
+        index.remove(1L);
+        assertThat(index.search("programming", null, 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void replace_shouldApplyCommittedChangesImmediately() {
+        index.replace(List.of(1L, 4L), List.of(
+                doc(1L, "CSE101", "Programming Fundamentals", 1L, "CSE", "Computer Science", 7L, "Ada Lovelace"),
+                doc(5L, "CSE330", "Operating Systems", 1L, "CSE", "Computer Science", 7L, "Ada Lovelace")));
+
+        assertThat(index.search("introduction", null, 10)).isEmpty();
+        assertThat(index.search("fundamentals", null, 10)).extracting(CourseSearchHit::getCode).containsExactly("CSE101");
+        assertThat(index.search("operating", null, 10)).extracting(CourseSearchHit::getCode).containsExactly("CSE330");
+        assertThat(index.search("drawing", null, 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void autocomplete_shouldOnlyScoreCoursesUnderThePrefix_atTenThousandCourses() {
+        List<CourseSearchIndex.Doc> docs = new ArrayList<>();
+        for (long i = 0; i < 10_000; i++) {
+            docs.add(doc(i, "C" + i, "Course Title " + i + " Systems", i % 20, "D" + (i % 20), "Dept " + (i % 20), i % 300, "Teacher " + (i % 300)));
+        }
+        index.rebuild(docs);
+
+        // The work per keystroke is bounded by the courses under the prefix, not by the catalog size:
+        // "c12" reaches C12, C120-C129 and C1200-C1299 only.
+        assertThat(index.candidates("c12")).isEqualTo(111);
+        assertThat(index.candidates("c1234")).isEqualTo(1);
+        assertThat(index.autocomplete("c1234", 10)).extracting(CourseSearchHit::getCode).first().isEqualTo("C1234");
+    }
+
+    private static CourseSearchIndex.Doc doc(Long id, String code, String title, Long deptId, String deptCode,
+                                             String deptName, Long teacherId, String teacherName) {
+        return new CourseSearchIndex.Doc(id, code, title, deptId, deptCode, deptName, teacherId, teacherName);
+    }
+}
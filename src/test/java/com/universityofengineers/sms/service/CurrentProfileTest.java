@@ -0,0 +1,121 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.entity.Department;
+import com.universityofengineers.sms.entity.Role;
+import com.universityofengineers.sms.entity.Student;
+import com.universityofengineers.sms.entity.UserAccount;
+import com.universityofengineers.sms.exception.ResourceNotFoundException;
+import com.universityofengineers.sms.repository.StudentRepository;
+import com.universityofengineers.sms.repository.TeacherRepository;
+import com.universityofengineers.sms.security.UserPrincipal;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentProfileTest {
+
+    @Mock private StudentRepository studentRepository;
+    @Mock private TeacherRepository teacherRepository;
+    @Mock private EntityManager entityManager;
+
+    @InjectMocks private CurrentProfile currentProfile;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void ids_shouldComeFromThePrincipal_withoutAnyLookup() {
+        authenticate(new UserPrincipal(99L, "s@ue.edu", Role.STUDENT, 10L, null, 3L));
+
+        assertThat(currentProfile.studentId()).isEqualTo(10L);
+        assertThat(currentProfile.departmentId()).isEqualTo(3L);
+        verifyNoInteractions(studentRepository, teacherRepository);
+    }
+
+    @Test
+    void student_shouldBeLoadedOnce_whileStillManaged() {
+        authenticate(new UserPrincipal(99L, "s@ue.edu", Role.STUDENT, 10L, null, 3L));
+        Student student = student();
+        when(studentRepository.findById(10L)).thenReturn(Optional.of(student));
+        when(entityManager.contains(student)).thenReturn(true);
+
+        assertThat(currentProfile.student()).isSameAs(student);
+        assertThat(currentProfile.student()).isSameAs(student);
+        verify(studentRepository, times(1)).findById(10L);
+    }
+
+    @Test
+    void student_shouldBeReloaded_whenDetached() {
+        authenticate(new UserPrincipal(99L, "s@ue.edu", Role.STUDENT, 10L, null, 3L));
+        Student student = student();
+        when(studentRepository.findById(10L)).thenReturn(Optional.of(student));
+        when(entityManager.contains(student)).thenReturn(false);
+
+        currentProfile.student();
+        currentProfile.student();
+
+        verify(studentRepository, times(2)).findById(10L);
+    }
+
+    @Test
+    void tokenWithoutProfileClaims_shouldFallBackToAccountLookup() {
+        UserAccount account = UserAccount.builder().id(99L).email("s@ue.edu").passwordHash("h").role(Role.STUDENT).enabled(true).build();
+        authenticate(new UserPrincipal(account));
+        when(studentRepository.findByAccountId(99L)).thenReturn(Optional.of(student()));
+
+        assertThat(currentProfile.studentId()).isEqualTo(10L);
+        assertThat(currentProfile.departmentId()).isEqualTo(3L);
+        verify(studentRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void studentId_shouldThrow_whenNeitherClaimsNorAccountLeadToAProfile() {
+        UserAccount account = UserAccount.builder().id(99L).email("s@ue.edu").passwordHash("h").role(Role.STUDENT).enabled(true).build();
+        authenticate(new UserPrincipal(account));
+        when(studentRepository.findByAccountId(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> currentProfile.studentId())
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Student profile not found");
+    }
+
+    @Test
+    void teacher_shouldThrow_whenProfileMissing() {
+        authenticate(new UserPrincipal(77L, "t@ue.edu", Role.TEACHER, null, 5L, 3L));
+        when(teacherRepository.findById(5L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> currentProfile.teacher())
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Teacher profile not found");
+    }
+
+    private static Student student() {
+        return Student.builder()
+                .id(10L)
+                .studentNo("UE-2026-000010")
+                .fullName("Student")
+                .department(Department.builder().id(3L).code("CSE").name("CSE").build())
+                .build();
+    }
+
+    private static void authenticate(UserPrincipal principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())
+        );
+    }
+}
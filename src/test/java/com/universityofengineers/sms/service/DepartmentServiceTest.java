@@ -24,6 +24,7 @@ import static org.mockito.Mockito.*;
 class DepartmentServiceTest {
 
     @Mock private DepartmentRepository departmentRepository;
+    @Mock private CourseSearchIndex courseSearchIndex;
     @InjectMocks private DepartmentService departmentService;
 
     @Test
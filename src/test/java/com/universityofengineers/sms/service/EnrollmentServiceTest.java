@@ -6,11 +6,10 @@ import com.universityofengineers.sms.dto.response.EnrollmentResponse;
 import com.universityofengineers.sms.entity.*;
 import com.universityofengineers.sms.exception.BadRequestException;
 import com.universityofengineers.sms.exception.ForbiddenException;
-import com.universityofengineers.sms.exception.ResourceNotFoundException;
+import com.universityofengineers.sms.repository.CourseOfferingRepository;
 import com.universityofengineers.sms.repository.CourseRepository;
 import com.universityofengineers.sms.repository.EnrollmentRepository;
 import com.universityofengineers.sms.repository.StudentRepository;
-import com.universityofengineers.sms.repository.TeacherRepository;
 import com.universityofengineers.sms.security.UserPrincipal;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -32,8 +31,13 @@ class EnrollmentServiceTest {
 
     @Mock private EnrollmentRepository enrollmentRepository;
     @Mock private StudentRepository studentRepository;
-    @Mock private TeacherRepository teacherRepository;
     @Mock private CourseRepository courseRepository;
+    @Mock private CourseOfferingRepository courseOfferingRepository;
+    @Mock private GpaService gpaService;
+    @Mock private OpenSeatsIndex openSeatsIndex;
+    @Mock private TermService termService;
+    @Mock private DomainEventPublisher domainEventPublisher;
+    @Mock private CurrentProfile currentProfile;
 
     @InjectMocks private EnrollmentService enrollmentService;
 
@@ -68,7 +72,7 @@ class EnrollmentServiceTest {
                 .fullName("Student")
                 .build();
 
-        when(studentRepository.findByAccountId(accountId)).thenReturn(Optional.of(student));
+        when(currentProfile.studentId()).thenReturn(1L);
         when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
 
         EnrollmentCreateRequest req = new EnrollmentCreateRequest();
@@ -106,10 +110,13 @@ class EnrollmentServiceTest {
 
         Enrollment existing = Enrollment.builder().id(500L).student(student).course(course).status(EnrollmentStatus.ENROLLED).build();
 
-        when(studentRepository.findByAccountId(accountId)).thenReturn(Optional.of(student));
+        when(currentProfile.studentId()).thenReturn(1L);
         when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
-        when(courseRepository.findById(10L)).thenReturn(Optional.of(course));
-        when(enrollmentRepository.findByStudentIdAndCourseId(1L, 10L)).thenReturn(Optional.of(existing));
+        when(courseRepository.findForEnrollmentById(10L)).thenReturn(Optional.of(course));
+        Term term = Term.builder().id(3L).code("2026-FALL").status(TermStatus.ACTIVE).build();
+        when(termService.currentTermOrNull()).thenReturn(term);
+        when(termService.isOffered(10L, 3L)).thenReturn(true);
+        when(enrollmentRepository.findByStudentIdAndCourseIdAndTermId(1L, 10L, 3L)).thenReturn(Optional.of(existing));
 
         EnrollmentCreateRequest req = new EnrollmentCreateRequest();
         req.setCourseId(10L);
@@ -119,6 +126,71 @@ class EnrollmentServiceTest {
                 .hasMessageContaining("Already enrolled");
     }
 
+    @Test
+    void enrollMe_shouldReject_whenCourseNotOfferedInCurrentTerm() {
+        long accountId = 99L;
+        authenticate(Role.STUDENT, accountId, "s@ue.edu");
+
+        Department dept = Department.builder().id(1L).code("CSE").name("CSE").build();
+        Student student = Student.builder()
+                .id(1L)
+                .status(StudentStatus.ACTIVE)
+                .account(UserAccount.builder().id(accountId).email("s@ue.edu").role(Role.STUDENT).enabled(true).passwordHash("h").build())
+                .department(dept)
+                .studentNo("UE-2026-000001")
+                .fullName("Student")
+                .build();
+        Course course = Course.builder().id(10L).department(dept).code("CSE101").title("Intro").credit(3.0).capacity(2).build();
+
+        when(currentProfile.studentId()).thenReturn(1L);
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+        when(courseRepository.findForEnrollmentById(10L)).thenReturn(Optional.of(course));
+        when(termService.currentTermOrNull()).thenReturn(Term.builder().id(3L).code("2026-FALL").status(TermStatus.ACTIVE).build());
+        when(termService.isOffered(10L, 3L)).thenReturn(false);
+
+        EnrollmentCreateRequest req = new EnrollmentCreateRequest();
+        req.setCourseId(10L);
+
+        assertThatThrownBy(() -> enrollmentService.enrollMe(req))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("not offered");
+        verify(enrollmentRepository, never()).save(any());
+    }
+
+    @Test
+    void enrollMe_shouldReject_whenNoSeatIsLeftInTheOffering() {
+        long accountId = 99L;
+        authenticate(Role.STUDENT, accountId, "s@ue.edu");
+
+        Department dept = Department.builder().id(1L).code("CSE").name("CSE").build();
+        Student student = Student.builder()
+                .id(1L)
+                .status(StudentStatus.ACTIVE)
+                .account(UserAccount.builder().id(accountId).email("s@ue.edu").role(Role.STUDENT).enabled(true).passwordHash("h").build())
+                .department(dept)
+                .studentNo("UE-2026-000001")
+                .fullName("Student")
+                .build();
+        Course course = Course.builder().id(10L).department(dept).code("CSE101").title("Intro").credit(3.0).capacity(2).build();
+
+        when(currentProfile.studentId()).thenReturn(1L);
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student));
+        when(courseRepository.findForEnrollmentById(10L)).thenReturn(Optional.of(course));
+        when(termService.currentTermOrNull()).thenReturn(Term.builder().id(3L).code("2026-FALL").status(TermStatus.ACTIVE).build());
+        when(termService.isOffered(10L, 3L)).thenReturn(true);
+        when(enrollmentRepository.findByStudentIdAndCourseIdAndTermId(1L, 10L, 3L)).thenReturn(Optional.empty());
+        when(courseOfferingRepository.takeSeat(10L, 3L)).thenReturn(0);
+
+        EnrollmentCreateRequest req = new EnrollmentCreateRequest();
+        req.setCourseId(10L);
+
+        assertThatThrownBy(() -> enrollmentService.enrollMe(req))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("capacity reached");
+        verify(enrollmentRepository, never()).save(any());
+        verify(openSeatsIndex, never()).seatTaken(any());
+    }
+
     @Test
     void setGrade_shouldUppercaseGrade_andMarkCompleted_whenEnrolled() {
         long teacherAccountId = 50L;
@@ -158,7 +230,7 @@ class EnrollmentServiceTest {
                 .build();
 
         when(enrollmentRepository.findById(123L)).thenReturn(Optional.of(enrollment));
-        when(teacherRepository.findByAccountId(teacherAccountId)).thenReturn(Optional.of(currentTeacher));
+        when(currentProfile.teacherId()).thenReturn(currentTeacher.getId());
         when(enrollmentRepository.save(any(Enrollment.class))).thenAnswer(inv -> inv.getArgument(0));
 
         GradeUpdateRequest req = new GradeUpdateRequest();
@@ -168,20 +240,32 @@ class EnrollmentServiceTest {
 
         assertThat(res.getGrade()).isEqualTo("A-");
         assertThat(res.getStatus()).isEqualTo(EnrollmentStatus.COMPLETED);
+        verify(gpaService).applyTransition(1L, 3.0, EnrollmentStatus.ENROLLED, null, EnrollmentStatus.COMPLETED, "A-");
     }
 
-
     @Test
-    void myEnrollments_shouldThrow_whenCurrentStudentProfileMissing() {
-        long accountId = 99L;
-        authenticate(Role.STUDENT, accountId, "s@ue.edu");
-        when(studentRepository.findByAccountId(accountId)).thenReturn(Optional.empty());
+    void setGrade_shouldNotPublishGradeAssigned_whenGradeIsUnchanged() {
+        authenticate(Role.TEACHER, 50L, "t@ue.edu");
+        Department dept = Department.builder().id(1L).code("CSE").name("CSE").build();
+        Teacher teacher = Teacher.builder().id(7L).department(dept).fullName("Teacher").build();
+        Course course = Course.builder().id(10L).department(dept).teacher(teacher).code("CSE101").title("Intro").credit(3.0).capacity(2).build();
+        Student student = Student.builder().id(1L).department(dept).studentNo("UE-2026-000001").fullName("Student").build();
+        Enrollment enrollment = Enrollment.builder()
+                .id(123L).student(student).course(course).status(EnrollmentStatus.COMPLETED).grade("A-")
+                .build();
+
+        when(enrollmentRepository.findById(123L)).thenReturn(Optional.of(enrollment));
+        when(currentProfile.teacherId()).thenReturn(7L);
+        when(enrollmentRepository.save(any(Enrollment.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        assertThatThrownBy(() -> enrollmentService.myEnrollments())
-                .isInstanceOf(ResourceNotFoundException.class)
-                .hasMessageContaining("Student profile not found");
+        GradeUpdateRequest req = new GradeUpdateRequest();
+        req.setGrade("a-");
+        enrollmentService.setGrade(123L, req);
+
+        verifyNoInteractions(domainEventPublisher);
     }
 
+
     private void authenticate(Role role, long accountId, String email) {
         UserAccount account = UserAccount.builder()
                 .id(accountId)
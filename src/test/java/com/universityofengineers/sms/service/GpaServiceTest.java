@@ -0,0 +1,116 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.config.GradingProperties;
+import com.universityofengineers.sms.dto.response.GpaRecomputeResponse;
+import com.universityofengineers.sms.entity.EnrollmentStatus;
+import com.universityofengineers.sms.entity.StudentAcademicRecord;
+import com.universityofengineers.sms.repository.EnrollmentRepository;
+import com.universityofengineers.sms.repository.StudentAcademicRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GpaServiceTest {
+
+    @Mock private StudentAcademicRecordRepository recordRepository;
+    @Mock private EnrollmentRepository enrollmentRepository;
+
+    private GpaService gpaService;
+
+    @BeforeEach
+    void setUp() {
+        gpaService = new GpaService(recordRepository, enrollmentRepository, new GradingProperties());
+    }
+
+    @Test
+    void applyTransition_shouldApplyDelta_whenGradeIsSet() {
+        when(recordRepository.applyDelta(anyLong(), anyDouble(), anyDouble(), anyDouble())).thenReturn(1);
+
+        gpaService.applyTransition(1L, 3.0, EnrollmentStatus.ENROLLED, null, EnrollmentStatus.COMPLETED, "A-");
+
+        verify(recordRepository).applyDelta(eq(1L), eq(3.0), doubleThat(q -> Math.abs(q - 11.1) < 1e-9), eq(3.0));
+    }
+
+    @Test
+    void applyTransition_shouldApplyOnlyPointDifference_whenGradeChanges() {
+        when(recordRepository.applyDelta(anyLong(), anyDouble(), anyDouble(), anyDouble())).thenReturn(1);
+
+        gpaService.applyTransition(1L, 2.0, EnrollmentStatus.COMPLETED, "B", EnrollmentStatus.COMPLETED, "A");
+
+        verify(recordRepository).applyDelta(eq(1L), eq(0.0), doubleThat(q -> Math.abs(q - 2.0) < 1e-9), eq(0.0));
+    }
+
+    @Test
+    void applyTransition_shouldBeNoop_whenDroppingUngradedEnrollment() {
+        gpaService.applyTransition(1L, 3.0, EnrollmentStatus.ENROLLED, null, EnrollmentStatus.DROPPED, null);
+
+        verifyNoInteractions(recordRepository);
+    }
+
+    @Test
+    void applyTransition_shouldSeedRecordFromEnrollments_whenNoneExists() {
+        when(recordRepository.applyDelta(anyLong(), anyDouble(), anyDouble(), anyDouble())).thenReturn(0);
+        when(enrollmentRepository.findGradeRowsByStudentIdAndStatus(1L, EnrollmentStatus.COMPLETED))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 3.0, "A"}, new Object[]{1L, 1.0, "W"}));
+        when(recordRepository.findById(1L)).thenReturn(Optional.empty());
+
+        gpaService.applyTransition(1L, 3.0, EnrollmentStatus.ENROLLED, null, EnrollmentStatus.COMPLETED, "A");
+
+        verify(recordRepository).lockStudent(1L);
+        verify(recordRepository).save(argThat(r -> r.getGradedCredits() == 3.0
+                && r.getQualityPoints() == 12.0
+                && r.getCompletedCredits() == 4.0));
+    }
+
+    @Test
+    void applyTransition_shouldApplyDelta_whenConcurrentTransitionSeededTheRecordFirst() {
+        when(recordRepository.applyDelta(anyLong(), anyDouble(), anyDouble(), anyDouble())).thenReturn(0, 1);
+
+        gpaService.applyTransition(1L, 3.0, EnrollmentStatus.ENROLLED, null, EnrollmentStatus.COMPLETED, "A");
+
+        verify(recordRepository).lockStudent(1L);
+        verify(recordRepository, times(2)).applyDelta(1L, 3.0, 12.0, 3.0);
+        verify(recordRepository, never()).save(any());
+    }
+
+    @Test
+    void summary_shouldRoundGpa_andReturnNullWhenNothingGraded() {
+        when(recordRepository.findById(1L)).thenReturn(Optional.of(StudentAcademicRecord.builder()
+                .studentId(1L).gradedCredits(6.0).qualityPoints(20.1).completedCredits(6.0).build()));
+        when(recordRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThat(gpaService.summary(1L).getGpa()).isEqualTo(3.35);
+        assertThat(gpaService.summary(2L).getGpa()).isNull();
+    }
+
+    @Test
+    void recomputeAll_shouldRepairOnlyDriftedRecords() {
+        StudentAcademicRecord ok = StudentAcademicRecord.builder()
+                .studentId(1L).gradedCredits(3.0).qualityPoints(9.0).completedCredits(3.0).build();
+        StudentAcademicRecord drifted = StudentAcademicRecord.builder()
+                .studentId(2L).gradedCredits(3.0).qualityPoints(3.0).completedCredits(3.0).build();
+
+        when(enrollmentRepository.findGradeRowsByStatus(EnrollmentStatus.COMPLETED)).thenReturn(List.of(
+                new Object[]{1L, 3.0, "B"},
+                new Object[]{2L, 3.0, "A"}
+        ));
+        when(recordRepository.findAll()).thenReturn(List.of(ok, drifted));
+        when(recordRepository.count()).thenReturn(2L);
+
+        GpaRecomputeResponse res = gpaService.recomputeAll();
+
+        assertThat(res.getRecordsRepaired()).isEqualTo(1);
+        assertThat(drifted.getQualityPoints()).isEqualTo(12.0);
+        assertThat(ok.getQualityPoints()).isEqualTo(9.0);
+    }
+}
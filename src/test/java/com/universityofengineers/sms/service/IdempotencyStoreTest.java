@@ -0,0 +1,122 @@
+package com.universityofengineers.sms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universityofengineers.sms.config.IdempotencyProperties;
+import com.universityofengineers.sms.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private final IdempotencyProperties properties = new IdempotencyProperties();
+    private final IdempotencyStore store = new IdempotencyStore(properties, new ObjectMapper());
+
+    @Test
+    void sameKey_shouldReplayFirstResult_withoutRunningAgain() {
+        AtomicInteger runs = new AtomicInteger();
+
+        String first = store.execute("enroll:1", "k1", Map.of("courseId", 7), () -> "result-" + runs.incrementAndGet());
+        String retry = store.execute("enroll:1", "k1", Map.of("courseId", 7), () -> "result-" + runs.incrementAndGet());
+
+        assertThat(retry).isEqualTo(first).isEqualTo("result-1");
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void keysAreScoped_andMissingKeyAlwaysRuns() {
+        AtomicInteger runs = new AtomicInteger();
+
+        store.execute("enroll:1", "k1", "body", runs::incrementAndGet);
+        store.execute("enroll:2", "k1", "body", runs::incrementAndGet);
+        store.execute("enroll:1", null, "body", runs::incrementAndGet);
+        store.execute("enroll:1", null, "body", runs::incrementAndGet);
+
+        assertThat(runs).hasValue(4);
+    }
+
+    @Test
+    void reusedKeyWithDifferentBody_shouldBeRejected() {
+        store.execute("enroll:1", "k1", Map.of("courseId", 7), () -> "ok");
+
+        assertThatThrownBy(() -> store.execute("enroll:1", "k1", Map.of("courseId", 8), () -> "other"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void failure_shouldNotBeRemembered() {
+        assertThatThrownBy(() -> store.execute("enroll:1", "k1", "body", () -> {
+            throw new BadRequestException("Course capacity reached.");
+        })).isInstanceOf(BadRequestException.class);
+
+        assertThat(store.execute("enroll:1", "k1", "body", () -> "second try")).isEqualTo("second try");
+    }
+
+    @Test
+    void concurrentDuplicate_shouldWaitForInFlightExecution() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> store.execute("enroll:1", "k1", "body", () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "done";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> duplicate = CompletableFuture.supplyAsync(
+                () -> store.execute("enroll:1", "k1", "body", () -> "ran twice"));
+
+        Thread.sleep(50);
+        assertThat(duplicate).isNotDone();
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void store_shouldBeBoundedAndExpire() {
+        properties.setMaxEntries(2);
+        store.execute("s", "a", "body", () -> 1);
+        store.execute("s", "b", "body", () -> 2);
+        store.execute("s", "c", "body", () -> 3);
+        assertThat(store.size()).isEqualTo(2);
+        // Oldest key was forgotten, so it runs again
+        assertThat(store.execute("s", "a", "body", () -> 10)).isEqualTo(10);
+
+        properties.setTtlSeconds(0);
+        store.execute("s", "d", "body", () -> 4);
+        assertThat(store.execute("s", "d", "body", () -> 40)).isEqualTo(40);
+    }
+
+    @Test
+    void anonymousCalls_shouldBeScopedByClient_andBoundedSeparately() {
+        properties.setMaxAnonymousEntries(1);
+        store.execute("enroll:1", "k", "body", () -> 1);
+
+        assertThat(store.executeAnonymous("register", "10.0.0.1", "k", "body", () -> 2)).isEqualTo(2);
+        // Same key from another client is a different request
+        assertThat(store.executeAnonymous("register", "10.0.0.2", "k", "body", () -> 3)).isEqualTo(3);
+        // ...which pushed the first client's entry out of the anonymous pool, but not the account's entry
+        assertThat(store.executeAnonymous("register", "10.0.0.1", "k", "body", () -> 4)).isEqualTo(4);
+        assertThat(store.execute("enroll:1", "k", "body", () -> 5)).isEqualTo(1);
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
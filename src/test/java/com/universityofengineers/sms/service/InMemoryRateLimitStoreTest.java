@@ -0,0 +1,78 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimitStoreTest {
+
+    private static InMemoryRateLimitStore store(int maxKeys) {
+        RateLimitProperties props = new RateLimitProperties();
+        props.setMaxKeys(maxKeys);
+        return new InMemoryRateLimitStore(props);
+    }
+
+    @Test
+    void fullBucket_shouldAllowBurstOfCapacity_thenReportWaitForNextToken() {
+        InMemoryRateLimitStore store = store(100);
+        long now = 1_000_000;
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.tryAcquire("k", 3, 1000, now)).isZero();
+        }
+        assertThat(store.tryAcquire("k", 3, 1000, now)).isEqualTo(1000);
+        assertThat(store.tryAcquire("k", 3, 1000, now + 400)).isEqualTo(600);
+
+        // One interval later exactly one more token is available.
+        assertThat(store.tryAcquire("k", 3, 1000, now + 1000)).isZero();
+        assertThat(store.tryAcquire("k", 3, 1000, now + 1000)).isPositive();
+    }
+
+    @Test
+    void keys_shouldHaveIndependentBuckets() {
+        InMemoryRateLimitStore store = store(100);
+
+        assertThat(store.tryAcquire("a", 1, 1000, 0)).isZero();
+        assertThat(store.tryAcquire("a", 1, 1000, 0)).isPositive();
+        assertThat(store.tryAcquire("b", 1, 1000, 0)).isZero();
+    }
+
+    @Test
+    void purgeIdle_shouldForgetOnlyRefilledBuckets() {
+        InMemoryRateLimitStore store = store(100);
+        store.tryAcquire("old", 5, 1000, 0);
+        store.tryAcquire("recent", 5, 1000, 10_000);
+
+        assertThat(store.purgeIdle(5_000)).isEqualTo(1);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void whenFullOfActiveBuckets_newKeysShouldShareOneOverflowBucket() {
+        InMemoryRateLimitStore store = store(1);
+        store.tryAcquire("busy", 1, 60_000, 0);
+
+        assertThat(store.tryAcquire("other", 1, 60_000, 0)).isZero();
+        assertThat(store.tryAcquire("another", 1, 60_000, 0)).isPositive();
+        assertThat(store.tryAcquire("other", 1, 60_000, 0)).isPositive();
+        assertThat(store.tryAcquire("busy", 1, 60_000, 0)).isPositive();
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void whenFull_idleBucketsShouldBePurgedAtMostOncePerSecond() {
+        InMemoryRateLimitStore store = store(2);
+        store.tryAcquire("a", 1, 100, 0);
+        store.tryAcquire("b", 1, 100, 0);
+
+        // Purged on the first miss: both buckets are full again at 100 ms
+        assertThat(store.tryAcquire("c", 1, 100, 500)).isZero();
+        assertThat(store.size()).isEqualTo(1);
+        store.tryAcquire("d", 1, 100, 500);
+
+        // Both idle again, but the last purge was too recent: the new key goes to the overflow bucket
+        assertThat(store.tryAcquire("e", 1, 100, 900)).isZero();
+        assertThat(store.size()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,92 @@
+package com.universityofengineers.sms.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class OpenSeatsIndexTest {
+
+    private final OpenSeatsIndex index = new OpenSeatsIndex();
+
+    @Test
+    void available_shouldListDepartmentCoursesWithFreeSeats_mostFreeFirst() {
+        index.reconcile(List.of(
+                seats(1L, 1L, 30, 28),
+                seats(2L, 1L, 30, 10),
+                seats(3L, 1L, 5, 5),
+                seats(4L, 2L, 50, 0)
+        ), index.currentStamp());
+
+        assertThat(index.available(1L)).extracting(OpenSeatsIndex.Seats::courseId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void events_shouldMoveEnrolledCount_andCapacityChangeShouldKeepIt() {
+        index.courseChanged(1L, 1L, 2);
+        index.seatTaken(1L);
+        index.seatTaken(1L);
+        assertThat(index.available(1L)).isEmpty();
+
+        index.seatReleased(1L);
+        assertThat(index.get(1L).free()).isEqualTo(1);
+
+        index.courseChanged(1L, 1L, 10);
+        assertThat(index.get(1L).enrolled()).isEqualTo(1);
+        assertThat(index.get(1L).free()).isEqualTo(9);
+
+        index.courseRemoved(1L);
+        assertThat(index.get(1L)).isNull();
+    }
+
+    @Test
+    void reconcile_shouldRepairDrift_andDropDeletedCourses() {
+        index.courseChanged(1L, 1L, 30);
+        index.courseChanged(2L, 1L, 30);
+        index.seatTaken(1L);
+
+        int repaired = index.reconcile(List.of(seats(1L, 1L, 30, 4)), index.currentStamp());
+
+        assertThat(repaired).isEqualTo(2);
+        assertThat(index.get(1L).enrolled()).isEqualTo(4);
+        assertThat(index.get(2L)).isNull();
+        assertThat(index.reconcile(List.of(seats(1L, 1L, 30, 4)), index.currentStamp())).isZero();
+    }
+
+    @Test
+    void scopedReconcile_shouldOnlyTouchListedCourses() {
+        index.courseChanged(1L, 1L, 30);
+        index.courseChanged(2L, 1L, 30);
+        index.courseChanged(3L, 1L, 30);
+
+        // 1 gained seats elsewhere, 2 was deleted elsewhere, 5 is new; 3 is not listed and stays
+        int repaired = index.reconcile(List.of(seats(1L, 1L, 30, 6), seats(5L, 2L, 20, 1)), List.of(1L, 2L, 5L),
+                index.currentStamp());
+
+        assertThat(repaired).isEqualTo(3);
+        assertThat(index.get(1L).enrolled()).isEqualTo(6);
+        assertThat(index.get(2L)).isNull();
+        assertThat(index.get(3L)).isNotNull();
+        assertThat(index.get(5L).free()).isEqualTo(19);
+    }
+
+    @Test
+    void reconcile_shouldNotOverwriteEntriesChangedAfterSnapshotWasTaken() {
+        index.courseChanged(1L, 1L, 30);
+        long snapshot = index.currentStamp();
+        // Committed after the snapshot was read, so the snapshot is older than the index here.
+        index.seatTaken(1L);
+        index.courseChanged(2L, 1L, 10);
+
+        int repaired = index.reconcile(List.of(seats(1L, 1L, 30, 0)), snapshot);
+
+        assertThat(repaired).isZero();
+        assertThat(index.get(1L).enrolled()).isEqualTo(1);
+        assertThat(index.get(2L)).isNotNull();
+    }
+
+    private static OpenSeatsIndex.Seats seats(Long courseId, Long departmentId, int capacity, long enrolled) {
+        return new OpenSeatsIndex.Seats(courseId, departmentId, capacity, enrolled);
+    }
+}
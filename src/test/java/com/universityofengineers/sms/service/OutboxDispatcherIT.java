@@ -0,0 +1,150 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.entity.*;
+import com.universityofengineers.sms.event.EnrollmentStatusChanged;
+import com.universityofengineers.sms.support.IntegrationTestBase;
+import com.universityofengineers.sms.support.SmsIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SmsIntegrationTest
+class OutboxDispatcherIT extends IntegrationTestBase {
+
+    static class RecordingListener {
+        final List<EnrollmentStatusChanged> received = new CopyOnWriteArrayList<>();
+        final AtomicInteger failuresToInject = new AtomicInteger();
+
+        @EventListener
+        void on(EnrollmentStatusChanged e) {
+            if (failuresToInject.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new IllegalStateException("listener down");
+            }
+            received.add(e);
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    @Autowired private RecordingListener listener;
+    @Autowired private OutboxDispatcher outboxDispatcher;
+
+    @BeforeEach
+    void resetListener() {
+        listener.received.clear();
+        listener.failuresToInject.set(0);
+    }
+
+    @Test
+    void enrollThenDrop_shouldBeDeliveredAfterCommit_inOrder() throws Exception {
+        Long enrollmentId = givenEnrolledStudent();
+
+        mockMvc.perform(delete("/api/enrollments/me/" + enrollmentId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + loginAndGetToken("s1@ue.edu", "Secret123!")))
+                .andExpect(status().is2xxSuccessful());
+
+        await(() -> listener.received.size() == 2);
+        assertThat(listener.received).extracting(EnrollmentStatusChanged::to)
+                .containsExactly(EnrollmentStatus.ENROLLED, EnrollmentStatus.DROPPED);
+        assertThat(listener.received.get(0).from()).isNull();
+        assertThat(listener.received.get(1).from()).isEqualTo(EnrollmentStatus.ENROLLED);
+        assertThat(listener.received.get(0).termId()).isEqualTo(currentTerm.getId());
+        await(() -> outboxEventRepository.countByStatus(OutboxStatus.PUBLISHED) == 2);
+    }
+
+    @Test
+    void failingListener_shouldBeRetriedWithBackoff_untilDelivered() throws Exception {
+        listener.failuresToInject.set(1);
+
+        givenEnrolledStudent();
+
+        await(() -> listener.received.size() == 1);
+        OutboxEvent event = outboxEventRepository.findAll().get(0);
+        await(() -> outboxEventRepository.findById(event.getId()).orElseThrow().getStatus() == OutboxStatus.PUBLISHED);
+        OutboxEvent published = outboxEventRepository.findById(event.getId()).orElseThrow();
+        assertThat(published.getAttempts()).isEqualTo(1);
+        assertThat(published.getLastError()).contains("listener down");
+    }
+
+    @Test
+    void listenerThatNeverRecovers_shouldEndUpFailed_andNotBlockLaterEvents() throws Exception {
+        // test profile: max-attempts 3
+        listener.failuresToInject.set(3);
+
+        Long enrollmentId = givenEnrolledStudent();
+        await(() -> outboxEventRepository.countByStatus(OutboxStatus.FAILED) == 1);
+
+        mockMvc.perform(delete("/api/enrollments/me/" + enrollmentId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + loginAndGetToken("s1@ue.edu", "Secret123!")))
+                .andExpect(status().is2xxSuccessful());
+
+        await(() -> listener.received.size() == 1);
+        assertThat(listener.received.get(0).to()).isEqualTo(EnrollmentStatus.DROPPED);
+    }
+
+    @Test
+    void anotherNodeHoldingTheLease_shouldDeliver_untilItsLeaseExpires() throws Exception {
+        outboxLeaseRepository.save(OutboxLease.builder()
+                .id(OutboxLease.ID).owner("other-node").leaseUntil(Instant.now().plusSeconds(3600)).build());
+
+        givenEnrolledStudent();
+        assertThat(outboxDispatcher.dispatchPending()).isZero();
+        assertThat(outboxEventRepository.countByStatus(OutboxStatus.PENDING)).isEqualTo(1);
+        assertThat(listener.received).isEmpty();
+
+        OutboxLease lease = outboxLeaseRepository.findById(OutboxLease.ID).orElseThrow();
+        lease.setLeaseUntil(Instant.now().minusSeconds(1));
+        outboxLeaseRepository.save(lease);
+
+        await(() -> {
+            outboxDispatcher.dispatchPending();
+            return listener.received.size() == 1;
+        });
+        assertThat(outboxLeaseRepository.findById(OutboxLease.ID).orElseThrow().getOwner()).isNotEqualTo("other-node");
+    }
+
+    private Long givenEnrolledStudent() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        givenStudent("s1@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        Course course = givenCourse("CSE101", cse, teacher, 10);
+
+        MvcResult result = mockMvc.perform(post("/api/enrollments/me")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + loginAndGetToken("s1@ue.edu", "Secret123!"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"courseId\":" + course.getId() + "}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) throw new AssertionError("condition not met within 5s");
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.universityofengineers.sms.service;
+
+import com.universityofengineers.sms.entity.*;
+import com.universityofengineers.sms.support.PostgresIntegrationTestBase;
+import com.universityofengineers.sms.support.SmsIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The triggers (changesets 018, 021) and the LISTEN loop against a real PostgreSQL: the schema comes from the
+ * Liquibase changelog, and changes are made with plain SQL, the way another node's commits arrive.
+ */
+@SmsIntegrationTest
+class PostgresInvalidationListenerIT extends PostgresIntegrationTestBase {
+
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private CacheInvalidationBus bus;
+    @Autowired private CourseSearchIndex courseSearchIndex;
+
+    private Connection listening;
+
+    @BeforeEach
+    void listen() throws SQLException {
+        listening = POSTGRES.getPostgresDatabase().getConnection();
+        try (Statement st = listening.createStatement()) {
+            st.execute("LISTEN " + CacheInvalidationBus.CHANNEL);
+        }
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        listening.close();
+    }
+
+    @Test
+    void triggers_shouldNotifyOnCommit_onlyWhenCachedColumnsChange() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        Student student = givenStudent("s1@ue.edu", "Secret123!", cse, studentNo(1), StudentStatus.ACTIVE);
+        Course course = givenCourse("CSE101", cse, teacher, 10);
+        assertThat(notifications()).contains("course:" + course.getId());
+
+        // Each statement ends with a change that does notify; anything sent before it arrives first.
+        jdbc.update("UPDATE courses SET version = version + 1, updated_at = now(), credit = 4 WHERE id = ?", course.getId());
+        jdbc.update("UPDATE courses SET title = 'Algorithms' WHERE id = ?", course.getId());
+        assertThat(notifications()).containsExactly("course:" + course.getId());
+
+        jdbc.update("UPDATE course_offerings SET enrolled_count = enrolled_count + 1 WHERE course_id = ?", course.getId());
+        Enrollment enrollment = enrollmentRepository.save(Enrollment.builder()
+                .student(student).course(course).term(currentTerm).status(EnrollmentStatus.ENROLLED).build());
+        assertThat(notifications()).containsExactly("seats:" + course.getId());
+
+        jdbc.update("UPDATE enrollments SET grade = 'A' WHERE id = ?", enrollment.getId());
+        jdbc.update("UPDATE enrollments SET status = 'COMPLETED' WHERE id = ?", enrollment.getId());
+        assertThat(notifications()).containsExactly("seats:" + course.getId());
+
+        jdbc.update("UPDATE teachers SET employee_no = 'UE-T-000002' WHERE id = ?", teacher.getId());
+        jdbc.update("UPDATE teachers SET full_name = 'Ada Lovelace' WHERE id = ?", teacher.getId());
+        jdbc.update("UPDATE departments SET name = 'Computing' WHERE id = ?", cse.getId());
+        assertThat(notifications()).containsExactly("teacher:" + teacher.getId(), "department:" + cse.getId());
+
+        enrollmentRepository.deleteAll();
+        courseOfferingRepository.deleteAll();
+        jdbc.update("DELETE FROM courses WHERE id = ?", course.getId());
+        assertThat(notifications()).containsExactly("seats:" + course.getId(), "course:" + course.getId());
+    }
+
+    @Test
+    void listener_shouldApplyChangesCommittedElsewhere_andResyncAfterLosingItsConnection() throws Exception {
+        Department cse = givenDepartment("CSE", "Computer Science");
+        Teacher teacher = givenTeacher("teacher@ue.edu", "Secret123!", cse, "UE-T-000001", TeacherTitle.PROFESSOR);
+        // Saved through the repository, not CourseService: only the notification tells this node about it
+        Course course = givenCourse("CSE101", cse, teacher, 10);
+        await(() -> !courseSearchIndex.search("CSE101", null, 10).isEmpty());
+        assertThat(bus.status().isListening()).isTrue();
+
+        jdbc.update("UPDATE courses SET title = 'Compilers' WHERE id = ?", course.getId());
+        await(() -> courseSearchIndex.search("compilers", null, 10).stream()
+                .anyMatch(hit -> hit.getId().equals(course.getId())));
+
+        long reconnects = bus.status().getReconnects();
+        long fullFlushes = bus.status().getFullFlushes();
+        jdbc.queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE application_name = 'sms-cache-invalidation'");
+        await(() -> bus.status().getReconnects() > reconnects && bus.status().isListening());
+        await(() -> bus.status().getFullFlushes() > fullFlushes);
+
+        // Listening again: the next change is picked up as before
+        jdbc.update("UPDATE courses SET title = 'Interpreters' WHERE id = ?", course.getId());
+        await(() -> courseSearchIndex.search("interpreters", null, 10).stream()
+                .anyMatch(hit -> hit.getId().equals(course.getId())));
+    }
+
+    /**
+     * Notifications received on the test's own LISTEN connection, until none arrives for a short while.
+     */
+    private List<String> notifications() throws SQLException {
+        PGConnection pg = listening.unwrap(PGConnection.class);
+        List<String> payloads = new ArrayList<>();
+        PGNotification[] batch;
+        while ((batch = pg.getNotifications(300)) != null && batch.length > 0) {
+            for (PGNotification n : batch) payloads.add(n.getParameter());
+        }
+        return payloads;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) throw new AssertionError("condition not met within 5s");
+            Thread.sleep(20);
+        }
+    }
+}
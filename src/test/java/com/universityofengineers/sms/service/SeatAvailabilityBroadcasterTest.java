@@ -0,0 +1,71 @@
+package com.universityofengineers.sms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universityofengineers.sms.config.SeatStreamProperties;
+import com.universityofengineers.sms.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatAvailabilityBroadcasterTest {
+
+    @Mock private OpenSeatsIndex openSeatsIndex;
+
+    private final SeatStreamProperties properties = new SeatStreamProperties();
+    // Send tasks are queued here instead of running, like a send pool whose threads are all busy
+    private final List<Runnable> sendTasks = new ArrayList<>();
+    private SeatAvailabilityBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new SeatAvailabilityBroadcaster(openSeatsIndex, new ObjectMapper(), properties, sendTasks::add);
+    }
+
+    @Test
+    void subscribe_shouldBeCappedPerClient_andPerNode() {
+        properties.setMaxStreamsPerClient(2);
+        properties.setMaxStreams(3);
+
+        broadcaster.subscribe(List.of(1L), "10.0.0.1");
+        broadcaster.subscribe(List.of(1L), "10.0.0.1");
+        assertThatThrownBy(() -> broadcaster.subscribe(List.of(1L), "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessageContaining("per client");
+
+        broadcaster.subscribe(List.of(1L), "10.0.0.2");
+        assertThatThrownBy(() -> broadcaster.subscribe(List.of(1L), "10.0.0.3"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessageContaining("Too many open seat streams");
+        assertThat(broadcaster.subscriberCount()).isEqualTo(3);
+    }
+
+    @Test
+    void flush_shouldHandSendsToThePool_andQueueAtMostOneSendPerStream() {
+        when(openSeatsIndex.get(1L)).thenReturn(new OpenSeatsIndex.Seats(1L, 9L, 30, 0));
+        broadcaster.subscribe(List.of(1L), "10.0.0.1");
+
+        broadcaster.seatsChanged(Set.of(1L));
+        broadcaster.flush();
+        assertThat(sendTasks).hasSize(1);
+
+        // The first send has not run yet: later changes and heartbeats are merged into it
+        broadcaster.seatsChanged(Set.of(1L));
+        broadcaster.flush();
+        broadcaster.heartbeat();
+        assertThat(sendTasks).hasSize(1);
+
+        sendTasks.remove(0).run();
+        broadcaster.heartbeat();
+        assertThat(sendTasks).hasSize(1);
+    }
+}
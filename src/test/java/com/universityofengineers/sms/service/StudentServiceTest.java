@@ -7,10 +7,17 @@ import com.universityofengineers.sms.dto.request.StudentUpdateRequest;
 import com.universityofengineers.sms.dto.response.StudentResponse;
 import com.universityofengineers.sms.entity.*;
 import com.universityofengineers.sms.exception.BadRequestException;
+import com.universityofengineers.sms.exception.ConflictException;
 import com.universityofengineers.sms.exception.ResourceNotFoundException;
+import com.universityofengineers.sms.repository.CourseOfferingRepository;
 import com.universityofengineers.sms.repository.DepartmentRepository;
+import com.universityofengineers.sms.repository.EnrollmentRepository;
+import com.universityofengineers.sms.repository.StudentAcademicRecordRepository;
+import com.universityofengineers.sms.repository.StudentDirectorySearch;
 import com.universityofengineers.sms.repository.StudentRepository;
+import com.universityofengineers.sms.repository.StudentStatusAuditRepository;
 import com.universityofengineers.sms.repository.UserAccountRepository;
+import com.universityofengineers.sms.security.TokenRevocationList;
 import com.universityofengineers.sms.security.UserPrincipal;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -37,6 +44,15 @@ class StudentServiceTest {
     @Mock private UserAccountRepository userAccountRepository;
     @Mock private DepartmentRepository departmentRepository;
     @Mock private PasswordEncoder passwordEncoder;
+    @Mock private StudentDirectorySearch studentDirectorySearch;
+    @Mock private EnrollmentRepository enrollmentRepository;
+    @Mock private CourseOfferingRepository courseOfferingRepository;
+    @Mock private StudentAcademicRecordRepository studentAcademicRecordRepository;
+    @Mock private OpenSeatsIndex openSeatsIndex;
+    @Mock private StudentStatusAuditRepository studentStatusAuditRepository;
+    @Mock private DomainEventPublisher domainEventPublisher;
+    @Mock private TokenRevocationList tokenRevocationList;
+    @Mock private CurrentProfile currentProfile;
 
     @InjectMocks private StudentService studentService;
 
@@ -142,6 +158,7 @@ class StudentServiceTest {
         Student student = Student.builder()
                 .id(10L)
                 .studentNo("UE-2026-000001")
+                .version(4L)
                 .fullName("Old")
                 .department(dept)
                 .account(UserAccount.builder().id(99L).email("s@ue.edu").role(Role.STUDENT).enabled(true).passwordHash("hash").build())
@@ -153,17 +170,34 @@ class StudentServiceTest {
         req.setDepartmentId(1L);
         req.setPhone("  0123 ");
         req.setAddress("  Dhaka ");
+        req.setVersion(4L);
 
         when(studentRepository.findById(10L)).thenReturn(Optional.of(student));
         when(departmentRepository.findById(1L)).thenReturn(Optional.of(dept));
-        when(studentRepository.save(any(Student.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(studentRepository.saveAndFlush(any(Student.class))).thenAnswer(inv -> inv.getArgument(0));
 
         StudentResponse res = studentService.update(10L, req);
 
         assertThat(res.getFullName()).isEqualTo("New Name");
         assertThat(res.getPhone()).isEqualTo("0123");
         assertThat(res.getAddress()).isEqualTo("Dhaka");
-        verify(studentRepository).save(student);
+        verify(studentRepository).saveAndFlush(student);
+    }
+
+    @Test
+    void update_shouldReject_whenMadeFromAnOlderVersion() {
+        Student student = Student.builder().id(10L).version(5L).fullName("Changed meanwhile").build();
+        StudentUpdateRequest req = new StudentUpdateRequest();
+        req.setFullName("Mine");
+        req.setDepartmentId(1L);
+        req.setVersion(4L);
+        when(studentRepository.findById(10L)).thenReturn(Optional.of(student));
+
+        assertThatThrownBy(() -> studentService.update(10L, req))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("version 4");
+        assertThat(student.getFullName()).isEqualTo("Changed meanwhile");
+        verify(studentRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -186,6 +220,7 @@ class StudentServiceTest {
 
         assertThat(account.isEnabled()).isFalse();
         assertThat(student.getStatus()).isEqualTo(StudentStatus.DROPPED);
+        verify(tokenRevocationList).revokeAccount(1L);
     }
 
     @Test
@@ -232,7 +267,7 @@ class StudentServiceTest {
                 .address("old")
                 .build();
 
-        when(studentRepository.findByAccountId(777L)).thenReturn(Optional.of(student));
+        when(currentProfile.student()).thenReturn(student);
         when(studentRepository.save(any(Student.class))).thenAnswer(inv -> inv.getArgument(0));
 
         StudentUpdateMeRequest req = new StudentUpdateMeRequest();
@@ -10,6 +10,7 @@ import com.universityofengineers.sms.exception.ResourceNotFoundException;
 import com.universityofengineers.sms.repository.DepartmentRepository;
 import com.universityofengineers.sms.repository.TeacherRepository;
 import com.universityofengineers.sms.repository.UserAccountRepository;
+import com.universityofengineers.sms.security.TokenRevocationList;
 import com.universityofengineers.sms.security.UserPrincipal;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -35,6 +36,9 @@ class TeacherServiceTest {
     @Mock private UserAccountRepository userAccountRepository;
     @Mock private DepartmentRepository departmentRepository;
     @Mock private PasswordEncoder passwordEncoder;
+    @Mock private CourseSearchIndex courseSearchIndex;
+    @Mock private TokenRevocationList tokenRevocationList;
+    @Mock private CurrentProfile currentProfile;
 
     @InjectMocks private TeacherService teacherService;
 
@@ -105,7 +109,7 @@ class TeacherServiceTest {
                 new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())
         );
 
-        when(teacherRepository.findByAccountId(777L)).thenReturn(Optional.empty());
+        when(currentProfile.teacher()).thenThrow(new ResourceNotFoundException("Teacher profile not found."));
 
         assertThatThrownBy(() -> teacherService.me())
                 .isInstanceOf(ResourceNotFoundException.class)
@@ -148,6 +152,7 @@ class TeacherServiceTest {
         Teacher teacher = Teacher.builder()
                 .id(10L)
                 .account(account)
+                .version(2L)
                 .employeeNo("UE-T-000777")
                 .fullName("Teacher")
                 .title(TeacherTitle.LECTURER)
@@ -155,18 +160,21 @@ class TeacherServiceTest {
                 .department(oldDept)
                 .build();
 
-        when(teacherRepository.findByAccountId(777L)).thenReturn(Optional.of(teacher));
+        when(currentProfile.teacher()).thenReturn(teacher);
         when(departmentRepository.findById(2L)).thenReturn(Optional.of(newDept));
-        when(teacherRepository.save(any(Teacher.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(teacherRepository.saveAndFlush(any(Teacher.class))).thenAnswer(inv -> inv.getArgument(0));
 
         TeacherUpdateMeRequest req = new TeacherUpdateMeRequest();
         req.setTitle(TeacherTitle.ASSOCIATE_PROFESSOR);
         req.setDepartmentId(2L);
+        req.setVersion(2L);
 
         TeacherResponse res = teacherService.updateMe(req);
 
 
         assertThat(res.getTitle()).isEqualTo(TeacherTitle.ASSOCIATE_PROFESSOR);
         assertThat(res.getDepartment().getCode()).isEqualTo("EEE");
+        // The old department id is in the teacher's access token
+        verify(tokenRevocationList).expireAccessTokens(777L);
     }
 }
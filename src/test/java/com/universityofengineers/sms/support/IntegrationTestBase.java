@@ -5,6 +5,9 @@ import com.universityofengineers.sms.dto.request.LoginRequest;
 import com.universityofengineers.sms.dto.response.AuthResponse;
 import com.universityofengineers.sms.entity.*;
 import com.universityofengineers.sms.repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
@@ -13,6 +16,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.LocalDate;
 import java.time.Year;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -30,15 +34,40 @@ public abstract class IntegrationTestBase {
     @Autowired protected StudentRepository studentRepository;
     @Autowired protected CourseRepository courseRepository;
     @Autowired protected EnrollmentRepository enrollmentRepository;
+    @Autowired protected StudentAcademicRecordRepository studentAcademicRecordRepository;
+    @Autowired protected StudentStatusAuditRepository studentStatusAuditRepository;
+    @Autowired protected TermRepository termRepository;
+    @Autowired protected CourseOfferingRepository courseOfferingRepository;
+    @Autowired protected OutboxEventRepository outboxEventRepository;
+    @Autowired protected OutboxLeaseRepository outboxLeaseRepository;
+    @Autowired protected EntityManagerFactory entityManagerFactory;
+
+    // Active term created fresh for every test; courses from givenCourse are offered in it
+    protected Term currentTerm;
 
     @BeforeEach
     void cleanDatabase() {
+        outboxEventRepository.deleteAll();
+        // Cached contexts share the database; each test starts with the lease free for its own dispatcher
+        outboxLeaseRepository.deleteAll();
+        studentStatusAuditRepository.deleteAll();
+        studentAcademicRecordRepository.deleteAll();
         enrollmentRepository.deleteAll();
+        courseOfferingRepository.deleteAll();
+        termRepository.deleteAll();
         courseRepository.deleteAll();
         studentRepository.deleteAll();
         teacherRepository.deleteAll();
         userAccountRepository.deleteAll();
         departmentRepository.deleteAll();
+
+        currentTerm = termRepository.save(Term.builder()
+                .code("TEST-TERM")
+                .name("Test Term")
+                .startsOn(LocalDate.now().minusMonths(1))
+                .endsOn(LocalDate.now().plusMonths(3))
+                .status(TermStatus.ACTIVE)
+                .build());
     }
 
     protected Department givenDepartment(String code, String name) {
@@ -82,7 +111,7 @@ public abstract class IntegrationTestBase {
     }
 
     protected Course givenCourse(String code, Department dept, Teacher teacher, int capacity) {
-        return courseRepository.save(Course.builder()
+        Course course = courseRepository.save(Course.builder()
                 .code(code)
                 .title("Test Course")
                 .credit(3.0)
@@ -90,6 +119,8 @@ public abstract class IntegrationTestBase {
                 .department(dept)
                 .teacher(teacher)
                 .build());
+        courseOfferingRepository.save(CourseOffering.builder().course(course).term(currentTerm).build());
+        return course;
     }
 
     protected String loginAndGetToken(String email, String rawPassword) throws Exception {
@@ -117,4 +148,24 @@ public abstract class IntegrationTestBase {
         headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
         return headers;
     }
+
+    @FunctionalInterface
+    protected interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * Number of JDBC statements Hibernate prepared while running the action.
+     */
+    protected long countStatements(Action action) throws Exception {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        stats.setStatisticsEnabled(true);
+        try {
+            action.run();
+            return stats.getPrepareStatementCount();
+        } finally {
+            stats.setStatisticsEnabled(false);
+        }
+    }
 }
@@ -0,0 +1,54 @@
+package com.universityofengineers.sms.support;
+
+import com.universityofengineers.sms.repository.EnrollmentPartitions;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * {@link IntegrationTestBase} on a real PostgreSQL (embedded, same major version as docker-compose) with the
+ * schema from the Liquibase changelog, for what H2 cannot run: triggers, LISTEN/NOTIFY, row locks, pg_trgm.
+ * All subclasses share one server and one application context.
+ */
+public abstract class PostgresIntegrationTestBase extends IntegrationTestBase {
+
+    // Stopped by its own shutdown hook
+    protected static final EmbeddedPostgres POSTGRES = start();
+
+    @Autowired private EnrollmentPartitions enrollmentPartitions;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.liquibase.enabled", () -> "true");
+        registry.add("app.enrollments.partitioning", () -> "postgres");
+        registry.add("app.search.students.mode", () -> "trigram");
+        registry.add("app.cache-invalidation.enabled", () -> "true");
+        registry.add("app.cache-invalidation.coalesce-millis", () -> "50");
+        registry.add("app.cache-invalidation.reconnect-backoff-millis", () -> "100");
+    }
+
+    @BeforeEach
+    void createTermPartition() {
+        // The base class saves the term directly; TermService would have created its partition
+        enrollmentPartitions.createForTerm(currentTerm.getId());
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}